@@ -0,0 +1,5 @@
+#!/bin/sh
+set -e
+
+# Lets the replica service stream WAL from this instance with the same credentials.
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,93 @@
+package br.com.postech.soat.commons.infrastructure.aop.monitorable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Overhead of {@link MonitorableInterceptor} over an unadvised proxy of the same target, with the
+ * SLO buckets configured in {@code application.yml}, with and without the percentile histogram,
+ * and with thread CPU time on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonitorableInterceptorBenchmark {
+
+    private static final List<Duration> SLOS = List.of(Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+        Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500));
+
+    @Param({"false", "true"})
+    private boolean percentileHistogram;
+
+    private String cpf = "53731833697";
+    private Lookup direct;
+    private Lookup unadvised;
+    private Lookup monitored;
+    private Lookup monitoredWithCpuTime;
+
+    @Setup
+    public void setup() {
+        direct = new CpfLookup();
+        unadvised = proxy(null);
+        monitored = proxy(new MonitorableProperties(true, percentileHistogram, SLOS, false));
+        monitoredWithCpuTime = proxy(new MonitorableProperties(true, percentileHistogram, SLOS, true));
+    }
+
+    @Benchmark
+    public int direct() {
+        return direct.find(cpf);
+    }
+
+    @Benchmark
+    public int unadvisedProxy() {
+        return unadvised.find(cpf);
+    }
+
+    @Benchmark
+    public int monitored() {
+        return monitored.find(cpf);
+    }
+
+    @Benchmark
+    public int monitoredWithCpuTime() {
+        return monitoredWithCpuTime.find(cpf);
+    }
+
+    private static Lookup proxy(MonitorableProperties properties) {
+        ProxyFactory factory = new ProxyFactory(new CpfLookup());
+        if (properties != null) {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            factory.addAdvice(new MonitorableInterceptor(() -> meterRegistry, () -> properties));
+        }
+        return (Lookup) factory.getProxy();
+    }
+
+    public interface Lookup {
+        int find(String cpf);
+    }
+
+    @Monitorable("benchmark.lookup")
+    public static class CpfLookup implements Lookup {
+        @Override
+        public int find(String cpf) {
+            return cpf.hashCode();
+        }
+    }
+}
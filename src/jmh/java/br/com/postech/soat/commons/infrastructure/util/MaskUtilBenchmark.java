@@ -0,0 +1,43 @@
+package br.com.postech.soat.commons.infrastructure.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of masking the personal data written to the logs on every repository call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskUtilBenchmark {
+
+    private String cpf = "53731833697";
+    private String email = "joao.silva@email.com.br";
+    private String phone = "11999990000";
+
+    @Benchmark
+    public String maskCpf() {
+        return MaskUtil.maskCpf(cpf);
+    }
+
+    @Benchmark
+    public String maskEmail() {
+        return MaskUtil.maskEmail(email);
+    }
+
+    @Benchmark
+    public String maskPhone() {
+        return MaskUtil.maskPhone(phone);
+    }
+}
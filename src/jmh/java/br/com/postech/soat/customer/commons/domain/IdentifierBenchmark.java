@@ -0,0 +1,59 @@
+package br.com.postech.soat.customer.commons.domain;
+
+import br.com.postech.soat.customer.domain.valueobject.CustomerId;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the reflection-based {@link Identifier#equals(Object)} and {@link Identifier#hashCode()}
+ * with the generated accessors of the {@link CustomerId} record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentifierBenchmark {
+
+    private final UUID uuid = UUID.fromString("0b6f9c1e-3c1d-4f7e-9a5b-2d8c6e4f1a20");
+    private Identifier identifier = new BenchmarkIdentifier(uuid);
+    private Identifier sameIdentifier = new BenchmarkIdentifier(new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+    private CustomerId customerId = new CustomerId(uuid);
+    private CustomerId sameCustomerId = new CustomerId(new UUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+
+    @Benchmark
+    public boolean identifierEquals() {
+        return identifier.equals(sameIdentifier);
+    }
+
+    @Benchmark
+    public int identifierHashCode() {
+        return identifier.hashCode();
+    }
+
+    @Benchmark
+    public boolean recordEquals() {
+        return customerId.equals(sameCustomerId);
+    }
+
+    @Benchmark
+    public int recordHashCode() {
+        return customerId.hashCode();
+    }
+
+    static class BenchmarkIdentifier extends Identifier {
+        BenchmarkIdentifier(UUID value) {
+            super(value);
+        }
+    }
+}
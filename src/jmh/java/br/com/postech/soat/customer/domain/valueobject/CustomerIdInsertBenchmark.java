@@ -0,0 +1,120 @@
+package br.com.postech.soat.customer.domain.valueobject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insert throughput, in rows per second, into a table whose primary key index already holds
+ * {@code rows} ids of the same kind: random version 4 UUIDs against the time-ordered ids of
+ * {@link CustomerId#generate()}.
+ * <p>
+ * Runs on a file-backed H2 database with a 64 MB page cache by default. Set {@code JMH_JDBC_URL},
+ * {@code JMH_JDBC_USER} and {@code JMH_JDBC_PASSWORD} to measure a PostgreSQL instance instead.
+ * Prefilling is slow at the larger sizes; pick one with {@code -p rows=1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomerIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int PREFILL_BATCH_SIZE = 10_000;
+    private static final String PAYLOAD = "João da Silva;joao.silva@email.com.br;53731833697;11999990000";
+
+    @Param({"1000000", "10000000", "50000000"})
+    private int rows;
+
+    @Param({"random", "time-ordered"})
+    private String ids;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> generator;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        generator = "random".equals(ids) ? UUID::randomUUID : () -> CustomerId.generate().value();
+
+        String url = System.getenv("JMH_JDBC_URL");
+        if (url == null) {
+            directory = Files.createTempDirectory("customer-id-insert");
+            url = "jdbc:h2:file:" + directory.resolve("ids") + ";CACHE_SIZE=65536";
+            connection = DriverManager.getConnection(url, "sa", "");
+        } else {
+            connection = DriverManager.getConnection(url, System.getenv("JMH_JDBC_USER"), System.getenv("JMH_JDBC_PASSWORD"));
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS customer_id_benchmark");
+            statement.execute("CREATE TABLE customer_id_benchmark (id UUID PRIMARY KEY, payload VARCHAR(120) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO customer_id_benchmark (id, payload) VALUES (?, ?)");
+
+        for (int inserted = 0; inserted < rows; inserted += PREFILL_BATCH_SIZE) {
+            insertBatch(Math.min(PREFILL_BATCH_SIZE, rows - inserted));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE customer_id_benchmark");
+        }
+        connection.commit();
+        connection.close();
+
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insert() throws SQLException {
+        insertBatch(BATCH_SIZE);
+    }
+
+    private void insertBatch(int size) throws SQLException {
+        for (int i = 0; i < size; i++) {
+            insert.setObject(1, generator.get());
+            insert.setString(2, PAYLOAD);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.postech.soat.customer.domain.valueobject;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of building the customer value objects from request input, normalization and validation
+ * included. Formatted and digit-only inputs are measured separately because only the former
+ * have characters to strip. Customer ids are generated both as random version 4 UUIDs and as
+ * the time-ordered ids of {@link CustomerId#generate()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueObjectBenchmark {
+
+    private String formattedCpf = "537.318.336-97";
+    private String digitsCpf = "53731833697";
+    private String formattedPhone = "(11) 99999-0000";
+    private String digitsPhone = "11999990000";
+    private String email = "joao.silva@email.com.br";
+    private String name = "João da Silva";
+
+    @Benchmark
+    public CPF cpfFormatted() {
+        return new CPF(formattedCpf);
+    }
+
+    @Benchmark
+    public CPF cpfDigits() {
+        return new CPF(digitsCpf);
+    }
+
+    @Benchmark
+    public Phone phoneFormatted() {
+        return new Phone(formattedPhone);
+    }
+
+    @Benchmark
+    public Phone phoneDigits() {
+        return new Phone(digitsPhone);
+    }
+
+    @Benchmark
+    public Email email() {
+        return new Email(email);
+    }
+
+    @Benchmark
+    public Name name() {
+        return new Name(name);
+    }
+
+    @Benchmark
+    public CustomerId customerIdRandom() {
+        return new CustomerId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public CustomerId customerIdTimeOrdered() {
+        return CustomerId.generate();
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.postech.soat.customer.infrastructure.http;
+
+import br.com.postech.soat.openapi.model.CustomerDto;
+import br.com.postech.soat.openapi.model.CustomerLookupResponseDto;
+import br.com.postech.soat.openapi.model.FindCustomer200ResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Encoding and decoding cost of the customer responses as JSON and as CBOR, for a single lookup
+ * and for a batch lookup of {@code batchSize} CPFs, one in ten of them missing. The payloads are
+ * fixed, so the size on the wire of each is the length of the array the encode benchmarks return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerEncodingBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"100", "500"})
+    private int batchSize;
+
+    private ObjectMapper mapper;
+    private FindCustomer200ResponseDto customer;
+    private CustomerLookupResponseDto lookup;
+    private byte[] encodedCustomer;
+    private byte[] encodedLookup;
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        mapper = "cbor".equals(format) ? builder.factory(new CBORFactory()).build() : builder.build();
+
+        customer = new FindCustomer200ResponseDto()
+            .id("0b6f9c1e-3c1d-4f7e-9a5b-2d8c6e4f1a20")
+            .name("João da Silva")
+            .email("joao.silva@email.com.br")
+            .cpf("53731833697")
+            .phone("11999990000");
+
+        List<String> missing = new ArrayList<>();
+        lookup = new CustomerLookupResponseDto();
+        for (int i = 0; i < batchSize; i++) {
+            String cpf = String.format("%011d", 10_000_000_000L + i);
+            if (i % 10 == 9) {
+                missing.add(cpf);
+                continue;
+            }
+            lookup.addFoundItem(new CustomerDto()
+                .id(UUID.nameUUIDFromBytes(cpf.getBytes()).toString())
+                .name("Cliente " + i)
+                .email("cliente" + i + "@email.com.br")
+                .cpf(cpf)
+                .phone(String.format("119%08d", i)));
+        }
+        lookup.setMissing(missing);
+
+        encodedCustomer = mapper.writeValueAsBytes(customer);
+        encodedLookup = mapper.writeValueAsBytes(lookup);
+    }
+
+    @Benchmark
+    public byte[] encodeCustomer() throws IOException {
+        return mapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public FindCustomer200ResponseDto decodeCustomer() throws IOException {
+        return mapper.readValue(encodedCustomer, FindCustomer200ResponseDto.class);
+    }
+
+    @Benchmark
+    public byte[] encodeLookup() throws IOException {
+        return mapper.writeValueAsBytes(lookup);
+    }
+
+    @Benchmark
+    public CustomerLookupResponseDto decodeLookup() throws IOException {
+        return mapper.readValue(encodedLookup, CustomerLookupResponseDto.class);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.postech.soat.customer.infrastructure.http;
+
+import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import br.com.postech.soat.customer.domain.valueobject.CustomerId;
+import br.com.postech.soat.customer.domain.valueobject.Email;
+import br.com.postech.soat.customer.domain.valueobject.Name;
+import br.com.postech.soat.customer.domain.valueobject.Phone;
+import br.com.postech.soat.openapi.model.CreateCustomerRequestDto;
+import br.com.postech.soat.openapi.model.FindCustomer200ResponseDto;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of mapping between the generated API models and the application layer. Lookups respond
+ * from a {@link CustomerView}; {@code toResponse} is the domain path still used after creation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerWebMapperBenchmark {
+
+    private final CustomerWebMapper mapper = new CustomerWebMapper();
+    private CreateCustomerRequestDto request = new CreateCustomerRequestDto()
+        .name("João da Silva")
+        .cpf("53731833697")
+        .email("joao.silva@email.com.br")
+        .phone("11999990000");
+    private Customer customer = Customer.reconstitute(
+        new CustomerId(UUID.fromString("0b6f9c1e-3c1d-4f7e-9a5b-2d8c6e4f1a20")),
+        new Name("João da Silva"),
+        new CPF("53731833697"),
+        new Email("joao.silva@email.com.br"),
+        new Phone("11999990000")
+    );
+    private CustomerView customerView = new CustomerView(
+        UUID.fromString("0b6f9c1e-3c1d-4f7e-9a5b-2d8c6e4f1a20"),
+        "João da Silva",
+        "joao.silva@email.com.br",
+        "53731833697",
+        "11999990000"
+    );
+
+    @Benchmark
+    public CreateCustomerDto toCreateCustomerDto() {
+        return mapper.toCreateCustomerDto(request);
+    }
+
+    @Benchmark
+    public FindCustomer200ResponseDto toResponse() {
+        return mapper.toResponse(customer);
+    }
+
+    @Benchmark
+    public FindCustomer200ResponseDto toResponseFromView() {
+        return mapper.toResponse(customerView);
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.postech.soat.customer.infrastructure.http;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares Tomcat's default platform thread pool with virtual threads for a blocking request.
+ * <p>
+ * Each JMH thread is a client with one request in flight. A request blocks for {@code ioMillis}
+ * outside the database, such as reading the body from a slow kiosk, then holds one of
+ * {@code poolSize} connections for {@code queryMillis}. The semaphore plays Hikari's part as the
+ * concurrency bound. Throughput mode reports requests per second. Sample-time mode reports latency
+ * percentiles, including p0.99.
+ * <p>
+ * Scale the number of clients with {@code -t}, for example
+ * {@code -Djmh.args="RequestExecutionBenchmark -t 400"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class RequestExecutionBenchmark {
+
+    /**
+     * Tomcat's default {@code server.tomcat.threads.max}.
+     */
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String executor;
+
+    @Param("20")
+    private int poolSize;
+
+    @Param("2")
+    private long queryMillis;
+
+    @Param("5")
+    private long ioMillis;
+
+    private ExecutorService executorService;
+    private Semaphore connections;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executorService = "virtual".equals(executor)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        connections = new Semaphore(poolSize, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public void request() throws ExecutionException, InterruptedException {
+        executorService.submit(this::handle).get();
+    }
+
+    private Void handle() throws InterruptedException {
+        Thread.sleep(ioMillis);
+
+        connections.acquire();
+        try {
+            Thread.sleep(queryMillis);
+        } finally {
+            connections.release();
+        }
+        return null;
+    }
+}
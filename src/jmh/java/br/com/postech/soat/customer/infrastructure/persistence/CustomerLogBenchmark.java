@@ -0,0 +1,234 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.commons.infrastructure.logging.LogstashJsonFormatter;
+import br.com.postech.soat.commons.infrastructure.logging.SamplingTurboFilter;
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Request-thread cost of the "Customer searched" log line, written to a discarding stream.
+ * <ul>
+ *     <li>{@code legacy}: the previous {@code toString()} formatted into a text pattern, synchronously.</li>
+ *     <li>{@code bootLogstash}: {@link CustomerLogView} through Boot's {@code logstash} format, synchronously.</li>
+ *     <li>{@code structured}: {@link CustomerLogView} through {@link LogstashJsonFormatter}, synchronously.</li>
+ *     <li>{@code structuredAsync}: the same through an {@link AsyncAppender}. When the loop outpaces the
+ *     worker, the queue stays full and events are dropped, which is the saturated case.</li>
+ *     <li>{@code sampledAsync}: as above, with one in 100 lookups kept by {@link SamplingTurboFilter}.</li>
+ * </ul>
+ * With {@code level=WARN} every variant is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerLogBenchmark {
+
+    private static final String FORMAT = LogstashJsonFormatter.class.getName();
+
+    @Param({"INFO", "WARN"})
+    private String level;
+
+    private CustomerEntity entity = CustomerEntity.builder()
+        .id(UUID.fromString("0b6f9c1e-3c1d-4f7e-9a5b-2d8c6e4f1a20"))
+        .cpf("53731833697")
+        .name("João da Silva")
+        .email("joao.silva@email.com.br")
+        .phone("11999990000")
+        .build();
+    private LegacyFormat legacyEntity = new LegacyFormat(entity);
+
+    private LoggerContext legacyContext;
+    private LoggerContext bootLogstashContext;
+    private LoggerContext structuredContext;
+    private LoggerContext structuredAsyncContext;
+    private LoggerContext sampledAsyncContext;
+    private Logger legacy;
+    private Logger bootLogstash;
+    private Logger structured;
+    private Logger structuredAsync;
+    private Logger sampledAsync;
+
+    @Setup
+    public void setup() {
+        legacyContext = context();
+        legacy = logger(legacyContext, patternEncoder(legacyContext), false);
+
+        bootLogstashContext = context();
+        bootLogstash = logger(bootLogstashContext, structuredEncoder(bootLogstashContext, "logstash"), false);
+
+        structuredContext = context();
+        structured = logger(structuredContext, structuredEncoder(structuredContext, FORMAT), false);
+
+        structuredAsyncContext = context();
+        structuredAsync = logger(structuredAsyncContext, structuredEncoder(structuredAsyncContext, FORMAT), true);
+
+        sampledAsyncContext = context();
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setOneIn(100);
+        filter.start();
+        sampledAsyncContext.addTurboFilter(filter);
+        sampledAsync = logger(sampledAsyncContext, structuredEncoder(sampledAsyncContext, FORMAT), true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        legacyContext.stop();
+        bootLogstashContext.stop();
+        structuredContext.stop();
+        structuredAsyncContext.stop();
+        sampledAsyncContext.stop();
+    }
+
+    @Benchmark
+    public void legacy() {
+        legacy.info("Customer searched : {}", legacyEntity);
+    }
+
+    @Benchmark
+    public void bootLogstash() {
+        log(bootLogstash);
+    }
+
+    @Benchmark
+    public void structured() {
+        log(structured);
+    }
+
+    @Benchmark
+    public void structuredAsync() {
+        log(structuredAsync);
+    }
+
+    @Benchmark
+    public void sampledAsync() {
+        if (sampledAsync.isInfoEnabled(SamplingTurboFilter.SAMPLED)) {
+            sampledAsync.atInfo()
+                .addMarker(SamplingTurboFilter.SAMPLED)
+                .setMessage("Customer searched")
+                .addKeyValue("customer", CustomerLogView.of(entity))
+                .log();
+        }
+    }
+
+    private void log(Logger logger) {
+        logger.atInfo()
+            .setMessage("Customer searched")
+            .addKeyValue("customer", CustomerLogView.of(entity))
+            .log();
+    }
+
+    private static LoggerContext context() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        context.start();
+        return context;
+    }
+
+    private Logger logger(LoggerContext context, Encoder<ILoggingEvent> encoder, boolean async) {
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(OutputStream.nullOutputStream());
+        output.start();
+
+        Appender<ILoggingEvent> appender = output;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(0);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(output);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        Logger logger = context.getLogger(CustomerRepositoryImpl.class);
+        logger.setLevel(Level.toLevel(level));
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private static Encoder<ILoggingEvent> patternEncoder(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private static Encoder<ILoggingEvent> structuredEncoder(LoggerContext context, String format) {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat(format);
+        encoder.start();
+        return encoder;
+    }
+
+    /**
+     * {@code CustomerEntity.toString()} and {@code MaskUtil} as they were before structured logging.
+     */
+    private record LegacyFormat(CustomerEntity entity) {
+
+        @Override
+        public String toString() {
+            return "CustomerEntity{" +
+                "id=" + entity.getId() +
+                ", cpf='" + maskCpf(entity.getCpf()) + '\'' +
+                ", name='" + entity.getName() + '\'' +
+                ", email='" + maskEmail(entity.getEmail()) + '\'' +
+                ", phone='" + maskPhone(entity.getPhone()) + '\'' +
+                '}';
+        }
+
+        private static String maskCpf(String cpf) {
+            return cpf.substring(0, 2) + "*****" + cpf.substring(cpf.length() - 2);
+        }
+
+        private static String maskEmail(String email) {
+            String[] parts = email.split("@");
+            String username = parts[0];
+            if (username.length() <= 2) {
+                return "*".repeat(username.length()) + "@" + parts[1];
+            }
+            return username.substring(0, 2) + "*".repeat(username.length() - 2) + "@" + parts[1];
+        }
+
+        private static String maskPhone(String phone) {
+            if (phone.length() == 10) {
+                return phone.substring(0, 2) + "******" + phone.substring(8);
+            }
+            return phone.substring(0, 3) + "*****" + phone.substring(9);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import br.com.postech.soat.customer.domain.valueobject.CustomerId;
+import br.com.postech.soat.customer.domain.valueobject.Email;
+import br.com.postech.soat.customer.domain.valueobject.Name;
+import br.com.postech.soat.customer.domain.valueobject.Phone;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of mapping a {@link Customer} into the {@link CustomerEntity} that is inserted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerPersistenceMapperBenchmark {
+
+    private final CustomerPersistenceMapper mapper = new CustomerPersistenceMapper();
+    private Customer customer = Customer.reconstitute(
+        new CustomerId(UUID.fromString("0b6f9c1e-3c1d-4f7e-9a5b-2d8c6e4f1a20")),
+        new Name("João da Silva"),
+        new CPF("53731833697"),
+        new Email("joao.silva@email.com.br"),
+        new Phone("11999990000")
+    );
+
+    @Benchmark
+    public CustomerEntity toEntity() {
+        return mapper.toEntity(customer);
+    }
+}
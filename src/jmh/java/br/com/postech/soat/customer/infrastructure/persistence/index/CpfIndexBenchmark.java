@@ -0,0 +1,73 @@
+package br.com.postech.soat.customer.infrastructure.persistence.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link CpfIndex} with a {@code HashMap<String, UUID>} for CPF to id resolution.
+ * Run with {@code -prof gc} to compare allocation per lookup. Lookup keys are reused, so the
+ * {@code HashMap} side benefits from cached {@code String} hash codes that a request never has.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CpfIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private String[] cpfs;
+    private CpfIndex cpfIndex;
+    private Map<String, UUID> hashMap;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        cpfs = new String[size];
+        cpfIndex = new CpfIndex(size);
+        hashMap = new HashMap<>(size * 2);
+
+        for (int i = 0; i < size; i++) {
+            String cpf = String.format("%011d", random.nextLong(100_000_000_000L));
+            UUID id = UUID.randomUUID();
+            cpfs[i] = cpf;
+            cpfIndex.put(cpf, id);
+            hashMap.put(cpf, id);
+        }
+    }
+
+    private String nextCpf() {
+        int index = cursor;
+        cursor = index + 1 == cpfs.length ? 0 : index + 1;
+        return cpfs[index];
+    }
+
+    @Benchmark
+    public UUID cpfIndexGet() {
+        return cpfIndex.get(nextCpf());
+    }
+
+    @Benchmark
+    public UUID hashMapGet() {
+        return hashMap.get(nextCpf());
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.postech.soat.customer.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Valid, distinct customers derived from an index, so a run is reproducible from its seed alone.
+ * Seeded, created and absent customers come from disjoint CPF ranges of {@link #RANGE} each, and
+ * the email and phone follow the CPF, so they are unique as well.
+ * <p>
+ * Created customers start at an offset of their range taken from the seed and the label, so a run
+ * against a database kept from earlier runs creates customers that are not there yet as long as it
+ * has its own label, which it needs anyway to keep its own report files. Two runs only share
+ * created customers if their offsets are closer than the number of customers they create.
+ */
+final class CustomerKeys {
+
+    static final int RANGE = 10_000_000;
+
+    private static final long SEEDED = 100_000_000L;
+    private static final long CREATED = 120_000_000L;
+    private static final long ABSENT = 140_000_000L;
+
+    private CustomerKeys() {
+    }
+
+    static Customer seeded(int index) {
+        return customer(SEEDED + index);
+    }
+
+    static long createdOffset(long seed, String label) {
+        return Math.floorMod(new SplittableRandom(seed * 31 + label.hashCode()).nextLong(), RANGE);
+    }
+
+    static Customer created(long offset, long index) {
+        return customer(CREATED + (offset + index) % RANGE);
+    }
+
+    static String absentCpf(long index) {
+        return cpf(ABSENT + index % RANGE);
+    }
+
+    private static Customer customer(long base) {
+        return new Customer("Cliente " + base, "cliente" + base + "@loadtest.com.br", cpf(base), "11" + base);
+    }
+
+    /**
+     * Appends the two mod-11 check digits to a nine-digit base. None of the ranges contains a base
+     * with all digits equal, which would make the CPF invalid whatever its check digits.
+     */
+    static String cpf(long base) {
+        String digits = Long.toString(base);
+        int first = checkDigit(digits, 10);
+        return digits + first + checkDigit(digits + first, 11);
+    }
+
+    private static int checkDigit(String digits, int weight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (weight - i);
+        }
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    record Customer(String name, String email, String cpf, String phone) {
+
+        String toJson() {
+            return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"cpf\":\"" + cpf + "\",\"phone\":\"" + phone + "\"}";
+        }
+
+        String toCsv() {
+            return name + ',' + email + ',' + cpf + ',' + phone;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package br.com.postech.soat.customer.loadtest;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load: requests start on a schedule of {@code rate} per second, fixed in advance by the
+ * seed, and a slow response never delays the next request. Latency is measured from the time a
+ * request was scheduled to start rather than from when it was sent, so a stall in the service,
+ * the client or this scheduler shows up in the percentiles instead of being left out of them.
+ * <p>
+ * Latencies are recorded in microseconds. Only requests scheduled after the warmup are recorded
+ * per operation; the progress printed every few seconds covers every request.
+ */
+final class LoadGenerator {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int NO_RESPONSE = 0;
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadTestOptions options;
+    private final SplittableRandom random;
+    private final ZipfDistribution zipf;
+    private final Operation[] operations = Operation.values();
+    private final int[] cumulativeWeights;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Recorder progress = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong started = new AtomicLong();
+    private final LongAdder completed = new LongAdder();
+    private final long createdOffset;
+    private long created;
+
+    LoadGenerator(HttpClient client, URI baseUri, LoadTestOptions options) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.options = options;
+        this.random = new SplittableRandom(options.seed());
+        this.zipf = new ZipfDistribution(options.customers(), options.zipfExponent());
+        this.createdOffset = CustomerKeys.createdOffset(options.seed(), options.label());
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+            stats.put(operations[i], new OperationStats());
+        }
+    }
+
+    LoadResult run(PrintStream out) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureStart = start + options.warmup().toNanos();
+        long end = measureStart + options.duration().toNanos();
+
+        Thread scheduler = Thread.ofPlatform()
+            .name("loadtest-scheduler")
+            .start(() -> schedule(start, measureStart, end));
+
+        long nextProgress = start + PROGRESS_INTERVAL_NANOS;
+        while (scheduler.isAlive()) {
+            scheduler.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextProgress - System.nanoTime())));
+            if (System.nanoTime() >= nextProgress) {
+                printProgress(out, nextProgress - start, nextProgress <= measureStart);
+                nextProgress += PROGRESS_INTERVAL_NANOS;
+            }
+        }
+
+        long drainDeadline = System.nanoTime() + options.requestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        Map<Operation, LoadResult.OperationResult> results = new EnumMap<>(Operation.class);
+        stats.forEach((operation, operationStats) -> results.put(operation, operationStats.result()));
+        return new LoadResult(options.duration(), results);
+    }
+
+    private void schedule(long start, long measureStart, long end) {
+        long next = start;
+        while (next < end) {
+            long now;
+            while ((now = System.nanoTime()) < next) {
+                LockSupport.parkNanos(next - now);
+            }
+            dispatch(next, next >= measureStart);
+            next += interArrivalNanos();
+        }
+    }
+
+    private void dispatch(long intendedStart, boolean measured) {
+        Operation operation = nextOperation();
+        HttpRequest request = request(operation);
+        started.incrementAndGet();
+
+        if (inFlight.get() >= options.maxInFlight()) {
+            if (measured) {
+                stats.get(operation).dropped.increment();
+            }
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart), HIGHEST_TRACKABLE_MICROS);
+            progress.recordValue(micros);
+            if (measured) {
+                stats.get(operation).record(micros, failure == null ? response.statusCode() : NO_RESPONSE, operation.expectedStatus());
+            }
+            completed.increment();
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private long interArrivalNanos() {
+        double meanNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        if ("uniform".equals(options.arrivals())) {
+            return Math.max(1, Math.round(meanNanos));
+        }
+        return Math.max(1, Math.round(-Math.log(1.0 - random.nextDouble()) * meanNanos));
+    }
+
+    private Operation nextOperation() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case FIND -> find(CustomerKeys.seeded(zipf.sample(random)).cpf());
+            case NOT_FOUND -> find(CustomerKeys.absentCpf(random.nextLong(CustomerKeys.RANGE)));
+            case CREATE -> create(CustomerKeys.created(createdOffset, created++));
+            case DUPLICATE_CREATE -> create(CustomerKeys.seeded(random.nextInt(options.customers())));
+        };
+    }
+
+    private HttpRequest find(String cpf) {
+        return HttpRequest.newBuilder(baseUri.resolve("/customers?cpf=" + cpf))
+            .timeout(options.requestTimeout())
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+    }
+
+    private HttpRequest create(CustomerKeys.Customer customer) {
+        return HttpRequest.newBuilder(baseUri.resolve("/customers"))
+            .timeout(options.requestTimeout())
+            .header("Accept", "application/json")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(customer.toJson()))
+            .build();
+    }
+
+    private void printProgress(PrintStream out, long elapsedNanos, boolean warmup) {
+        Histogram interval = progress.getIntervalHistogram();
+        out.printf("[%4ds] %-7s started %9d  completed %9d  in-flight %6d  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+            TimeUnit.NANOSECONDS.toSeconds(elapsedNanos),
+            warmup ? "warmup" : "measure",
+            started.get(),
+            completed.sum(),
+            inFlight.get(),
+            interval.getValueAtPercentile(50) / 1000.0,
+            interval.getValueAtPercentile(99) / 1000.0,
+            interval.getMaxValue() / 1000.0);
+    }
+
+    private static final class OperationStats {
+
+        private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private void record(long micros, int status, int expectedStatus) {
+            latency.recordValue(micros);
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (status != expectedStatus) {
+                errors.increment();
+            }
+        }
+
+        private LoadResult.OperationResult result() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return new LoadResult.OperationResult(latency.getIntervalHistogram(), counts, errors.sum(), dropped.sum());
+        }
+    }
+}
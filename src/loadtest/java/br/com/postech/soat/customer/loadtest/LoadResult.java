@@ -0,0 +1,21 @@
+package br.com.postech.soat.customer.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * What a run measured after its warmup, per operation. Statuses are counted by HTTP status code,
+ * with {@code 0} for requests that got no response.
+ */
+record LoadResult(Duration duration, Map<Operation, OperationResult> operations) {
+
+    Histogram totalLatency() {
+        Histogram total = new Histogram(LoadGenerator.HIGHEST_TRACKABLE_MICROS, LoadGenerator.SIGNIFICANT_DIGITS);
+        operations.values().forEach(operation -> total.add(operation.latency()));
+        return total;
+    }
+
+    record OperationResult(Histogram latency, Map<Integer, Long> statuses, long errors, long dropped) {
+    }
+}
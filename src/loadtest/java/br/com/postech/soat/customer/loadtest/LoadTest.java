@@ -0,0 +1,77 @@
+package br.com.postech.soat.customer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * End-to-end load test of the customer endpoints. Seeds {@code customers} customers through
+ * {@code POST /customers/import}, then replays the traffic mix of {@link Operation} at a fixed
+ * arrival rate and reports latency percentiles and throughput per operation. Runs are reproducible
+ * from their options, so two builds or configurations compare by running both with the same ones:
+ * <pre>
+ * mvn -Ploadtest -DskipTests test-compile exec:exec -Dloadtest.args="rate=1000 duration=2m label=baseline"
+ * mvn -Ploadtest -DskipTests test-compile exec:exec -Dloadtest.args="rate=1000 duration=2m label=no-cache app.customer.repository.cache.enabled=false"
+ * </pre>
+ * The application shares the machine with the load generator unless {@code target-url} points at
+ * a separately deployed one. Its database may be kept between runs: seeding skips the customers
+ * already there, and each label creates customers of its own, so give every run its own label.
+ */
+public final class LoadTest {
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (LoadTestTarget target = LoadTestTarget.start(options)) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+            System.out.printf("Target %s, seeding %d customers%n", target.baseUri(), options.customers());
+            long seedStart = System.nanoTime();
+            long seeded = seed(client, target, options.customers());
+            System.out.printf("Seeded %d customers in %.1f s%n", seeded, (System.nanoTime() - seedStart) / 1e9);
+
+            System.out.printf("Running %.0f req/s (%s arrivals) for %s after a %s warmup%n",
+                options.rate(), options.arrivals(), options.duration(), options.warmup());
+            LoadResult result = new LoadGenerator(client, target.baseUri(), options).run(System.out);
+
+            LoadTestReport report = new LoadTestReport(options, result);
+            report.print(System.out);
+            report.write();
+            System.out.printf("%nReport written to %s%n", options.output().toAbsolutePath());
+        }
+    }
+
+    private static long seed(HttpClient client, LoadTestTarget target, int customers) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        long imported = 0;
+        for (int from = 0; from < customers; from += SEED_CHUNK_SIZE) {
+            StringBuilder csv = new StringBuilder("name,email,cpf,phone\n");
+            for (int i = from; i < Math.min(customers, from + SEED_CHUNK_SIZE); i++) {
+                csv.append(CustomerKeys.seeded(i).toCsv()).append('\n');
+            }
+
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(target.baseUri().resolve("/customers/import"))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            JsonNode report = objectMapper.readTree(response.body());
+            imported += report.path("imported").asLong();
+        }
+        return imported;
+    }
+}
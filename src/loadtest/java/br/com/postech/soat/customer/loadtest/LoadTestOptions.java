@@ -0,0 +1,135 @@
+package br.com.postech.soat.customer.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Settings of a load test run, given as {@code key=value} arguments; {@code app.<property>=value}
+ * arguments are passed to the application under test as Spring properties, which is how two
+ * configurations of the same build are compared.
+ *
+ * @param targetUrl       base URL of a running service; when absent the application is started in
+ *                        this JVM on {@code database}
+ * @param database        {@code postgres} for a Testcontainers PostgreSQL, {@code h2} for an
+ *                        in-memory H2 in PostgreSQL mode, or a JDBC URL
+ * @param postgresImage   image of the Testcontainers database
+ * @param rate            requests started per second, whatever the latency of the service
+ * @param arrivals        {@code poisson} for exponential gaps between requests, {@code uniform} for
+ *                        evenly spaced ones
+ * @param warmup          time spent at {@code rate} before anything is recorded
+ * @param duration        time recorded after the warmup
+ * @param customers       customers seeded before the run, the key space of the lookups
+ * @param zipfExponent    skew of the lookups over the seeded customers; 0 is uniform
+ * @param mix             relative weight of each operation
+ * @param maxInFlight     requests allowed to wait for a response; arrivals beyond it are dropped
+ *                        and reported rather than delaying the schedule
+ * @param requestTimeout  time after which a request counts as failed
+ * @param seed            seed of the operation and key sequence
+ * @param label           name of the report files; with the seed, picks the customers the run creates
+ * @param output          directory of the report files
+ * @param appProperties   properties passed to the application under test
+ */
+public record LoadTestOptions(
+    String targetUrl,
+    String database,
+    String postgresImage,
+    double rate,
+    String arrivals,
+    Duration warmup,
+    Duration duration,
+    int customers,
+    double zipfExponent,
+    Map<Operation, Integer> mix,
+    int maxInFlight,
+    Duration requestTimeout,
+    long seed,
+    String label,
+    Path output,
+    Map<String, String> appProperties
+) {
+
+    private static final Set<String> KEYS = Set.of(
+        "target-url", "database", "postgres-image", "rate", "arrivals", "warmup", "duration", "customers",
+        "zipf", "max-in-flight", "request-timeout", "seed", "label", "output"
+    );
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            if (key.startsWith("app.")) {
+                appProperties.put(key.substring("app.".length()), value);
+            } else {
+                values.put(key, value);
+            }
+        }
+
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, Integer.parseInt(values.getOrDefault("mix." + operation.key(), String.valueOf(operation.defaultWeight()))));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+            values.get("target-url"),
+            values.getOrDefault("database", "postgres"),
+            values.getOrDefault("postgres-image", "postgres:17"),
+            Double.parseDouble(values.getOrDefault("rate", "500")),
+            values.getOrDefault("arrivals", "poisson"),
+            DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+            DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+            Integer.parseInt(values.getOrDefault("customers", "100000")),
+            Double.parseDouble(values.getOrDefault("zipf", "1.0")),
+            mix,
+            Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+            DurationStyle.detectAndParse(values.getOrDefault("request-timeout", "30s")),
+            Long.parseLong(values.getOrDefault("seed", "42")),
+            values.getOrDefault("label", "run"),
+            Path.of(values.getOrDefault("output", "target/loadtest")),
+            appProperties
+        );
+
+        values.keySet().stream()
+            .filter(key -> !key.startsWith("mix.") && !KEYS.contains(key))
+            .findFirst()
+            .ifPresent(key -> {
+                throw new IllegalArgumentException("Unknown option: " + key);
+            });
+        options.validate();
+        return options;
+    }
+
+    private void validate() {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (!"poisson".equals(arrivals) && !"uniform".equals(arrivals)) {
+            throw new IllegalArgumentException("arrivals must be poisson or uniform");
+        }
+        if (customers < 1 || customers > CustomerKeys.RANGE) {
+            throw new IllegalArgumentException("customers must be between 1 and " + CustomerKeys.RANGE);
+        }
+        if (zipfExponent < 0) {
+            throw new IllegalArgumentException("zipf must not be negative");
+        }
+        if (mix.values().stream().anyMatch(weight -> weight < 0) || mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("mix weights must not be negative and must not all be zero");
+        }
+        if (rate * (warmup.toMillis() + duration.toMillis()) / 1000.0 * mix.get(Operation.CREATE) / totalWeight() > CustomerKeys.RANGE) {
+            throw new IllegalArgumentException("The run would create more than " + CustomerKeys.RANGE + " customers");
+        }
+    }
+
+    int totalWeight() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
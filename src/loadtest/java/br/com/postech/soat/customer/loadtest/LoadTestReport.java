@@ -0,0 +1,136 @@
+package br.com.postech.soat.customer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Prints a run as a table and writes it to {@code output}: {@code <label>.json} holds the options,
+ * throughput, status counts and percentiles of every operation, and one {@code .hgrm} percentile
+ * distribution per operation, in milliseconds, can be plotted against another run's.
+ */
+final class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestOptions options;
+    private final LoadResult result;
+
+    LoadTestReport(LoadTestOptions options, LoadResult result) {
+        this.options = options;
+        this.result = result;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-17s %9s %10s %8s %8s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "req/s", "errors", "dropped", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long errors = 0;
+        long dropped = 0;
+        for (Map.Entry<Operation, LoadResult.OperationResult> entry : result.operations().entrySet()) {
+            LoadResult.OperationResult operation = entry.getValue();
+            printRow(out, entry.getKey().key(), operation.latency(), operation.errors(), operation.dropped());
+            errors += operation.errors();
+            dropped += operation.dropped();
+        }
+        printRow(out, "total", result.totalLatency(), errors, dropped);
+
+        out.println();
+        result.operations().forEach((operation, operationResult) ->
+            out.printf("%-17s statuses %s%n", operation.key(), operationResult.statuses()));
+    }
+
+    private void printRow(PrintStream out, String name, Histogram latency, long errors, long dropped) {
+        out.printf("%-17s %9d %10.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            name,
+            latency.getTotalCount(),
+            throughput(latency),
+            errors,
+            dropped,
+            millis(latency.getValueAtPercentile(50)),
+            millis(latency.getValueAtPercentile(90)),
+            millis(latency.getValueAtPercentile(99)),
+            millis(latency.getValueAtPercentile(99.9)),
+            millis(latency.getMaxValue()));
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(options.output());
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, LoadResult.OperationResult> entry : result.operations().entrySet()) {
+            LoadResult.OperationResult operation = entry.getValue();
+            operations.put(entry.getKey().key(), summary(operation.latency(), operation.statuses(), operation.errors(), operation.dropped()));
+            writeDistribution(entry.getKey().key(), operation.latency());
+        }
+        Histogram total = result.totalLatency();
+        operations.put("total", summary(total, null, 0, 0));
+        writeDistribution("total", total);
+
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("targetUrl", this.options.targetUrl());
+        options.put("database", this.options.database());
+        options.put("rate", this.options.rate());
+        options.put("arrivals", this.options.arrivals());
+        options.put("warmup", this.options.warmup().toString());
+        options.put("duration", this.options.duration().toString());
+        options.put("customers", this.options.customers());
+        options.put("zipf", this.options.zipfExponent());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        this.options.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        options.put("mix", mix);
+        options.put("maxInFlight", this.options.maxInFlight());
+        options.put("seed", this.options.seed());
+        options.put("appProperties", this.options.appProperties());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", this.options.label());
+        report.put("options", options);
+        report.put("operations", operations);
+
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(this.options.output().resolve(this.options.label() + ".json").toFile(), report);
+    }
+
+    private Map<String, Object> summary(Histogram latency, Map<Integer, Long> statuses, long errors, long dropped) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", latency.getTotalCount());
+        summary.put("throughput", throughput(latency));
+        if (statuses != null) {
+            summary.put("statuses", statuses);
+            summary.put("errors", errors);
+            summary.put("dropped", dropped);
+        }
+        Map<String, Double> millis = new LinkedHashMap<>();
+        millis.put("mean", millis(latency.getMean()));
+        for (double percentile : PERCENTILES) {
+            millis.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                millis(latency.getValueAtPercentile(percentile)));
+        }
+        millis.put("max", millis(latency.getMaxValue()));
+        summary.put("latencyMillis", millis);
+        return summary;
+    }
+
+    private void writeDistribution(String name, Histogram latency) throws IOException {
+        Path file = options.output().resolve(options.label() + "-" + name + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latency.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private double throughput(Histogram latency) {
+        return latency.getTotalCount() / (result.duration().toNanos() / 1e9);
+    }
+
+    private static double millis(double micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.postech.soat.customer.loadtest;
+
+import br.com.postech.soat.customer.CustomerServiceApplication;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * The service a run is aimed at: either one already running at {@code target-url}, or this build
+ * started in the load test's JVM on a random port against the chosen database, with Flyway
+ * creating the schema on PostgreSQL and Hibernate on H2.
+ */
+final class LoadTestTarget implements AutoCloseable {
+
+    private final URI baseUri;
+    private final PostgreSQLContainer<?> database;
+    private final ConfigurableApplicationContext application;
+
+    private LoadTestTarget(URI baseUri, PostgreSQLContainer<?> database, ConfigurableApplicationContext application) {
+        this.baseUri = baseUri;
+        this.database = database;
+        this.application = application;
+    }
+
+    static LoadTestTarget start(LoadTestOptions options) {
+        if (options.targetUrl() != null) {
+            return new LoadTestTarget(URI.create(options.targetUrl()), null, null);
+        }
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        PostgreSQLContainer<?> database = null;
+        switch (options.database()) {
+            case "postgres" -> {
+                database = new PostgreSQLContainer<>(DockerImageName.parse(options.postgresImage()).asCompatibleSubstituteFor("postgres"));
+                database.start();
+                properties.put("spring.datasource.url", database.getJdbcUrl());
+                properties.put("spring.datasource.username", database.getUsername());
+                properties.put("spring.datasource.password", database.getPassword());
+            }
+            case "h2" -> {
+                properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+                properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+                properties.put("spring.datasource.username", "sa");
+                properties.put("spring.datasource.password", "");
+                properties.put("spring.flyway.enabled", "false");
+                properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            }
+            default -> properties.put("spring.datasource.url", options.database());
+        }
+        properties.put("server.port", "0");
+        properties.put("customer.grpc.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(options.appProperties());
+
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        try {
+            ConfigurableApplicationContext application = new SpringApplicationBuilder(CustomerServiceApplication.class)
+                .run(args.toArray(String[]::new));
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            return new LoadTestTarget(URI.create("http://localhost:" + port), database, application);
+        } catch (RuntimeException e) {
+            if (database != null) {
+                database.stop();
+            }
+            throw e;
+        }
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    @Override
+    public void close() {
+        if (application != null) {
+            application.close();
+        }
+        if (database != null) {
+            database.stop();
+        }
+    }
+}
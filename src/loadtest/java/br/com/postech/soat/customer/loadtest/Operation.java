@@ -0,0 +1,39 @@
+package br.com.postech.soat.customer.loadtest;
+
+/**
+ * The requests of the traffic mix, with the weight each has by default and the status a correct
+ * response carries. Any other status is reported as an error of the operation.
+ */
+public enum Operation {
+
+    /** {@code GET /customers} for a seeded customer, picked by Zipf rank. */
+    FIND("find", 90, 200),
+    /** {@code GET /customers} for a valid CPF that was never registered. */
+    NOT_FOUND("not-found", 3, 404),
+    /** {@code POST /customers} for a new customer. */
+    CREATE("create", 5, 201),
+    /** {@code POST /customers} repeating a seeded customer. */
+    DUPLICATE_CREATE("duplicate-create", 2, 409);
+
+    private final String key;
+    private final int defaultWeight;
+    private final int expectedStatus;
+
+    Operation(String key, int defaultWeight, int expectedStatus) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+        this.expectedStatus = expectedStatus;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+
+    public int expectedStatus() {
+        return expectedStatus;
+    }
+}
@@ -0,0 +1,305 @@
+package br.com.postech.soat.customer.loadtest;
+
+import br.com.postech.soat.customer.CustomerServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Startup time of the packaged application, from launching its JVM to the first healthy
+ * {@code /health}, which is what the Kubernetes startup probe waits for. Each {@link Mode} runs
+ * the extracted jar of {@code mvn -Pfast-startup package} from {@code application}, with or without
+ * the AOT bean definitions and the AppCDS archive; modes are interleaved so drift on the machine
+ * spreads over all of them:
+ * <pre>
+ * mvn -Pfast-startup -DskipTests package
+ * mvn -Ploadtest -DskipTests test-compile exec:exec -Dloadtest.main=br.com.postech.soat.customer.loadtest.StartupBenchmark -Dloadtest.args="runs=10"
+ * </pre>
+ * Without AOT the application also records its startup steps, and the report splits out the
+ * context refresh, Hibernate, Flyway, springdoc and web server share of it. Under AOT the startup
+ * endpoint is left out at build time, so only the total is known.
+ */
+public final class StartupBenchmark {
+
+    private static final int STARTUP_STEPS = 20_000;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final long POLL_INTERVAL_MILLIS = 20;
+    private static final Set<String> KEYS = Set.of("application", "modes", "runs", "database", "postgres-image", "label", "output");
+
+    enum Mode {
+        PLAIN("plain"),
+        AOT("aot", "-Dspring.aot.enabled=true"),
+        CDS("cds", "-XX:SharedArchiveFile=application.jsa"),
+        AOT_CDS("aot-cds", "-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa");
+
+        private final String key;
+        private final List<String> jvmArguments;
+
+        Mode(String key, String... jvmArguments) {
+            this.key = key;
+            this.jvmArguments = List.of(jvmArguments);
+        }
+
+        static Mode of(String key) {
+            for (Mode mode : values()) {
+                if (mode.key.equals(key)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown mode: " + key);
+        }
+    }
+
+    record Sample(long readyMillis, Map<String, Double> phaseMillis) {
+    }
+
+    private final Path application;
+    private final Path jar;
+    private final Map<String, String> properties;
+    private final String classpathSuffix;
+    private final Path logs;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StartupBenchmark(Path application, Map<String, String> properties, String classpathSuffix, Path logs) throws IOException {
+        this.application = application;
+        this.properties = properties;
+        this.classpathSuffix = classpathSuffix;
+        this.logs = logs;
+        try (var files = Files.list(application)) {
+            this.jar = files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No jar in " + application + ", run mvn -Pfast-startup package first"));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            String key = arg.substring(0, separator);
+            if (key.startsWith("app.")) {
+                properties.put(key.substring("app.".length()), arg.substring(separator + 1));
+            } else if (KEYS.contains(key)) {
+                values.put(key, arg.substring(separator + 1));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + key);
+            }
+        }
+
+        Path application = Path.of(values.getOrDefault("application", "target/application"));
+        List<Mode> modes = new ArrayList<>();
+        for (String mode : values.getOrDefault("modes", "plain,aot,cds,aot-cds").split(",")) {
+            modes.add(Mode.of(mode.trim()));
+        }
+        int runs = Integer.parseInt(values.getOrDefault("runs", "5"));
+        String database = values.getOrDefault("database", "postgres");
+        Path output = Path.of(values.getOrDefault("output", "target/loadtest"));
+        String label = values.getOrDefault("label", "startup");
+        Files.createDirectories(output);
+
+        Map<String, String> databaseProperties = new LinkedHashMap<>();
+        String classpathSuffix = "";
+        PostgreSQLContainer<?> container = null;
+        switch (database) {
+            case "postgres" -> {
+                container = new PostgreSQLContainer<>(DockerImageName.parse(values.getOrDefault("postgres-image", "postgres:17"))
+                    .asCompatibleSubstituteFor("postgres"));
+                container.start();
+                databaseProperties.put("spring.datasource.url", container.getJdbcUrl());
+                databaseProperties.put("spring.datasource.username", container.getUsername());
+                databaseProperties.put("spring.datasource.password", container.getPassword());
+            }
+            case "h2" -> {
+                databaseProperties.put("spring.datasource.url", "jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+                databaseProperties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+                databaseProperties.put("spring.datasource.username", "sa");
+                databaseProperties.put("spring.datasource.password", "");
+                databaseProperties.put("spring.flyway.enabled", "false");
+                classpathSuffix = File.pathSeparator + Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            }
+            default -> databaseProperties.put("spring.datasource.url", database);
+        }
+        databaseProperties.putAll(properties);
+
+        try {
+            StartupBenchmark benchmark = new StartupBenchmark(application, databaseProperties, classpathSuffix, output);
+            Map<Mode, List<Sample>> samples = new EnumMap<>(Mode.class);
+            for (int run = 1; run <= runs; run++) {
+                for (Mode mode : modes) {
+                    Sample sample = benchmark.launch(mode, label + "-" + mode.key + "-" + run + ".log");
+                    samples.computeIfAbsent(mode, key -> new ArrayList<>()).add(sample);
+                    System.out.printf("run %2d  %-8s ready in %6d ms%n", run, mode.key, sample.readyMillis());
+                }
+            }
+            report(samples, output.resolve(label + ".json"));
+        } finally {
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+
+    private Sample launch(Mode mode, String logName) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArguments);
+        command.add("-D" + CustomerServiceApplication.STARTUP_STEPS_PROPERTY + "=" + STARTUP_STEPS);
+        command.add("-cp");
+        command.add(jar.getFileName() + classpathSuffix);
+        command.add(CustomerServiceApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--customer.grpc.port=0");
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--management.endpoints.web.exposure.include=health,startup");
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .directory(application.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(logs.resolve(logName).toFile())
+            .start();
+        try {
+            URI base = URI.create("http://localhost:" + port);
+            awaitHealthy(process, base, logName);
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Sample(readyMillis, phases(base));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private void awaitHealthy(Process process, URI base, String logName) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest health = HttpRequest.newBuilder(base.resolve("/health")).timeout(Duration.ofSeconds(1)).build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with " + process.exitValue() + ", see " + logs.resolve(logName));
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        throw new IllegalStateException("The application was not healthy after " + STARTUP_TIMEOUT + ", see " + logs.resolve(logName));
+    }
+
+    /**
+     * Time spent in the steps that matter for startup, or none when the startup endpoint is not
+     * there. Nested springdoc beans are counted once, through their outermost step.
+     */
+    private Map<String, Double> phases(URI base) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(base.resolve("/startup"))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return Map.of();
+        }
+
+        Map<String, Double> phases = new LinkedHashMap<>();
+        Set<Long> springdocSteps = new HashSet<>();
+        List<JsonNode> springdocEvents = new ArrayList<>();
+        for (JsonNode event : objectMapper.readTree(response.body()).path("timeline").path("events")) {
+            JsonNode step = event.path("startupStep");
+            String name = step.path("name").asText();
+            String bean = "";
+            for (JsonNode tag : step.path("tags")) {
+                if ("beanName".equals(tag.path("key").asText())) {
+                    bean = tag.path("value").asText();
+                }
+            }
+            double millis = Duration.parse(event.path("duration").asText()).toNanos() / 1e6;
+
+            if ("spring.context.refresh".equals(name)) {
+                phases.merge("context refresh", millis, Math::max);
+            } else if ("spring.boot.webserver.create".equals(name)) {
+                phases.merge("web server", millis, Math::max);
+            } else if (bean.endsWith("entityManagerFactory")) {
+                phases.merge("hibernate", millis, Math::max);
+            } else if (bean.equals("flywayInitializer")) {
+                phases.merge("flyway", millis, Math::max);
+            } else if (bean.contains("springdoc") || bean.contains("swagger") || bean.contains("openApi")) {
+                springdocSteps.add(step.path("id").asLong());
+                springdocEvents.add(event);
+            }
+        }
+        double springdoc = 0;
+        for (JsonNode event : springdocEvents) {
+            if (!springdocSteps.contains(event.path("startupStep").path("parentId").asLong())) {
+                springdoc += Duration.parse(event.path("duration").asText()).toNanos() / 1e6;
+            }
+        }
+        phases.put("springdoc", springdoc);
+        return phases;
+    }
+
+    private static void report(Map<Mode, List<Sample>> samples, Path file) throws IOException {
+        System.out.printf("%n%-8s %5s %9s %9s %9s   %s%n", "mode", "runs", "mean ms", "min ms", "max ms", "mean ms per phase");
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (Map.Entry<Mode, List<Sample>> entry : samples.entrySet()) {
+            List<Sample> modeSamples = entry.getValue();
+            long min = modeSamples.stream().mapToLong(Sample::readyMillis).min().orElse(0);
+            long max = modeSamples.stream().mapToLong(Sample::readyMillis).max().orElse(0);
+            double mean = modeSamples.stream().mapToLong(Sample::readyMillis).average().orElse(0);
+
+            Map<String, Double> phases = new LinkedHashMap<>();
+            for (Sample sample : modeSamples) {
+                sample.phaseMillis().forEach((phase, millis) -> phases.merge(phase, millis / modeSamples.size(), Double::sum));
+            }
+            StringBuilder phaseText = new StringBuilder();
+            phases.forEach((phase, millis) -> phaseText.append(String.format("%s %.0f  ", phase, millis)));
+            System.out.printf("%-8s %5d %9.0f %9d %9d   %s%n", entry.getKey().key, modeSamples.size(), mean, min, max,
+                phases.isEmpty() ? "-" : phaseText.toString().trim());
+
+            Map<String, Object> mode = new LinkedHashMap<>();
+            mode.put("readyMillis", modeSamples.stream().map(Sample::readyMillis).toList());
+            mode.put("meanMillis", mean);
+            mode.put("minMillis", min);
+            mode.put("maxMillis", max);
+            mode.put("phaseMeanMillis", phases);
+            json.put(entry.getKey().key, mode);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+        System.out.printf("%nReport written to %s%n", file.toAbsolutePath());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.postech.soat.customer.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over {@code n} keys: the key of rank {@code k} is drawn with probability
+ * proportional to {@code 1 / k^exponent}. Sampling is a binary search over the precomputed
+ * cumulative probabilities.
+ * <p>
+ * Ranks are spread over the key space by a multiplicative permutation, so the hottest customers
+ * are not also the first ones seeded and do not share the same pages of the table and indexes.
+ */
+final class ZipfDistribution {
+
+    private static final long STRIDE = 2_147_483_629L;
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = Math.min(-rank - 1, cumulative.length - 1);
+        }
+        return (int) (rank * STRIDE % cumulative.length);
+    }
+}
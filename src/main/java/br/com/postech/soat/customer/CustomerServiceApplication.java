@@ -2,10 +2,23 @@ package br.com.postech.soat.customer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication(scanBasePackages = {"br.com.postech.soat.customer", "br.com.postech.soat.commons"})
 public class CustomerServiceApplication {
+
+    /**
+     * Setting this system property to a number of steps records that many startup steps, such as
+     * each bean's creation, and serves them from the {@code startup} actuator endpoint when exposed.
+     */
+    public static final String STARTUP_STEPS_PROPERTY = "customer.startup.steps";
+
     public static void main(String[] args) {
-        SpringApplication.run(CustomerServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(CustomerServiceApplication.class);
+        Integer startupSteps = Integer.getInteger(STARTUP_STEPS_PROPERTY);
+        if (startupSteps != null) {
+            application.setApplicationStartup(new BufferingApplicationStartup(startupSteps));
+        }
+        application.run(args);
     }
 }
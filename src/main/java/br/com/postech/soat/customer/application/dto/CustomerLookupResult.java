@@ -0,0 +1,6 @@
+package br.com.postech.soat.customer.application.dto;
+
+import java.util.List;
+
+public record CustomerLookupResult(List<CustomerView> found, List<String> missing) {
+}
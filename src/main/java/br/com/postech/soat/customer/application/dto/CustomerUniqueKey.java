@@ -0,0 +1,7 @@
+package br.com.postech.soat.customer.application.dto;
+
+public enum CustomerUniqueKey {
+    CPF,
+    EMAIL,
+    PHONE
+}
@@ -0,0 +1,11 @@
+package br.com.postech.soat.customer.application.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Validators of a stored customer: enough to tell whether a representation a client holds is
+ * still current, without loading the customer itself.
+ */
+public record CustomerVersion(UUID id, long version, Instant updatedAt) {
+}
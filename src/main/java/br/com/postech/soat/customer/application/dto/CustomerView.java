@@ -0,0 +1,22 @@
+package br.com.postech.soat.customer.application.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read model of a stored customer. Built straight from a row, so its fields are trusted as they
+ * were validated on the way in and are not wrapped in value objects again.
+ */
+public record CustomerView(UUID id, String name, String email, String cpf, String phone, long version, Instant updatedAt) {
+
+    /**
+     * A view whose validators are not known.
+     */
+    public CustomerView(UUID id, String name, String email, String cpf, String phone) {
+        this(id, name, email, cpf, phone, 0, null);
+    }
+
+    public CustomerVersion toVersion() {
+        return new CustomerVersion(id, version, updatedAt);
+    }
+}
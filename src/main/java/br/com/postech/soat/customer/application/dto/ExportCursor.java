@@ -0,0 +1,10 @@
+package br.com.postech.soat.customer.application.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Keyset position in the export order {@code (created_at, id)}.
+ */
+public record ExportCursor(OffsetDateTime createdAt, UUID id) {
+}
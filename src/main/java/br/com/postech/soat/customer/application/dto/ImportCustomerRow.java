@@ -0,0 +1,15 @@
+package br.com.postech.soat.customer.application.dto;
+
+/**
+ * One line of a bulk import: either the parsed customer data or the reason it could not be parsed.
+ */
+public record ImportCustomerRow(long line, CreateCustomerDto customer, String error) {
+
+    public static ImportCustomerRow parsed(long line, CreateCustomerDto customer) {
+        return new ImportCustomerRow(line, customer, null);
+    }
+
+    public static ImportCustomerRow malformed(long line, String error) {
+        return new ImportCustomerRow(line, null, error);
+    }
+}
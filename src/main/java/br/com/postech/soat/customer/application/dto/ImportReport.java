@@ -0,0 +1,10 @@
+package br.com.postech.soat.customer.application.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code rejected} counts every rejected row, while {@code errors} may hold
+ * only the first of them.
+ */
+public record ImportReport(long imported, long rejected, List<ImportRowError> errors) {
+}
@@ -0,0 +1,4 @@
+package br.com.postech.soat.customer.application.dto;
+
+public record ImportRowError(long line, String error) {
+}
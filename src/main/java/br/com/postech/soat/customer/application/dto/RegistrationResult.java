@@ -0,0 +1,24 @@
+package br.com.postech.soat.customer.application.dto;
+
+import br.com.postech.soat.customer.domain.entity.Customer;
+import java.util.List;
+
+/**
+ * Outcome of an atomic registration: either the stored customer, or the unique keys already
+ * taken by another customer. {@code conflicts} can be empty if the conflicting row is gone by
+ * the time it is looked up.
+ */
+public record RegistrationResult(Customer customer, List<CustomerUniqueKey> conflicts) {
+
+    public static RegistrationResult registered(Customer customer) {
+        return new RegistrationResult(customer, List.of());
+    }
+
+    public static RegistrationResult conflicted(List<CustomerUniqueKey> conflicts) {
+        return new RegistrationResult(null, List.copyOf(conflicts));
+    }
+
+    public boolean isRegistered() {
+        return customer != null;
+    }
+}
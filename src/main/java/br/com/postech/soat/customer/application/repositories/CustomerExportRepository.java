@@ -0,0 +1,14 @@
+package br.com.postech.soat.customer.application.repositories;
+
+import br.com.postech.soat.customer.application.dto.ExportCursor;
+
+public interface CustomerExportRepository {
+
+    /**
+     * Writes up to {@code limit} customers that come after {@code after} in {@code (created_at, id)} order.
+     *
+     * @param after position to resume from, or {@code null} to start at the beginning
+     * @return position of the last row written, or {@code null} if there were no more rows
+     */
+    ExportCursor exportPage(ExportCursor after, int limit, CustomerExportSink sink);
+}
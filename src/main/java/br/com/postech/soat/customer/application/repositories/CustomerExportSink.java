@@ -0,0 +1,13 @@
+package br.com.postech.soat.customer.application.repositories;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+/**
+ * Receives exported rows as plain column values, so no entity or domain object is built per row.
+ */
+@FunctionalInterface
+public interface CustomerExportSink {
+
+    void accept(String id, String name, String email, String cpf, String phone, OffsetDateTime createdAt) throws IOException;
+}
@@ -1,13 +1,40 @@
 package br.com.postech.soat.customer.application.repositories;
 
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
 import br.com.postech.soat.customer.domain.entity.Customer;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository {
 
-    Customer save(Customer customer);
+    /**
+     * Stores the customer in a single statement unless its CPF, email or phone is already taken.
+     */
+    RegistrationResult register(Customer customer);
 
-    Optional<Customer> findByCpf(String cpf);
-    
-    boolean exists(String cpf, String email, String phone);
+    /**
+     * Stores the customers in one batch, skipping those whose unique keys are already taken.
+     *
+     * @return for each customer, in order, whether it was stored
+     */
+    boolean[] registerAll(List<Customer> customers);
+
+    /**
+     * Read-side lookup: projects the row straight into a {@link CustomerView}, without loading
+     * the domain aggregate.
+     */
+    Optional<CustomerView> findViewByCpf(String cpf);
+
+    /**
+     * Read-side batch lookup, in a single query. CPFs without a customer are left out.
+     */
+    List<CustomerView> findAllViewsByCpf(Collection<String> cpfs);
+
+    /**
+     * Read-side lookup of the validators alone, for conditional requests.
+     */
+    Optional<CustomerVersion> findVersionByCpf(String cpf);
 }
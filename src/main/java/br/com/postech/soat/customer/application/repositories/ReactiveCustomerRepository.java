@@ -0,0 +1,29 @@
+package br.com.postech.soat.customer.application.repositories;
+
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import java.util.Collection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CustomerRepository}, used when the service runs on WebFlux.
+ */
+public interface ReactiveCustomerRepository {
+
+    /**
+     * Stores the customer unless its CPF, email or phone is already taken, in a single statement.
+     */
+    Mono<RegistrationResult> register(Customer customer);
+
+    /**
+     * @return the customer, or an empty {@link Mono} when no customer has the CPF
+     */
+    Mono<Customer> findByCpf(String cpf);
+
+    /**
+     * Looks up many customers in one query; CPFs with no customer are simply absent from the result.
+     */
+    Flux<CustomerView> findAllViewsByCpf(Collection<String> cpfs);
+}
@@ -1,6 +1,7 @@
 package br.com.postech.soat.customer.application.usecases;
 
 import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
 import br.com.postech.soat.customer.application.repositories.CustomerRepository;
 import br.com.postech.soat.customer.domain.entity.Customer;
 import br.com.postech.soat.customer.domain.exception.CustomerAlreadyExistsException;
@@ -8,6 +9,8 @@ import br.com.postech.soat.customer.domain.valueobject.CPF;
 import br.com.postech.soat.customer.domain.valueobject.Email;
 import br.com.postech.soat.customer.domain.valueobject.Name;
 import br.com.postech.soat.customer.domain.valueobject.Phone;
+import java.util.List;
+import java.util.Locale;
 
 public class CreateCustomerUseCase {
 
@@ -18,10 +21,6 @@ public class CreateCustomerUseCase {
     }
 
     public Customer execute(CreateCustomerDto createCustomerDto) {
-        if (customerRepository.exists(createCustomerDto.cpf(), createCustomerDto.email(), createCustomerDto.phone())) {
-            throw new CustomerAlreadyExistsException("Customer registration failed due to business rule violation");
-        }
-
         CPF cpf = new CPF(createCustomerDto.cpf());
         Name name = new Name(createCustomerDto.name());
         Email email = new Email(createCustomerDto.email());
@@ -29,6 +28,14 @@ public class CreateCustomerUseCase {
 
         final Customer customer = Customer.create(name, email, cpf, phone);
 
-        return customerRepository.save(customer);
+        RegistrationResult result = customerRepository.register(customer);
+        if (!result.isRegistered()) {
+            List<String> conflicts = result.conflicts().stream()
+                .map(key -> key.name().toLowerCase(Locale.ROOT))
+                .toList();
+            throw new CustomerAlreadyExistsException("Customer registration failed due to business rule violation", conflicts);
+        }
+
+        return result.customer();
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package br.com.postech.soat.customer.application.usecases;
+
+import br.com.postech.soat.customer.application.dto.ExportCursor;
+import br.com.postech.soat.customer.application.repositories.CustomerExportRepository;
+import br.com.postech.soat.customer.application.repositories.CustomerExportSink;
+
+/**
+ * Walks the whole customers table page by page on a keyset, so each page is a short read-only
+ * transaction and memory use does not depend on the table size.
+ */
+public class ExportCustomersUseCase {
+
+    public static final int DEFAULT_PAGE_SIZE = 5000;
+
+    private final CustomerExportRepository customerExportRepository;
+    private final int pageSize;
+
+    public ExportCustomersUseCase(CustomerExportRepository customerExportRepository) {
+        this(customerExportRepository, DEFAULT_PAGE_SIZE);
+    }
+
+    public ExportCustomersUseCase(CustomerExportRepository customerExportRepository, int pageSize) {
+        this.customerExportRepository = customerExportRepository;
+        this.pageSize = pageSize;
+    }
+
+    public void execute(CustomerExportSink sink) {
+        ExportCursor cursor = null;
+        do {
+            cursor = customerExportRepository.exportPage(cursor, pageSize, sink);
+        } while (cursor != null);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.postech.soat.customer.application.usecases;
+
+import br.com.postech.soat.commons.infrastructure.exception.NotFoundException;
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.FindCustomerQuery;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+
+public class FindCustomerVersionUseCase {
+
+    private final CustomerRepository customerRepository;
+
+    public FindCustomerVersionUseCase(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    public CustomerVersion execute(FindCustomerQuery query) {
+        CPF cpf = new CPF(query.cpf());
+        return customerRepository.findVersionByCpf(cpf.value())
+            .orElseThrow(() -> new NotFoundException("Customer not found for the document identifier: " + cpf.value()));
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.postech.soat.customer.application.usecases;
+
+import br.com.postech.soat.customer.application.dto.CustomerLookupResult;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.FindCustomersQuery;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.exception.InvalidCustomerLookupException;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class FindCustomersUseCase {
+
+    public static final int MAX_CPFS = 500;
+
+    private final CustomerRepository customerRepository;
+
+    public FindCustomersUseCase(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    public CustomerLookupResult execute(FindCustomersQuery query) {
+        if (query.cpfs() == null || query.cpfs().isEmpty() || query.cpfs().size() > MAX_CPFS) {
+            throw new InvalidCustomerLookupException("A busca em lote deve conter entre 1 e " + MAX_CPFS + " CPFs");
+        }
+
+        Set<String> cpfs = new LinkedHashSet<>();
+        for (String cpf : query.cpfs()) {
+            cpfs.add(new CPF(cpf).value());
+        }
+
+        List<CustomerView> found = customerRepository.findAllViewsByCpf(cpfs);
+
+        Set<String> foundCpfs = new HashSet<>();
+        for (CustomerView customer : found) {
+            foundCpfs.add(customer.cpf());
+        }
+        List<String> missing = cpfs.stream()
+            .filter(cpf -> !foundCpfs.contains(cpf))
+            .toList();
+
+        return new CustomerLookupResult(found, missing);
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.postech.soat.customer.application.usecases;
+
+import br.com.postech.soat.commons.infrastructure.exception.BaseException;
+import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.ImportCustomerRow;
+import br.com.postech.soat.customer.application.dto.ImportReport;
+import br.com.postech.soat.customer.application.dto.ImportRowError;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import br.com.postech.soat.customer.domain.valueobject.Email;
+import br.com.postech.soat.customer.domain.valueobject.Name;
+import br.com.postech.soat.customer.domain.valueobject.Phone;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Validates a stream of rows through the value objects and registers the valid ones in batches,
+ * so only one batch of customers is held in memory at a time.
+ * <p>
+ * Rejected rows are counted in full, but only the {@code maxErrors} with the lowest line numbers are
+ * kept for the report, so a file of invalid rows cannot grow the error list without bound.
+ */
+public class ImportCustomersUseCase {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MAX_ERRORS = 1000;
+    static final String ALREADY_EXISTS = "Customer already exists";
+
+    private final CustomerRepository customerRepository;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ImportCustomersUseCase(CustomerRepository customerRepository) {
+        this(customerRepository, DEFAULT_BATCH_SIZE, DEFAULT_MAX_ERRORS);
+    }
+
+    public ImportCustomersUseCase(CustomerRepository customerRepository, int batchSize, int maxErrors) {
+        this.customerRepository = customerRepository;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportReport execute(Iterator<ImportCustomerRow> rows) {
+        RowErrors errors = new RowErrors(maxErrors);
+        List<Customer> batch = new ArrayList<>(batchSize);
+        long[] batchLines = new long[batchSize];
+        long imported = 0;
+
+        while (rows.hasNext()) {
+            ImportCustomerRow row = rows.next();
+            if (row.error() != null) {
+                errors.add(new ImportRowError(row.line(), row.error()));
+                continue;
+            }
+
+            try {
+                batchLines[batch.size()] = row.line();
+                batch.add(toCustomer(row.customer()));
+            } catch (BaseException e) {
+                errors.add(new ImportRowError(row.line(), e.getMessage()));
+                continue;
+            }
+
+            if (batch.size() == batchSize) {
+                imported += flush(batch, batchLines, errors);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            imported += flush(batch, batchLines, errors);
+        }
+
+        return new ImportReport(imported, errors.rejected(), errors.firstByLine());
+    }
+
+    private long flush(List<Customer> batch, long[] batchLines, RowErrors errors) {
+        boolean[] registered = customerRepository.registerAll(batch);
+        long imported = 0;
+        for (int i = 0; i < registered.length; i++) {
+            if (registered[i]) {
+                imported++;
+            } else {
+                errors.add(new ImportRowError(batchLines[i], ALREADY_EXISTS));
+            }
+        }
+        return imported;
+    }
+
+    private static Customer toCustomer(CreateCustomerDto dto) {
+        return Customer.create(
+            new Name(dto.name()),
+            new Email(dto.email()),
+            new CPF(dto.cpf()),
+            new Phone(dto.phone())
+        );
+    }
+
+    /**
+     * Counts every rejected row and keeps the {@code limit} with the lowest line numbers. Duplicates
+     * are only known after their batch is flushed, so errors do not arrive in line order.
+     */
+    private static final class RowErrors {
+
+        private final int limit;
+        private final PriorityQueue<ImportRowError> kept;
+        private long rejected;
+
+        RowErrors(int limit) {
+            this.limit = limit;
+            this.kept = new PriorityQueue<>(Comparator.comparingLong(ImportRowError::line).reversed());
+        }
+
+        void add(ImportRowError error) {
+            rejected++;
+            if (kept.size() < limit) {
+                kept.add(error);
+            } else if (limit > 0 && error.line() < kept.peek().line()) {
+                kept.poll();
+                kept.add(error);
+            }
+        }
+
+        long rejected() {
+            return rejected;
+        }
+
+        List<ImportRowError> firstByLine() {
+            List<ImportRowError> errors = new ArrayList<>(kept);
+            errors.sort(Comparator.comparingLong(ImportRowError::line));
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.postech.soat.customer.application.usecases;
+
+import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.repositories.ReactiveCustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.exception.CustomerAlreadyExistsException;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import br.com.postech.soat.customer.domain.valueobject.Email;
+import br.com.postech.soat.customer.domain.valueobject.Name;
+import br.com.postech.soat.customer.domain.valueobject.Phone;
+import java.util.List;
+import java.util.Locale;
+import reactor.core.publisher.Mono;
+
+public class ReactiveCreateCustomerUseCase {
+
+    private final ReactiveCustomerRepository customerRepository;
+
+    public ReactiveCreateCustomerUseCase(ReactiveCustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    public Mono<Customer> execute(CreateCustomerDto createCustomerDto) {
+        return Mono.defer(() -> {
+            CPF cpf = new CPF(createCustomerDto.cpf());
+            Name name = new Name(createCustomerDto.name());
+            Email email = new Email(createCustomerDto.email());
+            Phone phone = new Phone(createCustomerDto.phone());
+
+            final Customer customer = Customer.create(name, email, cpf, phone);
+
+            return customerRepository.register(customer)
+                .flatMap(result -> {
+                    if (!result.isRegistered()) {
+                        List<String> conflicts = result.conflicts().stream()
+                            .map(key -> key.name().toLowerCase(Locale.ROOT))
+                            .toList();
+                        return Mono.error(new CustomerAlreadyExistsException("Customer registration failed due to business rule violation", conflicts));
+                    }
+                    return Mono.just(result.customer());
+                });
+        });
+    }
+}
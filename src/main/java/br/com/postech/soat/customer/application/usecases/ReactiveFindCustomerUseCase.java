@@ -0,0 +1,25 @@
+package br.com.postech.soat.customer.application.usecases;
+
+import br.com.postech.soat.commons.infrastructure.exception.NotFoundException;
+import br.com.postech.soat.customer.application.dto.FindCustomerQuery;
+import br.com.postech.soat.customer.application.repositories.ReactiveCustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import reactor.core.publisher.Mono;
+
+public class ReactiveFindCustomerUseCase {
+
+    private final ReactiveCustomerRepository customerRepository;
+
+    public ReactiveFindCustomerUseCase(ReactiveCustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    public Mono<Customer> execute(FindCustomerQuery query) {
+        return Mono.defer(() -> {
+            CPF cpf = new CPF(query.cpf());
+            return customerRepository.findByCpf(cpf.value())
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Customer not found for the document identifier: " + cpf.value())));
+        });
+    }
+}
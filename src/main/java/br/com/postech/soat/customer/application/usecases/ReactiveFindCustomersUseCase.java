@@ -0,0 +1,49 @@
+package br.com.postech.soat.customer.application.usecases;
+
+import br.com.postech.soat.customer.application.dto.CustomerLookupResult;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.FindCustomersQuery;
+import br.com.postech.soat.customer.application.repositories.ReactiveCustomerRepository;
+import br.com.postech.soat.customer.domain.exception.InvalidCustomerLookupException;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import reactor.core.publisher.Mono;
+
+public class ReactiveFindCustomersUseCase {
+
+    private final ReactiveCustomerRepository customerRepository;
+
+    public ReactiveFindCustomersUseCase(ReactiveCustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    public Mono<CustomerLookupResult> execute(FindCustomersQuery query) {
+        return Mono.defer(() -> {
+            if (query.cpfs() == null || query.cpfs().isEmpty() || query.cpfs().size() > FindCustomersUseCase.MAX_CPFS) {
+                return Mono.error(new InvalidCustomerLookupException(
+                    "A busca em lote deve conter entre 1 e " + FindCustomersUseCase.MAX_CPFS + " CPFs"));
+            }
+
+            Set<String> cpfs = new LinkedHashSet<>();
+            for (String cpf : query.cpfs()) {
+                cpfs.add(new CPF(cpf).value());
+            }
+
+            return customerRepository.findAllViewsByCpf(cpfs)
+                .collectList()
+                .map(found -> {
+                    Set<String> foundCpfs = new HashSet<>();
+                    for (CustomerView customer : found) {
+                        foundCpfs.add(customer.cpf());
+                    }
+                    List<String> missing = cpfs.stream()
+                        .filter(cpf -> !foundCpfs.contains(cpf))
+                        .toList();
+                    return new CustomerLookupResult(found, missing);
+                });
+        });
+    }
+}
@@ -1,11 +1,14 @@
 package br.com.postech.soat.commons.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
 public class ErrorResponseDto {
     private Integer status;
     private String message;
     private List<String> error;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> conflicts;
 
     public Integer getStatus() {
         return status;
@@ -33,4 +36,13 @@ public class ErrorResponseDto {
         this.error = error;
         return this;
     }
+
+    public List<String> getConflicts() {
+        return conflicts;
+    }
+
+    public ErrorResponseDto conflicts(List<String> conflicts) {
+        this.conflicts = conflicts;
+        return this;
+    }
 }
@@ -0,0 +1,105 @@
+package br.com.postech.soat.customer.commons.domain;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates version 7 UUIDs as laid out by RFC 9562: a 48-bit Unix timestamp in milliseconds, a
+ * 12-bit sequence in {@code rand_a} and 62 random bits in {@code rand_b}. Ids from one generator
+ * are strictly increasing, so rows keyed by them are appended at the right edge of a B-tree index
+ * instead of splitting pages all over it.
+ * <p>
+ * Timestamp and sequence share one {@link AtomicLong}: every id takes the larger of the previous
+ * value plus one and the current millisecond with a zero sequence. More than 4096 ids in one
+ * millisecond borrow from the next one, and a clock that moves backwards keeps counting from the
+ * last id. The random bits come from a {@link SecureRandom} chosen by thread and drawn in blocks,
+ * so concurrent callers do not queue on a single lock as they do in {@link UUID#randomUUID()} and
+ * the cost of each draw is shared by many ids.
+ */
+public final class TimeOrderedUuidGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final LongSupplier clock;
+    private final AtomicLong last = new AtomicLong();
+    private final RandomStripe[] randoms;
+
+    public TimeOrderedUuidGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    TimeOrderedUuidGenerator(LongSupplier clock) {
+        this.clock = clock;
+        this.randoms = new RandomStripe[stripesFor(Runtime.getRuntime().availableProcessors())];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = new RandomStripe(newSecureRandom());
+        }
+    }
+
+    public UUID generate() {
+        long now = clock.getAsLong() << SEQUENCE_BITS;
+        long stamp = last.updateAndGet(previous -> Math.max(previous + 1, now));
+
+        long mostSigBits = (stamp >>> SEQUENCE_BITS) << 16 | VERSION | stamp & 0xFFFL;
+        long leastSigBits = random().nextLong() & RANDOM_MASK | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Returns the Unix timestamp, in milliseconds, embedded in a version 7 UUID.
+     */
+    public static long timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private RandomStripe random() {
+        return randoms[(int) Thread.currentThread().threadId() & (randoms.length - 1)];
+    }
+
+    private static SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private static int stripesFor(int processors) {
+        return Integer.highestOneBit(Math.max(1, processors * 2 - 1)) << 1;
+    }
+
+    private static final class RandomStripe {
+
+        private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+        private final SecureRandom random;
+        private final byte[] block = new byte[512];
+        private int position = block.length;
+
+        private RandomStripe(SecureRandom random) {
+            this.random = random;
+        }
+
+        private synchronized long nextLong() {
+            if (position == block.length) {
+                random.nextBytes(block);
+                position = 0;
+            }
+            long value = (long) LONGS.get(block, position);
+            position += Long.BYTES;
+            return value;
+        }
+    }
+}
@@ -6,9 +6,17 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Times every public method of the annotated type with a Micrometer {@code Timer}, tagged by
+ * class, method and exception. See {@link MonitorableInterceptor}.
+ */
 @Inherited
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Monitorable {
+
+    /**
+     * Metric name. Defaults to {@code monitorable.method}.
+     */
     String value() default "";
 }
@@ -0,0 +1,45 @@
+package br.com.postech.soat.commons.infrastructure.aop.monitorable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Applies {@link MonitorableInterceptor} to the public methods of {@link Monitorable} types.
+ * <p>
+ * The advisor is created while the auto-proxy creator is set up, before Boot has customized the
+ * {@link MeterRegistry} or bound {@link MonitorableProperties}, so both are only resolved on the
+ * first advised call.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(MonitorableProperties.class)
+@ConditionalOnProperty(prefix = "monitorable", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MonitorableConfiguration {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor monitorableAdvisor(ObjectProvider<MeterRegistry> meterRegistry,
+                                             ObjectProvider<MonitorableProperties> properties) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationClassFilter(Monitorable.class, true))
+            .intersection(new StaticMethodMatcher() {
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+                }
+            });
+
+        return new DefaultPointcutAdvisor(pointcut, new MonitorableInterceptor(meterRegistry::getObject, properties::getObject));
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.postech.soat.commons.infrastructure.aop.monitorable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Records the wall time of each call to a {@link Monitorable} type.
+ * <p>
+ * Timers are registered once per method, and once per exception class that method throws, and then
+ * looked up by {@link Method} identity, so a call costs two {@code nanoTime} reads, one map lookup
+ * and the timer update. With {@code cpuTime} enabled, a second timer named {@code <name>.cpu}
+ * records the thread CPU time, so the gap between the two shows time spent waiting on the
+ * database. Reading thread CPU time costs far more than the rest of the interceptor, and virtual
+ * threads do not report it, so it is off by default.
+ * <p>
+ * The registry and the properties are supplied lazily and the properties are read once, on the
+ * first call, so building the interceptor does not force either bean to be created early.
+ */
+public class MonitorableInterceptor implements MethodInterceptor {
+
+    static final String DEFAULT_METRIC_NAME = "monitorable.method";
+    static final String NO_EXCEPTION = "none";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Supplier<MonitorableProperties> propertiesSupplier;
+    private final ConcurrentHashMap<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+    private volatile Settings settings;
+
+    public MonitorableInterceptor(Supplier<MeterRegistry> meterRegistry, Supplier<MonitorableProperties> properties) {
+        this.meterRegistry = meterRegistry;
+        this.propertiesSupplier = properties;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Settings current = settings();
+        Method method = invocation.getMethod();
+        MethodTimers methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, m -> new MethodTimers(invocation, current));
+        }
+
+        ThreadMXBean threadMXBean = current.threadMXBean();
+        long cpuStart = threadMXBean != null ? threadMXBean.getCurrentThreadCpuTime() : -1;
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            record(methodTimers, threadMXBean, null, start, cpuStart);
+            return result;
+        } catch (Throwable e) {
+            record(methodTimers, threadMXBean, e.getClass(), start, cpuStart);
+            throw e;
+        }
+    }
+
+    private Settings settings() {
+        Settings current = settings;
+        if (current == null) {
+            MonitorableProperties properties = propertiesSupplier.get();
+            current = new Settings(properties, properties.cpuTime() ? ManagementFactory.getThreadMXBean() : null);
+            settings = current;
+        }
+        return current;
+    }
+
+    private void record(MethodTimers methodTimers, ThreadMXBean threadMXBean, Class<? extends Throwable> exception,
+                        long start, long cpuStart) {
+        long elapsed = System.nanoTime() - start;
+        methodTimers.wall(exception).record(elapsed, TimeUnit.NANOSECONDS);
+
+        if (cpuStart >= 0) {
+            long cpuEnd = threadMXBean.getCurrentThreadCpuTime();
+            if (cpuEnd >= 0) {
+                methodTimers.cpu(exception).record(cpuEnd - cpuStart, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private record Settings(MonitorableProperties properties, ThreadMXBean threadMXBean) {
+    }
+
+    private final class MethodTimers {
+
+        private final MonitorableProperties properties;
+        private final String name;
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Timer cpuSuccess;
+        private final ConcurrentHashMap<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Class<?>, Timer> cpuFailures = new ConcurrentHashMap<>();
+
+        private MethodTimers(MethodInvocation invocation, Settings settings) {
+            this.properties = settings.properties();
+            Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+            Monitorable monitorable = AnnotatedElementUtils.findMergedAnnotation(targetClass, Monitorable.class);
+
+            this.name = monitorable == null || monitorable.value().isEmpty() ? DEFAULT_METRIC_NAME : monitorable.value();
+            this.className = targetClass.getSimpleName();
+            this.methodName = invocation.getMethod().getName();
+            this.success = timer(name, NO_EXCEPTION);
+            this.cpuSuccess = settings.threadMXBean() != null ? timer(name + ".cpu", NO_EXCEPTION) : null;
+        }
+
+        private Timer wall(Class<?> exception) {
+            return exception == null ? success : failures.computeIfAbsent(exception, e -> timer(name, e.getSimpleName()));
+        }
+
+        private Timer cpu(Class<?> exception) {
+            return exception == null ? cpuSuccess : cpuFailures.computeIfAbsent(exception, e -> timer(name + ".cpu", e.getSimpleName()));
+        }
+
+        private Timer timer(String metricName, String exception) {
+            return Timer.builder(metricName)
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("exception", exception)
+                .publishPercentileHistogram(properties.percentileHistogram())
+                .serviceLevelObjectives(properties.serviceLevelObjectives().toArray(Duration[]::new))
+                .register(meterRegistry.get());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.postech.soat.commons.infrastructure.aop.monitorable;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "monitorable")
+public record MonitorableProperties(boolean enabled,
+                                    boolean percentileHistogram,
+                                    List<Duration> serviceLevelObjectives,
+                                    boolean cpuTime) {
+
+    public MonitorableProperties {
+        serviceLevelObjectives = serviceLevelObjectives == null ? List.of() : List.copyOf(serviceLevelObjectives);
+    }
+}
@@ -1,7 +1,22 @@
 package br.com.postech.soat.commons.infrastructure.exception;
 
+import java.util.List;
+import lombok.Getter;
+
+@Getter
 public class ResourceConflictException extends BaseException {
+
+    /**
+     * Names of the request fields whose values are already taken, when known.
+     */
+    private final List<String> conflicts;
+
     public ResourceConflictException(String message) {
+        this(message, List.of());
+    }
+
+    public ResourceConflictException(String message, List<String> conflicts) {
         super(message);
+        this.conflicts = List.copyOf(conflicts);
     }
-}
\ No newline at end of file
+}
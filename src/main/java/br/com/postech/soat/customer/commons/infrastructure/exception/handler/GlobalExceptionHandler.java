@@ -4,15 +4,24 @@ import br.com.postech.soat.commons.api.ErrorResponseDto;
 import br.com.postech.soat.commons.infrastructure.exception.BaseException;
 import br.com.postech.soat.commons.infrastructure.exception.NotFoundException;
 import br.com.postech.soat.commons.infrastructure.exception.ResourceConflictException;
+import br.com.postech.soat.commons.infrastructure.util.ConnectionErrors;
 import java.util.Collections;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleNotFoundException(NotFoundException e) {
         ErrorResponseDto errorResponse = new ErrorResponseDto()
@@ -28,7 +37,8 @@ public class GlobalExceptionHandler {
         ErrorResponseDto errorResponse = new ErrorResponseDto()
             .status(409)
             .message("Resource conflict")
-            .error(Collections.singletonList(e.getMessage()));
+            .error(Collections.singletonList(e.getMessage()))
+            .conflicts(e.getConflicts());
 
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
@@ -42,5 +52,50 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
-}
 
+    /**
+     * The connection pool is the concurrency limit, so a request that cannot borrow a connection
+     * within the pool timeout is shed with 503 and a short Retry-After instead of queueing
+     * indefinitely. Any other failure to connect means the database itself is unreachable, which a
+     * retry one second later is unlikely to fix, so it gets a plain 503.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ErrorResponseDto> handleConnectionUnavailable(RuntimeException e) {
+        if (ConnectionErrors.isPoolTimeout(e)) {
+            ErrorResponseDto errorResponse = new ErrorResponseDto()
+                .status(503)
+                .message("Service unavailable")
+                .error(Collections.singletonList("Database connection pool exhausted"));
+
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+        }
+
+        logger.error("Could not connect to the database", e);
+        ErrorResponseDto errorResponse = new ErrorResponseDto()
+            .status(503)
+            .message("Service unavailable")
+            .error(Collections.singletonList("Database unavailable"));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * A statement, a shared lookup or a group commit that did not finish in time is load shed the
+     * same way as an exhausted pool. A registration answered this way may still have been stored:
+     * retrying it then gets 409 for the client's own customer.
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ErrorResponseDto> handleQueryTimeout(QueryTimeoutException e) {
+        logger.warn("Database did not answer in time: {}", e.getMessage());
+        ErrorResponseDto errorResponse = new ErrorResponseDto()
+            .status(503)
+            .message("Service unavailable")
+            .error(Collections.singletonList("Database did not answer in time"));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(errorResponse);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.postech.soat.commons.infrastructure.logging;
+
+/**
+ * JSON string escaping on a {@link StringBuilder}, for the log formatter and log values.
+ */
+final class JsonStrings {
+
+    private JsonStrings() {
+    }
+
+    static StringBuilder appendString(StringBuilder out, CharSequence value) {
+        int start = out.append('"').length();
+        out.append(value);
+        return escapeSince(out, start).append('"');
+    }
+
+    /**
+     * Escapes, in place, the characters appended since {@code start}. Values rarely need it, so the
+     * common case is a single scan.
+     */
+    static StringBuilder escapeSince(StringBuilder out, int start) {
+        int length = out.length();
+        int i = start;
+        while (i < length && !needsEscape(out.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return out;
+        }
+
+        String raw = out.substring(i);
+        out.setLength(i);
+        for (int j = 0; j < raw.length(); j++) {
+            char c = raw.charAt(j);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private static boolean needsEscape(char c) {
+        return c < 0x20 || c == '"' || c == '\\';
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.postech.soat.commons.infrastructure.logging;
+
+import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.nio.charset.Charset;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.boot.logging.structured.StructuredLogFormatter;
+
+/**
+ * Writes the same fields as Boot's {@code logstash} format into a single {@link StringBuilder}.
+ * <p>
+ * Boot's formatter encodes through a {@code Writer} one character at a time and renders unknown
+ * key-values with {@code toString()}. Here each line is built in one buffer and encoded once, and
+ * {@link StructuredLogValue} key-values append their fields straight into it. Selected with
+ * {@code logging.structured.format.console} set to this class name.
+ */
+public class LogstashJsonFormatter implements StructuredLogFormatter<ILoggingEvent> {
+
+    private final ThrowableProxyConverter throwableProxyConverter;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public LogstashJsonFormatter(ThrowableProxyConverter throwableProxyConverter) {
+        this.throwableProxyConverter = throwableProxyConverter;
+    }
+
+    @Override
+    public String format(ILoggingEvent event) {
+        return write(event).toString();
+    }
+
+    @Override
+    public byte[] formatAsBytes(ILoggingEvent event, Charset charset) {
+        return write(event).toString().getBytes(charset);
+    }
+
+    private StringBuilder write(ILoggingEvent event) {
+        StringBuilder out = new StringBuilder(512);
+
+        out.append("{\"@timestamp\":\"");
+        DateTimeFormatter.ISO_OFFSET_DATE_TIME.formatTo(OffsetDateTime.ofInstant(event.getInstant(), zone), out);
+        out.append("\",\"@version\":\"1\",\"message\":");
+        JsonStrings.appendString(out, event.getFormattedMessage());
+        out.append(",\"logger_name\":");
+        JsonStrings.appendString(out, event.getLoggerName());
+        out.append(",\"thread_name\":");
+        JsonStrings.appendString(out, event.getThreadName());
+        out.append(",\"level\":\"").append(event.getLevel()).append("\",\"level_value\":").append(event.getLevel().toInt());
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                out.append(',');
+                JsonStrings.appendString(out, entry.getKey()).append(':');
+                appendValue(out, entry.getValue());
+            }
+        }
+
+        List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+        if (keyValuePairs != null) {
+            for (KeyValuePair pair : keyValuePairs) {
+                out.append(',');
+                JsonStrings.appendString(out, pair.key).append(':');
+                appendValue(out, pair.value);
+            }
+        }
+
+        List<Marker> markers = event.getMarkerList();
+        if (markers != null && !markers.isEmpty()) {
+            out.append(",\"tags\":[");
+            int start = out.length();
+            for (Marker marker : markers) {
+                appendMarker(out, marker, start);
+            }
+            out.append(']');
+        }
+
+        if (event.getThrowableProxy() != null) {
+            out.append(",\"stack_trace\":");
+            JsonStrings.appendString(out, throwableProxyConverter.convert(event));
+        }
+
+        return out.append("}\n");
+    }
+
+    private static void appendValue(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof StructuredLogValue structuredLogValue) {
+            structuredLogValue.appendJson(out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Iterable<?> iterable) {
+            out.append('[');
+            for (Iterator<?> iterator = iterable.iterator(); iterator.hasNext(); ) {
+                appendValue(out, iterator.next());
+                if (iterator.hasNext()) {
+                    out.append(',');
+                }
+            }
+            out.append(']');
+        } else {
+            JsonStrings.appendString(out, value.toString());
+        }
+    }
+
+    private static void appendMarker(StringBuilder out, Marker marker, int start) {
+        if (out.length() > start) {
+            out.append(',');
+        }
+        JsonStrings.appendString(out, marker.getName());
+        for (Iterator<Marker> references = marker.iterator(); references.hasNext(); ) {
+            appendMarker(out, references.next(), start);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.postech.soat.commons.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Keeps one in {@code oneIn} events marked {@link #SAMPLED}, chosen at random, and leaves every
+ * other event to the regular level checks. Events at {@code WARN} or above are never dropped.
+ * <p>
+ * The decision is taken before the event is created, so dropped events cost one random draw.
+ * Logback only consults turbo filters from the classic logging methods and the enabled checks,
+ * so callers of the fluent API guard it with {@code isInfoEnabled(SAMPLED)}.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private int oneIn = 1;
+
+    public void setOneIn(int oneIn) {
+        this.oneIn = Math.max(1, oneIn);
+    }
+
+    public int getOneIn() {
+        return oneIn;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (oneIn == 1 || marker == null || level == null || level.isGreaterOrEqual(Level.WARN) || !marker.contains(SAMPLED)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(oneIn) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.postech.soat.commons.infrastructure.logging;
+
+import java.io.IOException;
+import java.util.function.BiFunction;
+import org.springframework.boot.json.WritableJson;
+
+/**
+ * A log key-value rendered as a JSON object only when an appender formats it.
+ * <p>
+ * {@link LogstashJsonFormatter} appends the fields straight into the line it is building, with no
+ * intermediate {@code String}. Boot's own structured formats go through {@link WritableJson}, and
+ * pattern layouts fall back to {@link #toString()}, which renders the same JSON.
+ */
+public abstract class StructuredLogValue implements WritableJson {
+
+    protected abstract void appendJson(StringBuilder out);
+
+    @Override
+    public final void to(Appendable out) throws IOException {
+        if (out instanceof StringBuilder builder) {
+            appendJson(builder);
+        } else {
+            out.append(toString());
+        }
+    }
+
+    @Override
+    public final String toString() {
+        StringBuilder builder = new StringBuilder(256);
+        appendJson(builder);
+        return builder.toString();
+    }
+
+    protected static void beginObject(StringBuilder out) {
+        out.append('{');
+    }
+
+    protected static void endObject(StringBuilder out) {
+        out.append('}');
+    }
+
+    protected static void field(StringBuilder out, String name, Object value) {
+        if (value == null) {
+            name(out, name).append("null");
+            return;
+        }
+        int start = name(out, name).append('"').length();
+        out.append(value);
+        JsonStrings.escapeSince(out, start).append('"');
+    }
+
+    /**
+     * Writes {@code value} through {@code mask}, which appends to the buffer it is given.
+     */
+    protected static void maskedField(StringBuilder out, String name, String value,
+                                      BiFunction<StringBuilder, String, StringBuilder> mask) {
+        if (value == null) {
+            name(out, name).append("null");
+            return;
+        }
+        int start = name(out, name).append('"').length();
+        mask.apply(out, value);
+        JsonStrings.escapeSince(out, start).append('"');
+    }
+
+    private static StringBuilder name(StringBuilder out, String name) {
+        if (out.charAt(out.length() - 1) != '{') {
+            out.append(',');
+        }
+        return out.append('"').append(name).append("\":");
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.postech.soat.commons.infrastructure.util;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Tells a connection pool timeout apart from other failures to reach the database. Spring wraps
+ * both in the same {@code CannotGetJdbcConnectionException} or {@code CannotCreateTransactionException},
+ * but only the pool timeout is worth retrying right away; Hikari reports it as a
+ * {@link SQLTransientConnectionException}.
+ */
+public class ConnectionErrors {
+
+    private ConnectionErrors() {
+    }
+
+    public static boolean isPoolTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
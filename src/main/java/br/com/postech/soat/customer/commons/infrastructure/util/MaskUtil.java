@@ -1,5 +1,11 @@
 package br.com.postech.soat.commons.infrastructure.util;
 
+/**
+ * Masks personal data before it is written to the logs.
+ * <p>
+ * The {@code append*} variants write the masked value straight into a caller's buffer, so log
+ * encoders can render it without an intermediate {@code String}.
+ */
 public class MaskUtil {
 
     private MaskUtil() {
@@ -9,33 +15,65 @@ public class MaskUtil {
         if (cpf == null || cpf.length() < 4) {
             return cpf;
         }
-        return cpf.substring(0, 2) + "*****" + cpf.substring(cpf.length() - 2);
+        return appendMaskedCpf(new StringBuilder(cpf.length()), cpf).toString();
     }
 
     public static String maskEmail(String email) {
-        if (email == null || !email.contains("@")) {
+        if (email == null || email.indexOf('@') < 0) {
             return email;
         }
+        return appendMaskedEmail(new StringBuilder(email.length()), email).toString();
+    }
+
+    public static String maskPhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        return appendMaskedPhone(new StringBuilder(phone.length()), phone).toString();
+    }
+
+    public static StringBuilder appendMaskedCpf(StringBuilder out, String cpf) {
+        if (cpf == null || cpf.length() < 4) {
+            return out.append(cpf);
+        }
+        return out.append(cpf, 0, 2)
+            .append("*****")
+            .append(cpf, cpf.length() - 2, cpf.length());
+    }
 
-        String[] parts = email.split("@");
-        String username = parts[0];
+    /**
+     * Keeps the first two characters of the user name and the domain up to the next {@code @}.
+     */
+    public static StringBuilder appendMaskedEmail(StringBuilder out, String email) {
+        int at = email == null ? -1 : email.indexOf('@');
+        if (at < 0) {
+            return out.append(email);
+        }
 
-        if (username.length() <= 2) {
-            return "*".repeat(username.length()) + "@" + parts[1];
+        int domainEnd = email.indexOf('@', at + 1);
+        if (domainEnd < 0) {
+            domainEnd = email.length();
         }
 
-        return username.substring(0, 2) + "*".repeat(username.length() - 2) + "@" + parts[1];
+        if (at <= 2) {
+            out.repeat('*', at);
+        } else {
+            out.append(email, 0, 2).repeat('*', at - 2);
+        }
+        return out.append(email, at, domainEnd);
     }
 
-    public static String maskPhone(String phone) {
+    public static StringBuilder appendMaskedPhone(StringBuilder out, String phone) {
         if (phone == null) {
-            return null;
+            return out.append((String) null);
         }
 
         if (phone.length() == 10) {
-            return phone.substring(0, 2) + "******" + phone.substring(8);
-        } else {
-            return phone.substring(0, 3) + "*****" + phone.substring(9);
+            return out.append(phone, 0, 2).append("******").append(phone, 8, 10);
+        }
+        if (phone.length() < 9) {
+            return out.repeat('*', phone.length());
         }
+        return out.append(phone, 0, 3).append("*****").append(phone, 9, phone.length());
     }
-}
\ No newline at end of file
+}
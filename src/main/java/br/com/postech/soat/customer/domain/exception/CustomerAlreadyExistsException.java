@@ -1,10 +1,15 @@
 package br.com.postech.soat.customer.domain.exception;
 
 import br.com.postech.soat.commons.infrastructure.exception.ResourceConflictException;
+import java.util.List;
 
 public class CustomerAlreadyExistsException extends ResourceConflictException {
 
     public CustomerAlreadyExistsException(String message) {
         super(message);
     }
+
+    public CustomerAlreadyExistsException(String message, List<String> conflicts) {
+        super(message, conflicts);
+    }
 }
@@ -0,0 +1,9 @@
+package br.com.postech.soat.customer.domain.exception;
+
+import br.com.postech.soat.commons.infrastructure.exception.BaseException;
+
+public class InvalidCustomerLookupException extends BaseException {
+    public InvalidCustomerLookupException(String message) {
+        super(message);
+    }
+}
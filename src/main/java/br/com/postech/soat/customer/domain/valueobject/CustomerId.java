@@ -1,10 +1,16 @@
 package br.com.postech.soat.customer.domain.valueobject;
 
+import br.com.postech.soat.customer.commons.domain.TimeOrderedUuidGenerator;
 import java.util.UUID;
 
 public record CustomerId(UUID value) {
 
+    private static final TimeOrderedUuidGenerator GENERATOR = new TimeOrderedUuidGenerator();
+
+    /**
+     * Creates a time-ordered id, so new customers are inserted in primary key order.
+     */
     public static CustomerId generate() {
-        return new CustomerId(UUID.randomUUID());
+        return new CustomerId(GENERATOR.generate());
     }
-}
\ No newline at end of file
+}
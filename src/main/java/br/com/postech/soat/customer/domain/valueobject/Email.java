@@ -1,20 +1,16 @@
 package br.com.postech.soat.customer.domain.valueobject;
 
 import br.com.postech.soat.customer.domain.exception.InvalidEmailException;
-import java.util.regex.Pattern;
 
 public record Email(String value) {
 
-    private static final Pattern EMAIL_PATTERN =
-            Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
-
     public Email {
         validate(value);
     }
 
     private void validate(String value) {
-        if (value == null || !EMAIL_PATTERN.matcher(value).matches()) {
+        if (!ValueObjectValidation.isValidEmail(value)) {
             throw new InvalidEmailException("Email inválido: " + value);
         }
     }
-}
\ No newline at end of file
+}
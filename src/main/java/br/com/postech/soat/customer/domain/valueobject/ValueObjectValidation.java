@@ -0,0 +1,194 @@
+package br.com.postech.soat.customer.domain.valueobject;
+
+/**
+ * Single-pass validation shared by the value object constructors.
+ * <p>
+ * Nothing is allocated when the input is already valid and canonical: a digit-only CPF or phone is
+ * returned as the same instance, and emails are only scanned. Formatted input costs exactly the
+ * normalized {@code String}. The email check is a hand-written automaton over the characters, so its
+ * running time is linear in the input and cannot be blown up the way a backtracking regex can.
+ */
+final class ValueObjectValidation {
+
+    static final int CPF_LENGTH = 11;
+    static final int PHONE_MIN_LENGTH = 10;
+    static final int PHONE_MAX_LENGTH = 11;
+    static final int EMAIL_MAX_LENGTH = 254;
+
+    private static final int TLD_MIN_LENGTH = 2;
+    private static final int TLD_MAX_LENGTH = 7;
+
+    private ValueObjectValidation() {
+    }
+
+    /**
+     * Returns the CPF as 11 digits, or {@code null} if it does not have 11 digits, has all digits
+     * equal or fails the mod-11 check digits. Characters other than digits are ignored.
+     */
+    static String normalizeCpf(String value) {
+        String digits = digits(value, CPF_LENGTH, CPF_LENGTH);
+        if (digits == null || !hasValidCheckDigits(digits)) {
+            return null;
+        }
+        return digits;
+    }
+
+    /**
+     * Returns the phone as 10 or 11 digits, or {@code null} if it has any other number of digits.
+     * Characters other than digits are ignored.
+     */
+    static String normalizePhone(String value) {
+        return digits(value, PHONE_MIN_LENGTH, PHONE_MAX_LENGTH);
+    }
+
+    /**
+     * Accepts {@code local@domain} where the local part is dot-separated atoms of
+     * {@code [a-zA-Z0-9_+&*-]}, and the domain is at least two dot-separated labels of
+     * {@code [a-zA-Z0-9-]} whose last label is 2 to 7 letters.
+     */
+    static boolean isValidEmail(String value) {
+        if (value == null || value.length() > EMAIL_MAX_LENGTH) {
+            return false;
+        }
+
+        int length = value.length();
+        int i = 0;
+
+        // local part: atom ('.' atom)*
+        boolean atomStarted = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                break;
+            }
+            if (c == '.') {
+                if (!atomStarted) {
+                    return false;
+                }
+                atomStarted = false;
+            } else if (isLocalChar(c)) {
+                atomStarted = true;
+            } else {
+                return false;
+            }
+        }
+        if (i == length || !atomStarted) {
+            return false;
+        }
+        i++;
+
+        // domain: (label '.')+ tld
+        int labels = 0;
+        int labelLength = 0;
+        boolean labelIsLetters = true;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                labels++;
+                labelLength = 0;
+                labelIsLetters = true;
+            } else if (isLetter(c)) {
+                labelLength++;
+            } else if (isDigit(c) || c == '-') {
+                labelLength++;
+                labelIsLetters = false;
+            } else {
+                return false;
+            }
+        }
+
+        return labels > 0
+            && labelIsLetters
+            && labelLength >= TLD_MIN_LENGTH
+            && labelLength <= TLD_MAX_LENGTH;
+    }
+
+    /**
+     * Strips everything but digits. Used only to build error messages.
+     */
+    static String digitsOf(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isDigit(c)) {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static String digits(String value, int minDigits, int maxDigits) {
+        if (value == null) {
+            return null;
+        }
+
+        int count = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (isDigit(value.charAt(i))) {
+                count++;
+            }
+        }
+        if (count < minDigits || count > maxDigits) {
+            return null;
+        }
+        if (count == value.length()) {
+            return value;
+        }
+
+        char[] digits = new char[count];
+        int j = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isDigit(c)) {
+                digits[j++] = c;
+            }
+        }
+        return new String(digits);
+    }
+
+    private static boolean hasValidCheckDigits(String cpf) {
+        boolean allEqual = true;
+        for (int i = 1; i < CPF_LENGTH; i++) {
+            allEqual &= cpf.charAt(i) == cpf.charAt(0);
+        }
+        if (allEqual) {
+            return false;
+        }
+
+        int firstSum = 0;
+        int secondSum = 0;
+        for (int i = 0; i < 9; i++) {
+            int digit = cpf.charAt(i) - '0';
+            firstSum += digit * (10 - i);
+            secondSum += digit * (11 - i);
+        }
+        int firstCheck = checkDigit(firstSum);
+        int secondCheck = checkDigit(secondSum + firstCheck * 2);
+
+        return cpf.charAt(9) - '0' == firstCheck && cpf.charAt(10) - '0' == secondCheck;
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '_' || c == '+' || c == '&' || c == '*' || c == '-';
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.postech.soat.customer.infrastructure.aot;
+
+import br.com.postech.soat.customer.infrastructure.grpc.CustomerGrpcServer;
+import br.com.postech.soat.customer.infrastructure.http.reactive.ReactiveCustomerController;
+import br.com.postech.soat.customer.infrastructure.persistence.groupcommit.GroupCommitWriter;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerInvalidationListener;
+import br.com.postech.soat.customer.infrastructure.persistence.routing.ReadReplicas;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Fails startup when the application runs on Spring AOT artifacts generated under settings that
+ * the environment now contradicts.
+ * <p>
+ * AOT evaluates every {@code @ConditionalOnProperty}, {@code @ConditionalOnWebApplication} and
+ * {@code @ConditionalOnThreading} when the application is built, so the beans they switch on or
+ * off stay as they were built whatever the environment says at runtime. This compares each such
+ * setting of the service with the beans actually present, instead of silently running without a
+ * feature that was asked for or with one that was turned off.
+ */
+public class AotToggleGuard implements SmartInitializingSingleton {
+
+    private final ListableBeanFactory beanFactory;
+    private final Environment environment;
+    private final boolean generatedArtifacts;
+
+    public AotToggleGuard(ListableBeanFactory beanFactory, Environment environment, boolean generatedArtifacts) {
+        this.beanFactory = beanFactory;
+        this.environment = environment;
+        this.generatedArtifacts = generatedArtifacts;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!generatedArtifacts) {
+            return;
+        }
+
+        List<String> mismatches = mismatches();
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("The AOT build fixed settings that the environment now contradicts: "
+                + String.join("; ", mismatches)
+                + ". Rebuild with these settings or start without -Dspring.aot.enabled=true");
+        }
+    }
+
+    List<String> mismatches() {
+        boolean reactive = "reactive".equalsIgnoreCase(environment.getProperty("spring.main.web-application-type"));
+        boolean decorators = isEnabled("customer.repository.decorators.enabled", true);
+
+        List<String> mismatches = new ArrayList<>();
+        check(mismatches, "spring.main.web-application-type=reactive", reactive, has(ReactiveCustomerController.class));
+        check(mismatches, "customer.grpc.enabled", !reactive && isEnabled("customer.grpc.enabled", false), has(CustomerGrpcServer.class));
+        check(mismatches, "customer.datasource.replicas.enabled",
+            isEnabled("customer.datasource.replicas.enabled", false), has(ReadReplicas.class));
+        check(mismatches, "customer.repository.group-commit.enabled",
+            decorators && isEnabled("customer.repository.group-commit.enabled", false), has(GroupCommitWriter.class));
+        check(mismatches, "customer.repository.cache.invalidation.enabled",
+            decorators && isEnabled("customer.repository.cache.enabled", false) && isEnabled("customer.repository.cache.invalidation.enabled", false),
+            has(CustomerInvalidationListener.class));
+        check(mismatches, "monitorable.enabled", isEnabled("monitorable.enabled", true), beanFactory.containsBean("monitorableAdvisor"));
+
+        Class<?> taskExecutor = beanFactory.containsBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            ? beanFactory.getType(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            : null;
+        if (taskExecutor != null) {
+            check(mismatches, "spring.threads.virtual.enabled",
+                Threading.VIRTUAL.isActive(environment), SimpleAsyncTaskExecutor.class.isAssignableFrom(taskExecutor));
+        }
+        return mismatches;
+    }
+
+    private boolean isEnabled(String property, boolean whenMissing) {
+        return environment.getProperty(property, Boolean.class, whenMissing);
+    }
+
+    private boolean has(Class<?> type) {
+        return beanFactory.getBeanNamesForType(type, true, false).length > 0;
+    }
+
+    private static void check(List<String> mismatches, String setting, boolean expected, boolean built) {
+        if (expected != built) {
+            mismatches.add(setting + (expected ? " is on but was off at build time" : " is off but was on at build time"));
+        }
+    }
+}
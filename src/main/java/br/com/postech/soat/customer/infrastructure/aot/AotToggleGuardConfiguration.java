@@ -0,0 +1,20 @@
+package br.com.postech.soat.customer.infrastructure.aot;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers {@link AotToggleGuard} unconditionally, so it is part of the AOT artifacts too, and
+ * decides only at runtime whether those artifacts are in use.
+ */
+@Configuration(proxyBeanMethods = false)
+public class AotToggleGuardConfiguration {
+
+    @Bean
+    public AotToggleGuard aotToggleGuard(ListableBeanFactory beanFactory, Environment environment) {
+        return new AotToggleGuard(beanFactory, environment, AotDetector.useGeneratedArtifacts());
+    }
+}
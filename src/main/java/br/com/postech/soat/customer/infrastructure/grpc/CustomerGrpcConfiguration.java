@@ -0,0 +1,46 @@
+package br.com.postech.soat.customer.infrastructure.grpc;
+
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Serves {@link CustomerGrpcService} over HTTP/2 on {@code customer.grpc.port}, next to the Spring
+ * MVC endpoints. Calls from one client are multiplexed on a single connection, up to
+ * {@code max-concurrent-calls-per-connection} at a time; further calls wait for a stream to free up.
+ * <p>
+ * Calls run on {@code executor-threads} threads, by default as many as the primary connection pool
+ * has connections, so calls beyond that queue in the executor instead of in the pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CustomerGrpcProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "customer.grpc", name = "enabled", havingValue = "true")
+public class CustomerGrpcConfiguration {
+
+    @Bean
+    public CustomerGrpcService customerGrpcService(CustomerRepository customerRepository) {
+        return new CustomerGrpcService(customerRepository);
+    }
+
+    @Bean
+    public CustomerGrpcServer customerGrpcServer(CustomerGrpcService customerGrpcService, CustomerGrpcProperties properties) {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.executorThreads(), new CustomizableThreadFactory("customer-grpc-"));
+        return new CustomerGrpcServer(
+            NettyServerBuilder.forPort(properties.port())
+                .addService(customerGrpcService)
+                .executor(executor)
+                .maxConcurrentCallsPerConnection(properties.maxConcurrentCallsPerConnection())
+                .build(),
+            executor,
+            properties.shutdownGracePeriod()
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.postech.soat.customer.infrastructure.grpc;
+
+import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.CustomerLookupResult;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.FindCustomerQuery;
+import br.com.postech.soat.customer.application.dto.FindCustomersQuery;
+import br.com.postech.soat.grpc.customer.v1.CreateCustomerRequest;
+import br.com.postech.soat.grpc.customer.v1.Customer;
+import br.com.postech.soat.grpc.customer.v1.FindCustomerRequest;
+import br.com.postech.soat.grpc.customer.v1.LookupCustomersRequest;
+import br.com.postech.soat.grpc.customer.v1.LookupCustomersResponse;
+
+public class CustomerGrpcMapper {
+
+    public FindCustomerQuery toFindCustomerQuery(FindCustomerRequest request) {
+        return new FindCustomerQuery(request.getCpf());
+    }
+
+    public FindCustomersQuery toFindCustomersQuery(LookupCustomersRequest request) {
+        return new FindCustomersQuery(request.getCpfsList());
+    }
+
+    public CreateCustomerDto toCreateCustomerDto(CreateCustomerRequest request) {
+        return new CreateCustomerDto(request.getName(), request.getEmail(), request.getCpf(), request.getPhone());
+    }
+
+    public Customer toCustomer(br.com.postech.soat.customer.domain.entity.Customer customer) {
+        return Customer.newBuilder()
+            .setId(customer.getId().value().toString())
+            .setName(customer.getName().value())
+            .setEmail(customer.getEmail().value())
+            .setCpf(customer.getCpf().value())
+            .setPhone(customer.getPhone().value())
+            .build();
+    }
+
+    /**
+     * The phone column is nullable and protobuf setters reject {@code null}, so a customer stored
+     * without one is sent with the field unset.
+     */
+    public Customer toCustomer(CustomerView customer) {
+        Customer.Builder builder = Customer.newBuilder()
+            .setId(customer.id().toString())
+            .setName(customer.name())
+            .setEmail(customer.email())
+            .setCpf(customer.cpf());
+        if (customer.phone() != null) {
+            builder.setPhone(customer.phone());
+        }
+        return builder.build();
+    }
+
+    public LookupCustomersResponse toLookupCustomersResponse(CustomerLookupResult result) {
+        LookupCustomersResponse.Builder response = LookupCustomersResponse.newBuilder();
+        for (CustomerView customer : result.found()) {
+            response.addFound(toCustomer(customer));
+        }
+        return response.addAllMissing(result.missing()).build();
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.postech.soat.customer.infrastructure.grpc;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer.grpc")
+public record CustomerGrpcProperties(boolean enabled, int port, int maxConcurrentCallsPerConnection, int executorThreads,
+                                    Duration shutdownGracePeriod) {
+}
@@ -0,0 +1,68 @@
+package br.com.postech.soat.customer.infrastructure.grpc;
+
+import io.grpc.Server;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Runs the gRPC {@link Server} with the application context: it starts once the context is
+ * refreshed and, on shutdown, stops taking calls and gives those in flight
+ * {@code shutdownGracePeriod} to finish before cancelling them. The executor the server runs calls
+ * on is shut down with it.
+ */
+public class CustomerGrpcServer implements SmartLifecycle {
+
+    private final Logger logger = LoggerFactory.getLogger(CustomerGrpcServer.class);
+
+    private final Server server;
+    private final ExecutorService executor;
+    private final Duration shutdownGracePeriod;
+    private volatile boolean running;
+
+    public CustomerGrpcServer(Server server, ExecutorService executor, Duration shutdownGracePeriod) {
+        this.server = server;
+        this.executor = executor;
+        this.shutdownGracePeriod = shutdownGracePeriod;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the gRPC server", e);
+        }
+        running = true;
+        logger.info("gRPC server listening on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,210 @@
+package br.com.postech.soat.customer.infrastructure.grpc;
+
+import br.com.postech.soat.commons.infrastructure.exception.BaseException;
+import br.com.postech.soat.commons.infrastructure.exception.NotFoundException;
+import br.com.postech.soat.commons.infrastructure.exception.ResourceConflictException;
+import br.com.postech.soat.commons.infrastructure.util.ConnectionErrors;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.application.usecases.CreateCustomerUseCase;
+import br.com.postech.soat.customer.application.usecases.FindCustomerUseCase;
+import br.com.postech.soat.customer.application.usecases.FindCustomersUseCase;
+import br.com.postech.soat.customer.infrastructure.persistence.QueryDeadline;
+import br.com.postech.soat.grpc.customer.v1.CreateCustomerRequest;
+import br.com.postech.soat.grpc.customer.v1.Customer;
+import br.com.postech.soat.grpc.customer.v1.CustomerServiceGrpc;
+import br.com.postech.soat.grpc.customer.v1.FindCustomerRequest;
+import br.com.postech.soat.grpc.customer.v1.LookupCustomersRequest;
+import br.com.postech.soat.grpc.customer.v1.LookupCustomersResponse;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Serves {@code customer.v1.CustomerService} from the same use cases and {@link CustomerRepository}
+ * as the HTTP endpoints, with the errors of {@code GlobalExceptionHandler} mapped to gRPC statuses.
+ * <p>
+ * No work starts for a call whose deadline has passed or that the client cancelled, and the
+ * statements a call issues are bounded by the time left until its deadline. The batch
+ * lookup asks for the next request only once the previous response can be written, so a slow
+ * reader holds back its sender instead of growing the outbound buffer.
+ */
+public class CustomerGrpcService extends CustomerServiceGrpc.CustomerServiceImplBase {
+
+    private final Logger logger = LoggerFactory.getLogger(CustomerGrpcService.class);
+
+    private final FindCustomerUseCase findCustomerUseCase;
+    private final FindCustomersUseCase findCustomersUseCase;
+    private final CreateCustomerUseCase createCustomerUseCase;
+    private final CustomerGrpcMapper mapper = new CustomerGrpcMapper();
+
+    public CustomerGrpcService(CustomerRepository customerRepository) {
+        this.findCustomerUseCase = new FindCustomerUseCase(customerRepository);
+        this.findCustomersUseCase = new FindCustomersUseCase(customerRepository);
+        this.createCustomerUseCase = new CreateCustomerUseCase(customerRepository);
+    }
+
+    @Override
+    public void findCustomer(FindCustomerRequest request, StreamObserver<Customer> responseObserver) {
+        unary(responseObserver, () -> mapper.toCustomer(findCustomerUseCase.execute(mapper.toFindCustomerQuery(request))));
+    }
+
+    @Override
+    public void createCustomer(CreateCustomerRequest request, StreamObserver<Customer> responseObserver) {
+        unary(responseObserver, () -> mapper.toCustomer(createCustomerUseCase.execute(mapper.toCreateCustomerDto(request))));
+    }
+
+    @Override
+    public StreamObserver<LookupCustomersRequest> lookupCustomers(StreamObserver<LookupCustomersResponse> responseObserver) {
+        ServerCallStreamObserver<LookupCustomersResponse> call = (ServerCallStreamObserver<LookupCustomersResponse>) responseObserver;
+        LookupCall lookup = new LookupCall(call);
+        call.disableAutoRequest();
+        call.setOnCancelHandler(() -> { });
+        call.setOnReadyHandler(lookup::onReady);
+        return lookup;
+    }
+
+    private <T> void unary(StreamObserver<T> responseObserver, Supplier<T> work) {
+        Status abandoned = abandoned();
+        if (abandoned != null) {
+            responseObserver.onError(abandoned.asRuntimeException());
+            return;
+        }
+        try {
+            T response = withinDeadline(work);
+            responseObserver.onNext(response);
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(failure(e).asRuntimeException());
+        }
+    }
+
+    private static <T> T withinDeadline(Supplier<T> work) {
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline == null) {
+            return work.get();
+        }
+        return QueryDeadline.within(Duration.ofNanos(deadline.timeRemaining(TimeUnit.NANOSECONDS)), work);
+    }
+
+    /**
+     * A statement cancelled at the deadline fails like any other database error, so the call's own
+     * state decides first whether the client gave up.
+     */
+    private Status failure(RuntimeException e) {
+        Status abandoned = abandoned();
+        return abandoned != null ? abandoned : toStatus(e);
+    }
+
+    /**
+     * The status to end the current call with when its client is no longer waiting for it, or
+     * {@code null} while it still is.
+     */
+    static Status abandoned() {
+        Context context = Context.current();
+        if (!context.isCancelled()) {
+            return null;
+        }
+        Deadline deadline = context.getDeadline();
+        return deadline != null && deadline.isExpired() ? Status.DEADLINE_EXCEEDED : Status.CANCELLED;
+    }
+
+    Status toStatus(RuntimeException e) {
+        if (e instanceof StatusRuntimeException statusException) {
+            return statusException.getStatus();
+        }
+        if (e instanceof NotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof ResourceConflictException conflict) {
+            String description = conflict.getConflicts().isEmpty()
+                ? e.getMessage()
+                : e.getMessage() + ": " + String.join(", ", conflict.getConflicts());
+            return Status.ALREADY_EXISTS.withDescription(description);
+        }
+        if (e instanceof BaseException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        if (e instanceof CannotCreateTransactionException || e instanceof CannotGetJdbcConnectionException) {
+            if (ConnectionErrors.isPoolTimeout(e)) {
+                return Status.UNAVAILABLE.withDescription("Database connection pool exhausted");
+            }
+            logger.error("Could not connect to the database", e);
+            return Status.UNAVAILABLE.withDescription("Database unavailable");
+        }
+        if (e instanceof QueryTimeoutException) {
+            return Status.DEADLINE_EXCEEDED.withDescription(e.getMessage());
+        }
+        logger.error("Unexpected error serving gRPC call", e);
+        return Status.INTERNAL.withDescription("Unexpected error");
+    }
+
+    private final class LookupCall implements StreamObserver<LookupCustomersRequest> {
+
+        private final ServerCallStreamObserver<LookupCustomersResponse> call;
+        private boolean awaitingReady = true;
+        private boolean closed;
+
+        private LookupCall(ServerCallStreamObserver<LookupCustomersResponse> call) {
+            this.call = call;
+        }
+
+        private void onReady() {
+            if (awaitingReady && call.isReady()) {
+                awaitingReady = false;
+                call.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(LookupCustomersRequest request) {
+            if (closed) {
+                return;
+            }
+            Status abandoned = abandoned();
+            if (abandoned != null) {
+                close(abandoned);
+                return;
+            }
+            try {
+                call.onNext(withinDeadline(() -> mapper.toLookupCustomersResponse(findCustomersUseCase.execute(mapper.toFindCustomersQuery(request)))));
+            } catch (RuntimeException e) {
+                close(failure(e));
+                return;
+            }
+            if (call.isReady()) {
+                call.request(1);
+            } else {
+                awaitingReady = true;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            closed = true;
+        }
+
+        @Override
+        public void onCompleted() {
+            if (!closed) {
+                closed = true;
+                call.onCompleted();
+            }
+        }
+
+        private void close(Status status) {
+            closed = true;
+            call.onError(status.asRuntimeException());
+        }
+    }
+}
@@ -1,30 +1,46 @@
 package br.com.postech.soat.customer.infrastructure.http;
 
 import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.CustomerLookupResult;
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
 import br.com.postech.soat.customer.application.dto.FindCustomerQuery;
 import br.com.postech.soat.customer.application.repositories.CustomerRepository;
 import br.com.postech.soat.customer.application.usecases.CreateCustomerUseCase;
 import br.com.postech.soat.customer.application.usecases.FindCustomerUseCase;
-import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.application.usecases.FindCustomerVersionUseCase;
+import br.com.postech.soat.customer.application.usecases.FindCustomersUseCase;
 import br.com.postech.soat.openapi.api.CustomerApi;
 import br.com.postech.soat.openapi.model.CreateCustomerRequestDto;
+import br.com.postech.soat.openapi.model.CustomerLookupRequestDto;
+import br.com.postech.soat.openapi.model.CustomerLookupResponseDto;
 import br.com.postech.soat.openapi.model.FindCustomer200ResponseDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CustomerController implements CustomerApi {
 
     private final CreateCustomerUseCase createCustomerUseCase;
     private final FindCustomerUseCase findCustomerUseCase;
+    private final FindCustomerVersionUseCase findCustomerVersionUseCase;
+    private final FindCustomersUseCase findCustomersUseCase;
     private final CustomerWebMapper customerWebMapper;
+    private final WebRequest webRequest;
 
-    public CustomerController(CustomerRepository customerRepository) {
+    public CustomerController(CustomerRepository customerRepository, WebRequest webRequest) {
         this.findCustomerUseCase = new FindCustomerUseCase(customerRepository);
+        this.findCustomerVersionUseCase = new FindCustomerVersionUseCase(customerRepository);
+        this.findCustomersUseCase = new FindCustomersUseCase(customerRepository);
         this.createCustomerUseCase = new CreateCustomerUseCase(customerRepository);
         this.customerWebMapper = new CustomerWebMapper();
+        this.webRequest = webRequest;
     }
 
     @Override
@@ -37,10 +53,37 @@ public class CustomerController implements CustomerApi {
             .body(customerWebMapper.toResponse(customer));
     }
 
+    /**
+     * A conditional request is first checked against the customer's validators alone; only when
+     * they no longer match is the customer loaded and rendered. Returning {@code null} leaves the
+     * 304 written by {@link WebRequest#checkNotModified(String, long)} as the response.
+     */
     @Override
     public ResponseEntity<FindCustomer200ResponseDto> findCustomer(String cpf) {
         FindCustomerQuery query = new FindCustomerQuery(cpf);
-        Customer customer = findCustomerUseCase.execute(query);
-        return ResponseEntity.ok(customerWebMapper.toResponse(customer));
+
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            CustomerVersion version = findCustomerVersionUseCase.execute(query);
+            if (webRequest.checkNotModified(customerWebMapper.toETag(version), lastModified(version))) {
+                return null;
+            }
+        }
+
+        CustomerView customer = findCustomerUseCase.execute(query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(customerWebMapper.toETag(customer.toVersion()));
+        if (customer.updatedAt() != null) {
+            response.lastModified(customer.updatedAt());
+        }
+        return response.body(customerWebMapper.toResponse(customer));
+    }
+
+    @Override
+    public ResponseEntity<CustomerLookupResponseDto> lookupCustomers(@RequestBody CustomerLookupRequestDto customerLookupRequest) {
+        CustomerLookupResult result = findCustomersUseCase.execute(customerWebMapper.toFindCustomersQuery(customerLookupRequest));
+        return ResponseEntity.ok(customerWebMapper.toLookupResponse(result));
+    }
+
+    private static long lastModified(CustomerVersion version) {
+        return version.updatedAt() == null ? -1 : version.updatedAt().toEpochMilli();
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package br.com.postech.soat.customer.infrastructure.http;
+
+import br.com.postech.soat.customer.application.repositories.CustomerExportRepository;
+import br.com.postech.soat.customer.application.usecases.ExportCustomersUseCase;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * Full export endpoint described by {@code CustomerExportApi} in {@code openapi.yaml}.
+ * <p>
+ * Rows are written to the response as NDJSON while they are read, so the response is never
+ * held in memory. The generated interface would return a buffered body, so this controller maps
+ * the operation itself.
+ * <p>
+ * The rows are written by a {@link WebAsyncTask} carrying {@code customer.export.timeout}, so a
+ * long export is not cut off by the default timeout that applies to every other async request.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(CustomerExportProperties.class)
+public class CustomerExportController {
+
+    private final ExportCustomersUseCase exportCustomersUseCase;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+
+    public CustomerExportController(CustomerExportRepository customerExportRepository,
+                                    ObjectMapper objectMapper,
+                                    CustomerExportProperties properties) {
+        this.exportCustomersUseCase = new ExportCustomersUseCase(customerExportRepository);
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = properties.timeout().toMillis();
+    }
+
+    @GetMapping(value = "/customers/export", produces = CustomerImportController.APPLICATION_NDJSON)
+    public WebAsyncTask<Void> exportCustomers(HttpServletResponse response) {
+        response.setContentType(CustomerImportController.APPLICATION_NDJSON);
+        return new WebAsyncTask<>(timeoutMillis, () -> {
+            write(response.getOutputStream());
+            return null;
+        });
+    }
+
+    private void write(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            exportCustomersUseCase.execute((id, name, email, cpf, phone, createdAt) -> {
+                generator.writeStartObject();
+                generator.writeStringField("id", id);
+                generator.writeStringField("name", name);
+                generator.writeStringField("email", email);
+                generator.writeStringField("cpf", cpf);
+                generator.writeStringField("phone", phone);
+                generator.writeStringField("createdAt", createdAt.toString());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            });
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.postech.soat.customer.infrastructure.http;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for {@link CustomerExportController}. {@code timeout} bounds a whole export, which takes
+ * far longer than the other asynchronous requests bounded by {@code spring.mvc.async.request-timeout}.
+ */
+@ConfigurationProperties(prefix = "customer.export")
+public record CustomerExportProperties(Duration timeout) {
+}
@@ -0,0 +1,66 @@
+package br.com.postech.soat.customer.infrastructure.http;
+
+import br.com.postech.soat.customer.application.dto.ImportReport;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.application.usecases.ImportCustomersUseCase;
+import br.com.postech.soat.customer.infrastructure.http.bulk.CsvImportRowIterator;
+import br.com.postech.soat.customer.infrastructure.http.bulk.ImportRowIterator;
+import br.com.postech.soat.customer.infrastructure.http.bulk.NdjsonImportRowIterator;
+import br.com.postech.soat.openapi.model.CustomerImportReportDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulk import endpoint described by {@code CustomerImportApi} in {@code openapi.yaml}.
+ * <p>
+ * The generated interface binds the body to a {@code Resource}, which Spring buffers in memory,
+ * so this controller maps the operation itself and reads the request stream directly.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CustomerImportController {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String TEXT_CSV = "text/csv";
+
+    private final ImportCustomersUseCase importCustomersUseCase;
+    private final CustomerWebMapper customerWebMapper;
+    private final ObjectMapper objectMapper;
+
+    public CustomerImportController(CustomerRepository customerRepository, ObjectMapper objectMapper) {
+        this.importCustomersUseCase = new ImportCustomersUseCase(customerRepository);
+        this.customerWebMapper = new CustomerWebMapper();
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(
+        value = "/customers/import",
+        consumes = {APPLICATION_NDJSON, TEXT_CSV},
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<CustomerImportReportDto> importCustomers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                   InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body,
+            mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8))) {
+
+            ImportRowIterator rows = mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? new CsvImportRowIterator(reader)
+                : new NdjsonImportRowIterator(reader, objectMapper);
+
+            ImportReport report = importCustomersUseCase.execute(rows);
+            return ResponseEntity.ok(customerWebMapper.toImportReport(report));
+        }
+    }
+}
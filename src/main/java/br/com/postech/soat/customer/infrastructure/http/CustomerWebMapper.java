@@ -1,8 +1,19 @@
 package br.com.postech.soat.customer.infrastructure.http;
 
 import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.CustomerLookupResult;
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.FindCustomersQuery;
+import br.com.postech.soat.customer.application.dto.ImportReport;
+import br.com.postech.soat.customer.application.dto.ImportRowError;
 import br.com.postech.soat.customer.domain.entity.Customer;
 import br.com.postech.soat.openapi.model.CreateCustomerRequestDto;
+import br.com.postech.soat.openapi.model.CustomerDto;
+import br.com.postech.soat.openapi.model.CustomerImportErrorDto;
+import br.com.postech.soat.openapi.model.CustomerImportReportDto;
+import br.com.postech.soat.openapi.model.CustomerLookupRequestDto;
+import br.com.postech.soat.openapi.model.CustomerLookupResponseDto;
 import br.com.postech.soat.openapi.model.FindCustomer200ResponseDto;
 
 public class CustomerWebMapper {
@@ -25,4 +36,54 @@ public class CustomerWebMapper {
         response.setPhone(customer.getPhone().value());
         return response;
     }
+
+    public FindCustomer200ResponseDto toResponse(CustomerView customer) {
+        FindCustomer200ResponseDto response = new FindCustomer200ResponseDto();
+        response.setId(customer.id().toString());
+        response.setName(customer.name());
+        response.setEmail(customer.email());
+        response.setCpf(customer.cpf());
+        response.setPhone(customer.phone());
+        return response;
+    }
+
+    /**
+     * Weak, since every media type the customer is rendered in shares it: the version changes with
+     * the stored customer, not with the bytes of a given representation. The id keeps a customer
+     * registered again under the same CPF from matching the previous one's tag.
+     */
+    public String toETag(CustomerVersion version) {
+        return "W/\"" + version.id() + "-" + version.version() + "\"";
+    }
+
+    public FindCustomersQuery toFindCustomersQuery(CustomerLookupRequestDto request) {
+        return new FindCustomersQuery(request.getCpfs());
+    }
+
+    public CustomerLookupResponseDto toLookupResponse(CustomerLookupResult result) {
+        CustomerLookupResponseDto response = new CustomerLookupResponseDto();
+        for (CustomerView customer : result.found()) {
+            CustomerDto dto = new CustomerDto();
+            dto.setId(customer.id().toString());
+            dto.setName(customer.name());
+            dto.setEmail(customer.email());
+            dto.setCpf(customer.cpf());
+            dto.setPhone(customer.phone());
+            response.addFoundItem(dto);
+        }
+        response.setMissing(result.missing());
+        return response;
+    }
+
+    public CustomerImportReportDto toImportReport(ImportReport report) {
+        CustomerImportReportDto response = new CustomerImportReportDto();
+        response.setImported(report.imported());
+        response.setRejected(report.rejected());
+        for (ImportRowError error : report.errors()) {
+            response.addErrorsItem(new CustomerImportErrorDto()
+                .line(error.line())
+                .error(error.error()));
+        }
+        return response;
+    }
 }
\ No newline at end of file
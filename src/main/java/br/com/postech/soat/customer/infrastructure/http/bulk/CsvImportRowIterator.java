@@ -0,0 +1,98 @@
+package br.com.postech.soat.customer.infrastructure.http.bulk;
+
+import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.ImportCustomerRow;
+import br.com.postech.soat.customer.domain.exception.InvalidCustomerImportException;
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Comma-separated rows after a header naming the {@code name}, {@code email}, {@code cpf} and
+ * {@code phone} columns in any order. Fields may be double-quoted; quoted fields cannot span lines.
+ */
+public class CsvImportRowIterator extends ImportRowIterator {
+
+    private int nameColumn = -1;
+    private int emailColumn = -1;
+    private int cpfColumn = -1;
+    private int phoneColumn = -1;
+    private int columns;
+
+    public CsvImportRowIterator(BufferedReader reader) {
+        super(reader);
+        readHeader();
+    }
+
+    @Override
+    protected ImportCustomerRow parse(long line, String text) {
+        List<String> fields = split(text);
+        if (fields == null || fields.size() != columns) {
+            return ImportCustomerRow.malformed(line, "CSV inválido: esperadas " + columns + " colunas");
+        }
+
+        return ImportCustomerRow.parsed(line, new CreateCustomerDto(
+            fields.get(nameColumn),
+            fields.get(emailColumn),
+            fields.get(cpfColumn),
+            fields.get(phoneColumn)
+        ));
+    }
+
+    private void readHeader() {
+        String header = readLine();
+        List<String> names = header == null ? null : split(header);
+        if (names == null) {
+            throw new InvalidCustomerImportException("CSV inválido: cabeçalho ausente");
+        }
+
+        columns = names.size();
+        for (int i = 0; i < columns; i++) {
+            switch (names.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> nameColumn = i;
+                case "email" -> emailColumn = i;
+                case "cpf" -> cpfColumn = i;
+                case "phone" -> phoneColumn = i;
+                default -> {
+                }
+            }
+        }
+
+        if (nameColumn < 0 || emailColumn < 0 || cpfColumn < 0 || phoneColumn < 0) {
+            throw new InvalidCustomerImportException("CSV inválido: o cabeçalho deve conter name, email, cpf e phone");
+        }
+    }
+
+    /**
+     * Splits one CSV line, or returns {@code null} if a quoted field is left open.
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.postech.soat.customer.infrastructure.http.bulk;
+
+import br.com.postech.soat.customer.application.dto.ImportCustomerRow;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an import body one line at a time, skipping blank lines, so rows are parsed as they
+ * arrive instead of after the whole body is buffered.
+ */
+public abstract class ImportRowIterator implements Iterator<ImportCustomerRow> {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private ImportCustomerRow next;
+
+    protected ImportRowIterator(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    protected abstract ImportCustomerRow parse(long line, String text);
+
+    protected String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            if (!line.isBlank()) {
+                next = parse(lineNumber, line);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ImportCustomerRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportCustomerRow row = next;
+        next = null;
+        return row;
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.postech.soat.customer.infrastructure.http.bulk;
+
+import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.ImportCustomerRow;
+import br.com.postech.soat.openapi.model.CreateCustomerRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+
+/**
+ * One {@link CreateCustomerRequestDto} JSON object per line.
+ */
+public class NdjsonImportRowIterator extends ImportRowIterator {
+
+    private final ObjectReader objectReader;
+
+    public NdjsonImportRowIterator(BufferedReader reader, ObjectMapper objectMapper) {
+        super(reader);
+        this.objectReader = objectMapper.readerFor(CreateCustomerRequestDto.class);
+    }
+
+    @Override
+    protected ImportCustomerRow parse(long line, String text) {
+        try {
+            CreateCustomerRequestDto request = objectReader.readValue(text);
+            return ImportCustomerRow.parsed(line, new CreateCustomerDto(
+                request.getName(),
+                request.getEmail(),
+                request.getCpf(),
+                request.getPhone()
+            ));
+        } catch (JsonProcessingException e) {
+            return ImportCustomerRow.malformed(line, "JSON inválido");
+        }
+    }
+}
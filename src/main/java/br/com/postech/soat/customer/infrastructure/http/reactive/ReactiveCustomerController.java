@@ -0,0 +1,66 @@
+package br.com.postech.soat.customer.infrastructure.http.reactive;
+
+import br.com.postech.soat.customer.application.dto.FindCustomerQuery;
+import br.com.postech.soat.customer.application.repositories.ReactiveCustomerRepository;
+import br.com.postech.soat.customer.application.usecases.ReactiveCreateCustomerUseCase;
+import br.com.postech.soat.customer.application.usecases.ReactiveFindCustomerUseCase;
+import br.com.postech.soat.customer.application.usecases.ReactiveFindCustomersUseCase;
+import br.com.postech.soat.customer.infrastructure.http.CustomerWebMapper;
+import br.com.postech.soat.openapi.model.CreateCustomerRequestDto;
+import br.com.postech.soat.openapi.model.CustomerLookupRequestDto;
+import br.com.postech.soat.openapi.model.CustomerLookupResponseDto;
+import br.com.postech.soat.openapi.model.FindCustomer200ResponseDto;
+import br.com.postech.soat.openapi.reactive.api.CustomerApi;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux implementation of {@code CustomerApi}, active when the service runs as a reactive web
+ * application.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerController implements CustomerApi {
+
+    private final ReactiveCreateCustomerUseCase createCustomerUseCase;
+    private final ReactiveFindCustomerUseCase findCustomerUseCase;
+    private final ReactiveFindCustomersUseCase findCustomersUseCase;
+    private final CustomerWebMapper customerWebMapper;
+
+    public ReactiveCustomerController(ReactiveCustomerRepository customerRepository) {
+        this.createCustomerUseCase = new ReactiveCreateCustomerUseCase(customerRepository);
+        this.findCustomerUseCase = new ReactiveFindCustomerUseCase(customerRepository);
+        this.findCustomersUseCase = new ReactiveFindCustomersUseCase(customerRepository);
+        this.customerWebMapper = new CustomerWebMapper();
+    }
+
+    @Override
+    public Mono<ResponseEntity<FindCustomer200ResponseDto>> createCustomer(@RequestBody Mono<CreateCustomerRequestDto> createCustomerRequestDto,
+                                                                           ServerWebExchange exchange) {
+        return createCustomerRequestDto
+            .map(customerWebMapper::toCreateCustomerDto)
+            .flatMap(createCustomerUseCase::execute)
+            .map(customer -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(customerWebMapper.toResponse(customer)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<FindCustomer200ResponseDto>> findCustomer(String cpf, ServerWebExchange exchange) {
+        return findCustomerUseCase.execute(new FindCustomerQuery(cpf))
+            .map(customer -> ResponseEntity.ok(customerWebMapper.toResponse(customer)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CustomerLookupResponseDto>> lookupCustomers(@RequestBody Mono<CustomerLookupRequestDto> customerLookupRequestDto,
+                                                                           ServerWebExchange exchange) {
+        return customerLookupRequestDto
+            .map(customerWebMapper::toFindCustomersQuery)
+            .flatMap(findCustomersUseCase::execute)
+            .map(result -> ResponseEntity.ok(customerWebMapper.toLookupResponse(result)));
+    }
+}
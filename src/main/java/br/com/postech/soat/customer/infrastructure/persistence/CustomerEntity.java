@@ -5,6 +5,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "customers")
@@ -37,6 +39,18 @@ public class CustomerEntity {
     @Column(unique = true)
     private String phone;
 
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long version;
+
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime updatedAt;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -52,12 +66,9 @@ public class CustomerEntity {
 
     @Override
     public String toString() {
-        return "CustomerEntity{" +
-            "id=" + id +
-            ", cpf='" + MaskUtil.maskCpf(cpf) + '\'' +
-            ", name='" + name + '\'' +
-            ", email='" + MaskUtil.maskEmail(email) + '\'' +
-            ", phone='" + MaskUtil.maskPhone(phone) + '\'' +
-            '}';
+        StringBuilder builder = new StringBuilder(128).append("CustomerEntity{id=").append(id).append(", cpf='");
+        MaskUtil.appendMaskedCpf(builder, cpf).append("', name='").append(name).append("', email='");
+        MaskUtil.appendMaskedEmail(builder, email).append("', phone='");
+        return MaskUtil.appendMaskedPhone(builder, phone).append("'}").toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.customer.application.dto.ExportCursor;
+import br.com.postech.soat.customer.application.repositories.CustomerExportRepository;
+import br.com.postech.soat.customer.application.repositories.CustomerExportSink;
+import br.com.postech.soat.customer.infrastructure.persistence.routing.ReadRouting;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads each export page into memory with plain JDBC and only hands the rows to the sink once the
+ * query has returned, so the connection goes back to the pool before anything is written to a
+ * possibly slow client. Memory use is bounded by the page size.
+ */
+@Repository
+public class CustomerExportRepositoryImpl implements CustomerExportRepository {
+
+    private static final String FIRST_PAGE = """
+        SELECT id, name, email, phone, document_identifier, created_at
+        FROM customers
+        ORDER BY created_at, id
+        LIMIT :limit
+        """;
+
+    private static final String NEXT_PAGE = """
+        SELECT id, name, email, phone, document_identifier, created_at
+        FROM customers
+        WHERE (created_at, id) > (:createdAt, :id)
+        ORDER BY created_at, id
+        LIMIT :limit
+        """;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public CustomerExportRepositoryImpl(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    @Override
+    public ExportCursor exportPage(ExportCursor after, int limit, CustomerExportSink sink) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("limit", limit);
+        if (after != null) {
+            parameters.addValue("createdAt", after.createdAt()).addValue("id", after.id());
+        }
+
+        List<ExportRow> page = ReadRouting.onReplica(() -> namedParameterJdbcTemplate.query(
+            after == null ? FIRST_PAGE : NEXT_PAGE,
+            parameters,
+            (resultSet, rowNum) -> new ExportRow(
+                resultSet.getString("id"),
+                resultSet.getString("name"),
+                resultSet.getString("email"),
+                resultSet.getString("document_identifier"),
+                resultSet.getString("phone"),
+                resultSet.getObject("created_at", OffsetDateTime.class)
+            )));
+
+        if (page.isEmpty()) {
+            return null;
+        }
+
+        try {
+            for (ExportRow row : page) {
+                sink.accept(row.id(), row.name(), row.email(), row.cpf(), row.phone(), row.createdAt());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ExportRow last = page.get(page.size() - 1);
+        return new ExportCursor(last.createdAt(), UUID.fromString(last.id()));
+    }
+
+    private record ExportRow(String id, String name, String email, String cpf, String phone, OffsetDateTime createdAt) {
+    }
+}
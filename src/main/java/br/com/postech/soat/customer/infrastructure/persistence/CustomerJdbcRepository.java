@@ -0,0 +1,226 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.sql.Statement;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Statements on {@code customers} that JPA cannot express in a single round trip, and the read-side
+ * projections that skip the persistence context.
+ */
+@Repository
+public class CustomerJdbcRepository {
+
+    private static final String INSERT_IF_ABSENT = """
+        INSERT INTO customers (id, name, email, phone, document_identifier)
+        VALUES (:id, :name, :email, :phone, :cpf)
+        ON CONFLICT DO NOTHING
+        """;
+
+    /**
+     * {@link #INSERT_IF_ABSENT} that also tells the claim triggers of the partitioned schema to skip
+     * a row whose email or phone is taken, see {@code customers_insert_skips_conflicts()}. The
+     * setting is evaluated before the row reaches the triggers and lasts until the transaction ends.
+     */
+    private static final String INSERT_IF_ABSENT_ON_POSTGRESQL = """
+        INSERT INTO customers (id, name, email, phone, document_identifier)
+        SELECT :id, :name, :email, :phone, :cpf
+        WHERE set_config('customers.insert_conflicts', 'skip', true) IS NOT NULL
+        ON CONFLICT DO NOTHING
+        """;
+
+    private static final String FIND_CONFLICTS = """
+        SELECT document_identifier, email, phone
+        FROM customers
+        WHERE document_identifier = :cpf OR email = :email OR phone = :phone
+        """;
+
+    private static final String FIND_IDS_BY_CPFS = """
+        SELECT id
+        FROM customers
+        WHERE document_identifier = ANY(:cpfs)
+        """;
+
+    private static final String FIND_VIEW_BY_CPF = """
+        SELECT id, name, email, document_identifier, phone, version, updated_at
+        FROM customers
+        WHERE document_identifier = :cpf
+        """;
+
+    private static final String FIND_VERSION_BY_CPF = """
+        SELECT id, version, updated_at
+        FROM customers
+        WHERE document_identifier = :cpf
+        """;
+
+    private static final String FIND_VIEWS_BY_CPFS = """
+        SELECT id, name, email, document_identifier, phone, version, updated_at
+        FROM customers
+        WHERE document_identifier = ANY(:cpfs)
+        """;
+
+    private static final RowMapper<CustomerView> CUSTOMER_VIEW = (resultSet, rowNum) -> new CustomerView(
+        resultSet.getObject("id", UUID.class),
+        resultSet.getString("name"),
+        resultSet.getString("email"),
+        resultSet.getString("document_identifier"),
+        resultSet.getString("phone"),
+        resultSet.getLong("version"),
+        resultSet.getObject("updated_at", OffsetDateTime.class).toInstant()
+    );
+
+    private static final RowMapper<CustomerVersion> CUSTOMER_VERSION = (resultSet, rowNum) -> new CustomerVersion(
+        resultSet.getObject("id", UUID.class),
+        resultSet.getLong("version"),
+        resultSet.getObject("updated_at", OffsetDateTime.class).toInstant()
+    );
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final JdbcClient jdbcClient;
+    private volatile String insertIfAbsent;
+
+    public CustomerJdbcRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.jdbcClient = JdbcClient.create(namedParameterJdbcTemplate);
+    }
+
+    /**
+     * Inserts the customer unless any unique constraint would be violated. On the partitioned schema
+     * the claims in {@code customer_emails} and {@code customer_phones} skip the row the same way.
+     *
+     * @return {@code true} if the row was inserted
+     */
+    public boolean insertIfAbsent(CustomerEntity customerEntity) {
+        int inserted = jdbcClient.sql(insertIfAbsent())
+            .param("id", customerEntity.getId())
+            .param("name", customerEntity.getName())
+            .param("email", customerEntity.getEmail())
+            .param("phone", customerEntity.getPhone())
+            .param("cpf", customerEntity.getCpf())
+            .update();
+        return inserted == 1;
+    }
+
+    /**
+     * Inserts the customers as one JDBC batch, skipping rows that would violate a unique constraint.
+     * <p>
+     * Relies on per-statement update counts. Where the driver reports
+     * {@link Statement#SUCCESS_NO_INFO} instead, as PgJDBC does with {@code reWriteBatchedInserts},
+     * the rows are looked up afterwards: a row was inserted if the stored customer has its id.
+     *
+     * @return for each customer, in order, whether its row was inserted
+     */
+    public boolean[] insertAllIfAbsent(List<CustomerEntity> customerEntities) {
+        SqlParameterSource[] batch = new SqlParameterSource[customerEntities.size()];
+        for (int i = 0; i < batch.length; i++) {
+            CustomerEntity customerEntity = customerEntities.get(i);
+            batch[i] = new MapSqlParameterSource()
+                .addValue("id", customerEntity.getId())
+                .addValue("name", customerEntity.getName())
+                .addValue("email", customerEntity.getEmail())
+                .addValue("phone", customerEntity.getPhone())
+                .addValue("cpf", customerEntity.getCpf());
+        }
+
+        int[] counts = namedParameterJdbcTemplate.batchUpdate(insertIfAbsent(), batch);
+        boolean[] inserted = new boolean[counts.length];
+        List<String> unknownCpfs = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            inserted[i] = counts[i] == 1;
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknownCpfs.add(customerEntities.get(i).getCpf());
+            }
+        }
+        if (!unknownCpfs.isEmpty()) {
+            Set<UUID> storedIds = new HashSet<>(jdbcClient.sql(FIND_IDS_BY_CPFS)
+                .param("cpfs", unknownCpfs.toArray(String[]::new))
+                .query(UUID.class)
+                .list());
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    inserted[i] = storedIds.contains(customerEntities.get(i).getId());
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private String insertIfAbsent() {
+        String sql = insertIfAbsent;
+        if (sql == null) {
+            String database = namedParameterJdbcTemplate.getJdbcTemplate()
+                .execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equals(database) ? INSERT_IF_ABSENT_ON_POSTGRESQL : INSERT_IF_ABSENT;
+            insertIfAbsent = sql;
+        }
+        return sql;
+    }
+
+    public Optional<CustomerView> findViewByCpf(String cpf) {
+        return jdbcClient.sql(FIND_VIEW_BY_CPF)
+            .param("cpf", cpf)
+            .query(CUSTOMER_VIEW)
+            .optional();
+    }
+
+    /**
+     * Reads only the validators of the customer, so answering a conditional request neither fetches
+     * nor maps the rest of the row.
+     */
+    public Optional<CustomerVersion> findVersionByCpf(String cpf) {
+        return jdbcClient.sql(FIND_VERSION_BY_CPF)
+            .param("cpf", cpf)
+            .query(CUSTOMER_VERSION)
+            .optional();
+    }
+
+    /**
+     * Binds the CPFs as one array parameter, so every batch size shares the same statement.
+     */
+    public List<CustomerView> findAllViewsByCpf(Collection<String> cpfs) {
+        return jdbcClient.sql(FIND_VIEWS_BY_CPFS)
+            .param("cpfs", cpfs.toArray(String[]::new))
+            .query(CUSTOMER_VIEW)
+            .list();
+    }
+
+    /**
+     * Lists which unique columns of the given customer are already taken by stored rows.
+     */
+    public List<CustomerUniqueKey> findConflicts(CustomerEntity customerEntity) {
+        List<CustomerUniqueKey> conflicts = new ArrayList<>(3);
+        jdbcClient.sql(FIND_CONFLICTS)
+            .param("cpf", customerEntity.getCpf())
+            .param("email", customerEntity.getEmail())
+            .param("phone", customerEntity.getPhone())
+            .query(resultSet -> {
+                addIfMatches(conflicts, CustomerUniqueKey.CPF, customerEntity.getCpf(), resultSet.getString("document_identifier"));
+                addIfMatches(conflicts, CustomerUniqueKey.EMAIL, customerEntity.getEmail(), resultSet.getString("email"));
+                addIfMatches(conflicts, CustomerUniqueKey.PHONE, customerEntity.getPhone(), resultSet.getString("phone"));
+            });
+        return conflicts;
+    }
+
+    private static void addIfMatches(List<CustomerUniqueKey> conflicts, CustomerUniqueKey key, String expected, String actual) {
+        if (expected != null && Objects.equals(expected, actual) && !conflicts.contains(key)) {
+            conflicts.add(key);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.commons.infrastructure.logging.StructuredLogValue;
+import br.com.postech.soat.commons.infrastructure.util.MaskUtil;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import java.util.UUID;
+
+/**
+ * Masked log representation of a {@link CustomerEntity} or {@link CustomerView}. Only the field references are captured,
+ * so the entity can change after the call and an async appender still renders what was logged.
+ */
+final class CustomerLogView extends StructuredLogValue {
+
+    private final UUID id;
+    private final String cpf;
+    private final String name;
+    private final String email;
+    private final String phone;
+
+    private CustomerLogView(UUID id, String cpf, String name, String email, String phone) {
+        this.id = id;
+        this.cpf = cpf;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+    }
+
+    static CustomerLogView of(CustomerEntity customerEntity) {
+        return new CustomerLogView(customerEntity.getId(), customerEntity.getCpf(), customerEntity.getName(),
+            customerEntity.getEmail(), customerEntity.getPhone());
+    }
+
+    static CustomerLogView of(CustomerView customerView) {
+        return new CustomerLogView(customerView.id(), customerView.cpf(), customerView.name(),
+            customerView.email(), customerView.phone());
+    }
+
+    @Override
+    protected void appendJson(StringBuilder out) {
+        beginObject(out);
+        field(out, "id", id);
+        maskedField(out, "cpf", cpf, MaskUtil::appendMaskedCpf);
+        field(out, "name", name);
+        maskedField(out, "email", email, MaskUtil::appendMaskedEmail);
+        maskedField(out, "phone", phone, MaskUtil::appendMaskedPhone);
+        endObject(out);
+    }
+}
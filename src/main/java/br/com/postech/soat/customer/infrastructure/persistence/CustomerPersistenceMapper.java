@@ -1,11 +1,6 @@
 package br.com.postech.soat.customer.infrastructure.persistence;
 
 import br.com.postech.soat.customer.domain.entity.Customer;
-import br.com.postech.soat.customer.domain.valueobject.CPF;
-import br.com.postech.soat.customer.domain.valueobject.CustomerId;
-import br.com.postech.soat.customer.domain.valueobject.Email;
-import br.com.postech.soat.customer.domain.valueobject.Name;
-import br.com.postech.soat.customer.domain.valueobject.Phone;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -20,14 +15,4 @@ public class CustomerPersistenceMapper {
             .phone(customer.getPhone().value())
             .build();
     }
-
-    public Customer toModel(CustomerEntity customerEntity) {
-        return Customer.reconstitute(
-            new CustomerId(customerEntity.getId()),
-            new Name(customerEntity.getName()),
-            new CPF(customerEntity.getCpf()),
-            new Email(customerEntity.getEmail()),
-            new Phone(customerEntity.getPhone())
-        );
-    }
 }
@@ -0,0 +1,99 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.cache.CachingCustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.cache.CustomerCacheProperties;
+import br.com.postech.soat.customer.infrastructure.persistence.coalescing.CoalescingCustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.coalescing.CustomerCoalescingProperties;
+import br.com.postech.soat.customer.infrastructure.persistence.groupcommit.CustomerGroupCommitProperties;
+import br.com.postech.soat.customer.infrastructure.persistence.groupcommit.GroupCommitCustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.groupcommit.GroupCommitWriter;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerCacheInvalidationProperties;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerInvalidationListener;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerInvalidationPublisher;
+import br.com.postech.soat.customer.infrastructure.persistence.routing.ReadYourWritesCustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.routing.RecentWrites;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+/**
+ * Assembles the {@link CustomerRepository} exposed to the application layer by wrapping
+ * {@link CustomerRepositoryImpl} with the decorators enabled under {@code customer.repository}.
+ */
+@Configuration
+@EnableConfigurationProperties({
+    CustomerCacheProperties.class,
+    CustomerGroupCommitProperties.class,
+    CustomerCoalescingProperties.class
+})
+@ConditionalOnProperty(prefix = "customer.repository.decorators", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerRepositoryConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "customer.repository.group-commit", name = "enabled", havingValue = "true")
+    public GroupCommitWriter groupCommitWriter(CustomerRepositoryImpl customerRepositoryImpl,
+                                               CustomerGroupCommitProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new GroupCommitWriter(customerRepositoryImpl, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public CustomerRepository decoratedCustomerRepository(CustomerRepositoryImpl customerRepositoryImpl,
+                                                          ObjectProvider<GroupCommitWriter> groupCommitWriter,
+                                                          ObjectProvider<RecentWrites> recentWrites,
+                                                          CustomerCoalescingProperties coalescingProperties,
+                                                          CustomerCacheProperties cacheProperties,
+                                                          MeterRegistry meterRegistry) {
+        CustomerRepository repository = customerRepositoryImpl;
+
+        GroupCommitWriter writer = groupCommitWriter.getIfAvailable();
+        if (writer != null) {
+            repository = new GroupCommitCustomerRepository(repository, writer);
+        }
+
+        RecentWrites writes = recentWrites.getIfAvailable();
+        if (writes != null) {
+            repository = new ReadYourWritesCustomerRepository(repository, writes, meterRegistry);
+        }
+
+        if (coalescingProperties.enabled()) {
+            repository = new CoalescingCustomerRepository(repository, coalescingProperties, meterRegistry);
+        }
+
+        if (cacheProperties.enabled()) {
+            repository = new CachingCustomerRepository(repository, cacheProperties, meterRegistry);
+        }
+
+        return repository;
+    }
+
+    /**
+     * Listens on a connection of its own, opened from {@code spring.datasource} outside the pool, so
+     * the session stays the same for as long as it is up and no pooled connection is held.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "customer.repository.cache", name = {"enabled", "invalidation.enabled"}, havingValue = "true")
+    public CustomerInvalidationListener customerInvalidationListener(CustomerRepository decoratedCustomerRepository,
+                                                                     CustomerInvalidationPublisher invalidationPublisher,
+                                                                     ObjectProvider<RecentWrites> recentWrites,
+                                                                     DataSourceProperties dataSourceProperties,
+                                                                     CustomerCacheInvalidationProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        if (!(decoratedCustomerRepository instanceof CachingCustomerRepository cache)) {
+            throw new IllegalStateException("The customer cache must be the outermost repository decorator");
+        }
+        SimpleDriverDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(SimpleDriverDataSource.class)
+            .build();
+        return new CustomerInvalidationListener(dataSource, cache, recentWrites.getIfAvailable(),
+            invalidationPublisher.origin(), properties, meterRegistry);
+    }
+}
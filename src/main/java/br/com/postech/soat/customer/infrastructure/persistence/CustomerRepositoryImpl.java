@@ -1,54 +1,166 @@
 package br.com.postech.soat.customer.infrastructure.persistence;
 
 import br.com.postech.soat.commons.infrastructure.aop.monitorable.Monitorable;
+import br.com.postech.soat.commons.infrastructure.logging.SamplingTurboFilter;
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
 import br.com.postech.soat.customer.application.repositories.CustomerRepository;
 import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.infrastructure.persistence.index.CpfIndex;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerInvalidationPublisher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-@Monitorable
+/**
+ * Registrations of a CPF already in the {@link CpfIndex} skip the insert: the conflict query confirms
+ * the CPF is still stored and reports every key that collides, as it would after a failed insert.
+ * Entries are added once their transaction commits and whenever a lookup finds the customer, and a
+ * CPF the query no longer finds is dropped from the index.
+ */
+@Monitorable("customer.repository")
 @Repository
 @RequiredArgsConstructor
 public class CustomerRepositoryImpl implements CustomerRepository {
 
     private final Logger logger = LoggerFactory.getLogger(CustomerRepositoryImpl.class);
 
-    private final CustomerJpaRepository customerJpaRepository;
+    private final CustomerJdbcRepository customerJdbcRepository;
     private final CustomerPersistenceMapper customerPersistenceMapper;
+    private final CustomerInvalidationPublisher invalidationPublisher;
+    private final CpfIndex cpfIndex;
 
     @Transactional
     @Override
-    public Customer save(final Customer customer) {
+    public RegistrationResult register(final Customer customer) {
         CustomerEntity customerEntity = customerPersistenceMapper.toEntity(customer);
-        customerEntity = customerJpaRepository.save(customerEntity);
 
-        logger.info("Customer saved : {}", customerEntity);
+        UUID indexedId = cpfIndex.get(customerEntity.getCpf());
+        if (indexedId != null) {
+            List<CustomerUniqueKey> conflicts = customerJdbcRepository.findConflicts(customerEntity);
+            if (conflicts.contains(CustomerUniqueKey.CPF)) {
+                logger.atInfo()
+                    .setMessage("Customer registration conflicted with indexed CPF")
+                    .addKeyValue("conflicts", conflicts)
+                    .addKeyValue("customerId", indexedId)
+                    .addKeyValue("customer", CustomerLogView.of(customerEntity))
+                    .log();
+                return RegistrationResult.conflicted(conflicts);
+            }
+            cpfIndex.remove(customerEntity.getCpf());
+        }
+
+        if (customerJdbcRepository.insertIfAbsent(customerEntity)) {
+            invalidationPublisher.publish(List.of(customerEntity.getCpf()));
+            indexAfterCommit(List.of(customerEntity));
+            logger.atInfo()
+                .setMessage("Customer registered")
+                .addKeyValue("customer", CustomerLogView.of(customerEntity))
+                .log();
+            return RegistrationResult.registered(customer);
+        }
+
+        List<CustomerUniqueKey> conflicts = customerJdbcRepository.findConflicts(customerEntity);
+        logger.atInfo()
+            .setMessage("Customer registration conflicted")
+            .addKeyValue("conflicts", conflicts)
+            .addKeyValue("customer", CustomerLogView.of(customerEntity))
+            .log();
+        return RegistrationResult.conflicted(conflicts);
+    }
+
+    @Transactional
+    @Override
+    public boolean[] registerAll(final List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return new boolean[0];
+        }
+
+        List<CustomerEntity> customerEntities = customers.stream()
+            .map(customerPersistenceMapper::toEntity)
+            .toList();
+        boolean[] registered = customerJdbcRepository.insertAllIfAbsent(customerEntities);
+
+        List<CustomerEntity> registeredEntities = new ArrayList<>(registered.length);
+        List<String> registeredCpfs = new ArrayList<>(registered.length);
+        for (int i = 0; i < registered.length; i++) {
+            if (registered[i]) {
+                registeredEntities.add(customerEntities.get(i));
+                registeredCpfs.add(customerEntities.get(i).getCpf());
+            }
+        }
+        invalidationPublisher.publish(registeredCpfs);
+        indexAfterCommit(registeredEntities);
+        logger.info("Customers registered in batch : {} of {}", registeredCpfs.size(), customers.size());
 
-        return customerPersistenceMapper.toModel(customerEntity);
+        return registered;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Runs as a single auto-committed statement; no entity is managed and nothing is validated again.
+     */
     @Override
-    public Optional<Customer> findByCpf(String cpf) {
-        var customerEntityOptional = customerJpaRepository.findByCpf(cpf);
+    public Optional<CustomerView> findViewByCpf(String cpf) {
+        Optional<CustomerView> customerView = customerJdbcRepository.findViewByCpf(cpf);
+        customerView.ifPresent(view -> cpfIndex.put(view.cpf(), view.id()));
+
+        if (customerView.isPresent() && logger.isInfoEnabled(SamplingTurboFilter.SAMPLED)) {
+            logger.atInfo()
+                .addMarker(SamplingTurboFilter.SAMPLED)
+                .setMessage("Customer searched")
+                .addKeyValue("customer", CustomerLogView.of(customerView.get()))
+                .log();
+        }
 
-        if (customerEntityOptional.isPresent()) {
-            var customerEntity = customerEntityOptional.get();
-            logger.info("Customer searched : {}", customerEntity);
+        return customerView;
+    }
 
-            return Optional.of(customerPersistenceMapper.toModel(customerEntity));
+    @Override
+    public List<CustomerView> findAllViewsByCpf(Collection<String> cpfs) {
+        if (cpfs.isEmpty()) {
+            return List.of();
         }
 
-        return Optional.empty();
+        List<CustomerView> customerViews = customerJdbcRepository.findAllViewsByCpf(cpfs);
+        customerViews.forEach(view -> cpfIndex.put(view.cpf(), view.id()));
+        logger.info("Customers searched : {} found of {}", customerViews.size(), cpfs.size());
+
+        return customerViews;
     }
 
-    @Transactional(readOnly = true)
     @Override
-    public boolean exists(String cpf, String email, String phone) {
-        return customerJpaRepository.existsByCpfOrEmailOrPhone(cpf, email, phone);
+    public Optional<CustomerVersion> findVersionByCpf(String cpf) {
+        return customerJdbcRepository.findVersionByCpf(cpf);
+    }
+
+    /**
+     * A rolled back registration must not leave its CPF behind, so entries wait for the commit.
+     */
+    private void indexAfterCommit(List<CustomerEntity> customerEntities) {
+        if (customerEntities.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            customerEntities.forEach(entity -> cpfIndex.put(entity.getCpf(), entity.getId()));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                customerEntities.forEach(entity -> cpfIndex.put(entity.getCpf(), entity.getId()));
+            }
+        });
     }
 }
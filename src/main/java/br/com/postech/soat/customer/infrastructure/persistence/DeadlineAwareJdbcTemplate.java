@@ -0,0 +1,26 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Caps the query timeout of each statement at the {@link QueryDeadline} of the calling thread, on
+ * top of the timeout configured here or taken from the current transaction.
+ */
+public class DeadlineAwareJdbcTemplate extends JdbcTemplate {
+
+    public DeadlineAwareJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        int queryTimeout = QueryDeadline.timeoutSeconds(stmt.getQueryTimeout());
+        if (queryTimeout != stmt.getQueryTimeout()) {
+            stmt.setQueryTimeout(queryTimeout);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reads {@code spring.flyway.enabled} again when the migrations are about to run. Without AOT the
+ * property already decides whether Flyway is configured at all, but an AOT build fixes that when
+ * its code is generated, and this keeps {@code FLYWAY_ENABLED=false} working for instances whose
+ * schema is migrated by a separate job and for the CDS training run, which has no database.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FlywayConfiguration {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                flyway.migrate();
+            }
+        };
+    }
+}
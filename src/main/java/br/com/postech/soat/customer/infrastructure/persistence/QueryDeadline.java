@@ -0,0 +1,78 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Per-thread deadline read by {@link DeadlineAwareJdbcTemplate} when it prepares a statement, so
+ * a caller that will stop waiting at a known instant does not leave its queries running on the
+ * database after that. Work whose result other callers share runs {@link #suspended(Supplier)},
+ * so one caller's deadline does not fail everybody else.
+ */
+public final class QueryDeadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private QueryDeadline() {
+    }
+
+    /**
+     * Runs the action with every statement it issues on this thread bounded by the time left until
+     * {@code remaining} from now. An enclosing scope with an earlier deadline keeps its own.
+     */
+    public static <T> T within(Duration remaining, Supplier<T> action) {
+        long deadline = System.nanoTime() + remaining.toNanos();
+        Long previous = CURRENT.get();
+        CURRENT.set(previous == null || deadline - previous < 0 ? deadline : previous);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs the action without the deadline of this thread, for a load that other callers wait on:
+     * its statements get the configured query timeout instead.
+     */
+    public static <T> T suspended(Supplier<T> action) {
+        Long previous = CURRENT.get();
+        if (previous == null) {
+            return action.get();
+        }
+
+        CURRENT.remove();
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * The query timeout for a statement issued now: the time left until the deadline, rounded up
+     * to whole seconds as JDBC counts them, or {@code queryTimeout} if that is shorter or no
+     * deadline is set. Zero means no timeout, as in {@link java.sql.Statement#setQueryTimeout(int)}.
+     *
+     * @throws QueryTimeoutException if the deadline has already passed
+     */
+    public static int timeoutSeconds(int queryTimeout) {
+        Long deadline = CURRENT.get();
+        if (deadline == null) {
+            return queryTimeout;
+        }
+
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new QueryTimeoutException("Deadline exceeded before the statement was sent");
+        }
+        long remaining = Math.min(Integer.MAX_VALUE, (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return queryTimeout > 0 ? Math.min(queryTimeout, (int) remaining) : (int) remaining;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.jdbc.JdbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Replaces the auto-configured {@link JdbcTemplate}, and with it the template behind
+ * {@code NamedParameterJdbcTemplate} and {@code JdbcClient}, with a {@link DeadlineAwareJdbcTemplate}
+ * configured from the same {@code spring.jdbc.template} properties.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(JdbcProperties.class)
+public class QueryDeadlineConfiguration {
+
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource, JdbcProperties properties) {
+        JdbcTemplate jdbcTemplate = new DeadlineAwareJdbcTemplate(dataSource);
+        JdbcProperties.Template template = properties.getTemplate();
+        jdbcTemplate.setFetchSize(template.getFetchSize());
+        jdbcTemplate.setMaxRows(template.getMaxRows());
+        if (template.getQueryTimeout() != null) {
+            jdbcTemplate.setQueryTimeout((int) template.getQueryTimeout().getSeconds());
+        }
+        return jdbcTemplate;
+    }
+}
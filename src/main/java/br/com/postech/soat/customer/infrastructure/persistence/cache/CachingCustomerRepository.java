@@ -0,0 +1,240 @@
+package br.com.postech.soat.customer.infrastructure.persistence.cache;
+
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.infrastructure.persistence.QueryDeadline;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Near-cache in front of the read-side lookups {@link CustomerRepository#findViewByCpf(String)} and
+ * {@link CustomerRepository#findAllViewsByCpf(Collection)}.
+ * <p>
+ * Found customers live for {@code ttl}; misses are cached for the shorter {@code negativeTtl}
+ * so repeated lookups of unknown CPFs stop reaching the database. Entries for a CPF are
+ * invalidated whenever a customer with that CPF is registered through this repository,
+ * and through {@link #invalidate(Collection)} when another replica writes it.
+ * <p>
+ * Loads run on the calling thread outside any cache lock: the pending lookup is published as a
+ * future that concurrent callers wait on, so a virtual thread blocked on JDBC never pins its
+ * carrier inside {@code ConcurrentHashMap.compute}. Invalidating a CPF while its load is in flight
+ * drops the pending entry, so the loaded value is returned to its callers but not cached. Since
+ * others may wait on it, a load runs without the {@link QueryDeadline} of the caller leading it.
+ * A caller waiting on another's load gives up after {@code loadTimeout} with a
+ * {@link QueryTimeoutException}.
+ */
+public class CachingCustomerRepository implements CustomerRepository {
+
+    static final String CACHE_NAME = "customers.by-cpf";
+
+    private final CustomerRepository delegate;
+    private final AsyncCache<String, Optional<CustomerView>> cache;
+    private final long loadTimeoutNanos;
+    private final Counter negativeHits;
+
+    public CachingCustomerRepository(CustomerRepository delegate, CustomerCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfter(new PositiveNegativeExpiry(properties.ttl().toNanos(), properties.negativeTtl().toNanos()))
+            .recordStats()
+            .buildAsync();
+        this.loadTimeoutNanos = properties.loadTimeout().toNanos();
+        this.negativeHits = Counter.builder("cache.negative.hits")
+            .tag("cache", CACHE_NAME)
+            .description("Lookups answered by a cached miss")
+            .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public RegistrationResult register(Customer customer) {
+        RegistrationResult result = delegate.register(customer);
+        if (result.isRegistered()) {
+            cache.synchronous().invalidate(result.customer().getCpf().value());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean[] registerAll(List<Customer> customers) {
+        boolean[] registered = delegate.registerAll(customers);
+        for (int i = 0; i < registered.length; i++) {
+            if (registered[i]) {
+                cache.synchronous().invalidate(customers.get(i).getCpf().value());
+            }
+        }
+        return registered;
+    }
+
+    @Override
+    public Optional<CustomerView> findViewByCpf(String cpf) {
+        CompletableFuture<Optional<CustomerView>> cached = cache.getIfPresent(cpf);
+        if (cached != null) {
+            Optional<CustomerView> customer = join(cached);
+            if (customer.isEmpty()) {
+                negativeHits.increment();
+            }
+            return customer;
+        }
+
+        CompletableFuture<Optional<CustomerView>> pending = new CompletableFuture<>();
+        CompletableFuture<Optional<CustomerView>> inFlight = cache.asMap().putIfAbsent(cpf, pending);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+
+        try {
+            Optional<CustomerView> customer = QueryDeadline.suspended(() -> delegate.findViewByCpf(cpf));
+            pending.complete(customer);
+            return customer;
+        } catch (Throwable e) {
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Serves cached CPFs directly and loads only the remaining ones, in a single delegate call.
+     * Each of those is first published as a pending entry, as in single lookups, so concurrent
+     * callers wait on this load, and an invalidation that lands while it runs drops the entry
+     * instead of being overwritten by the loaded value. Loaded customers and CPFs still missing are
+     * cached the same way as single lookups.
+     */
+    @Override
+    public List<CustomerView> findAllViewsByCpf(Collection<String> cpfs) {
+        Map<String, CompletableFuture<Optional<CustomerView>>> lookups = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Optional<CustomerView>>> pending = new LinkedHashMap<>();
+        Set<String> cached = new HashSet<>();
+
+        for (String cpf : cpfs) {
+            if (lookups.containsKey(cpf)) {
+                continue;
+            }
+            CompletableFuture<Optional<CustomerView>> future = cache.getIfPresent(cpf);
+            if (future != null) {
+                cached.add(cpf);
+            } else {
+                CompletableFuture<Optional<CustomerView>> load = new CompletableFuture<>();
+                future = cache.asMap().putIfAbsent(cpf, load);
+                if (future == null) {
+                    future = load;
+                    pending.put(cpf, load);
+                }
+            }
+            lookups.put(cpf, future);
+        }
+
+        if (!pending.isEmpty()) {
+            load(pending);
+        }
+
+        List<CustomerView> found = new ArrayList<>(lookups.size());
+        lookups.forEach((cpf, future) -> {
+            Optional<CustomerView> customer = join(future);
+            if (customer.isPresent()) {
+                found.add(customer.get());
+            } else if (cached.contains(cpf)) {
+                negativeHits.increment();
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Answered from a cached view when there is one; the validators are not cached on their own.
+     */
+    @Override
+    public Optional<CustomerVersion> findVersionByCpf(String cpf) {
+        CompletableFuture<Optional<CustomerView>> cached = cache.getIfPresent(cpf);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            return cached.join().map(CustomerView::toVersion);
+        }
+
+        return delegate.findVersionByCpf(cpf);
+    }
+
+    /**
+     * Drops the entries of CPFs written elsewhere; a load of one of them already in flight is not cached.
+     */
+    public void invalidate(Collection<String> cpfs) {
+        cache.synchronous().invalidateAll(cpfs);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private void load(Map<String, CompletableFuture<Optional<CustomerView>>> pending) {
+        try {
+            Map<String, CustomerView> loaded = new HashMap<>();
+            List<CustomerView> customers = QueryDeadline.suspended(() -> delegate.findAllViewsByCpf(List.copyOf(pending.keySet())));
+            for (CustomerView customer : customers) {
+                loaded.put(customer.cpf(), customer);
+            }
+            pending.forEach((cpf, future) -> future.complete(Optional.ofNullable(loaded.get(cpf))));
+        } catch (Throwable e) {
+            pending.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private Optional<CustomerView> join(CompletableFuture<Optional<CustomerView>> future) {
+        try {
+            return future.get(loadTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Timed out waiting for a customer lookup already in flight", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a customer lookup already in flight");
+        }
+    }
+
+    private record PositiveNegativeExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, Optional<CustomerView>> {
+
+        @Override
+        public long expireAfterCreate(String key, Optional<CustomerView> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<CustomerView> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<CustomerView> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.postech.soat.customer.infrastructure.persistence.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer.repository.cache")
+public record CustomerCacheProperties(boolean enabled, long maximumSize, Duration ttl, Duration negativeTtl, Duration loadTimeout) {
+}
@@ -0,0 +1,92 @@
+package br.com.postech.soat.customer.infrastructure.persistence.coalescing;
+
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces concurrent lookups of the same CPF: overlapping {@link #findViewByCpf(String)} and
+ * {@link #findVersionByCpf(String)} calls share one delegate
+ * call through a {@link SingleFlight}. Nothing is kept once the call returns, so this helps with
+ * bursts for one customer whether or not a cache sits in front of it.
+ * <p>
+ * Registering a customer detaches the lookup in flight for its CPF, so a call made after
+ * the write never joins a read that started before it.
+ */
+public class CoalescingCustomerRepository implements CustomerRepository {
+
+    private final CustomerRepository delegate;
+    private final SingleFlight<String, Optional<CustomerView>> views;
+    private final SingleFlight<String, Optional<CustomerVersion>> versions;
+    private final Consumer<SingleFlight.Role> lookups;
+
+    public CoalescingCustomerRepository(CustomerRepository delegate, CustomerCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.views = new SingleFlight<>(properties.maxInFlight(), properties.timeout().toNanos());
+        this.versions = new SingleFlight<>(properties.maxInFlight(), properties.timeout().toNanos());
+
+        Map<SingleFlight.Role, Counter> counters = new EnumMap<>(SingleFlight.Role.class);
+        for (SingleFlight.Role role : SingleFlight.Role.values()) {
+            counters.put(role, Counter.builder("customer.lookups.coalescing")
+                .tag("role", role.name().toLowerCase())
+                .register(meterRegistry));
+        }
+        this.lookups = role -> counters.get(role).increment();
+
+        Gauge.builder("customer.lookups.in-flight", this,
+                repository -> repository.views.inFlight() + repository.versions.inFlight())
+            .description("CPF lookups currently shared by concurrent callers")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public RegistrationResult register(Customer customer) {
+        RegistrationResult result = delegate.register(customer);
+        if (result.isRegistered()) {
+            forget(result.customer().getCpf().value());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean[] registerAll(List<Customer> customers) {
+        boolean[] registered = delegate.registerAll(customers);
+        for (int i = 0; i < registered.length; i++) {
+            if (registered[i]) {
+                forget(customers.get(i).getCpf().value());
+            }
+        }
+        return registered;
+    }
+
+    @Override
+    public Optional<CustomerView> findViewByCpf(String cpf) {
+        return views.call(cpf, () -> delegate.findViewByCpf(cpf), lookups);
+    }
+
+    @Override
+    public List<CustomerView> findAllViewsByCpf(Collection<String> cpfs) {
+        return delegate.findAllViewsByCpf(cpfs);
+    }
+
+    @Override
+    public Optional<CustomerVersion> findVersionByCpf(String cpf) {
+        return versions.call(cpf, () -> delegate.findVersionByCpf(cpf), lookups);
+    }
+
+    private void forget(String cpf) {
+        views.forget(cpf);
+        versions.forget(cpf);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.postech.soat.customer.infrastructure.persistence.coalescing;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer.repository.coalescing")
+public record CustomerCoalescingProperties(boolean enabled, int maxInFlight, Duration timeout) {
+}
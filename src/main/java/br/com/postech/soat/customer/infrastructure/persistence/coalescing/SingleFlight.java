@@ -0,0 +1,113 @@
+package br.com.postech.soat.customer.infrastructure.persistence.coalescing;
+
+import br.com.postech.soat.customer.infrastructure.persistence.QueryDeadline;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Lets concurrent calls for the same key share one execution of the loader.
+ * <p>
+ * The first caller for a key publishes a pending future and runs the loader on its own thread;
+ * callers arriving while it runs wait on that future and receive the same value or exception, so
+ * the loader runs without the {@link QueryDeadline} of the caller that happens to lead. The
+ * entry is removed as soon as the load ends, whatever the outcome, so nothing is cached: a call
+ * arriving afterwards starts a new load.
+ * <p>
+ * At most {@code maxInFlight} keys are tracked; beyond that callers load on their own. A waiter
+ * gives up after {@code timeout} with a {@link QueryTimeoutException} and an interrupted waiter
+ * stops waiting, both without affecting the load or the other waiters.
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Outcome of a call, for metrics.
+     */
+    public enum Role {
+        LEADER,
+        SHARED,
+        OVERFLOW
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final long timeoutNanos;
+
+    public SingleFlight(int maxInFlight, long timeoutNanos) {
+        this.maxInFlight = maxInFlight;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Runs the loader, or waits for the run already in flight for the key, and reports to the
+     * observer which of the two happened.
+     */
+    public V call(K key, Supplier<V> loader, Consumer<Role> observer) {
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) {
+            observer.accept(Role.SHARED);
+            return await(existing);
+        }
+
+        if (inFlight.size() >= maxInFlight) {
+            observer.accept(Role.OVERFLOW);
+            return loader.get();
+        }
+
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            observer.accept(Role.SHARED);
+            return await(existing);
+        }
+
+        observer.accept(Role.LEADER);
+        try {
+            V value = QueryDeadline.suspended(loader);
+            pending.complete(value);
+            return value;
+        } catch (Throwable e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * Detaches the load in flight for the key, if any, so the next call starts a new one. Its
+     * current waiters still receive its result.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Timed out waiting for a lookup already in flight", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a lookup already in flight");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.postech.soat.customer.infrastructure.persistence.groupcommit;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer.repository.group-commit")
+public record CustomerGroupCommitProperties(boolean enabled, int maxBatchSize, Duration maxDelay, Duration maxWait) {
+}
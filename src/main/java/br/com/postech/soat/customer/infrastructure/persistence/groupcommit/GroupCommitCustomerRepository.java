@@ -0,0 +1,54 @@
+package br.com.postech.soat.customer.infrastructure.persistence.groupcommit;
+
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sends registrations through a {@link GroupCommitWriter}, so concurrent callers share one
+ * transaction and commit. A customer the batch did not store is registered again on its own, which
+ * reports the unique keys it conflicts with; every other operation goes straight to the delegate.
+ */
+public class GroupCommitCustomerRepository implements CustomerRepository {
+
+    private final CustomerRepository delegate;
+    private final GroupCommitWriter writer;
+
+    public GroupCommitCustomerRepository(CustomerRepository delegate, GroupCommitWriter writer) {
+        this.delegate = delegate;
+        this.writer = writer;
+    }
+
+    @Override
+    public RegistrationResult register(Customer customer) {
+        if (writer.register(customer)) {
+            return RegistrationResult.registered(customer);
+        }
+        return delegate.register(customer);
+    }
+
+    @Override
+    public boolean[] registerAll(List<Customer> customers) {
+        return delegate.registerAll(customers);
+    }
+
+    @Override
+    public Optional<CustomerView> findViewByCpf(String cpf) {
+        return delegate.findViewByCpf(cpf);
+    }
+
+    @Override
+    public List<CustomerView> findAllViewsByCpf(Collection<String> cpfs) {
+        return delegate.findAllViewsByCpf(cpfs);
+    }
+
+    @Override
+    public Optional<CustomerVersion> findVersionByCpf(String cpf) {
+        return delegate.findVersionByCpf(cpf);
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.postech.soat.customer.infrastructure.persistence.groupcommit;
+
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Gathers concurrent registrations and writes them with one {@link CustomerRepository#registerAll(List)}
+ * call, so they share a single transaction and commit.
+ * <p>
+ * Callers append to a lock-free queue and wait for their own outcome. A single writer thread takes
+ * the oldest registration and keeps collecting until the batch holds {@code maxBatchSize} customers
+ * or {@code maxDelay} has passed since that registration arrived, which bounds the time a caller
+ * spends queued. A caller waits at most {@code maxWait} for its batch; if the writer thread dies
+ * or the writer is closed, every registration it still holds is released to be registered on its
+ * own.
+ */
+public class GroupCommitWriter implements AutoCloseable {
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    private final Logger logger = LoggerFactory.getLogger(GroupCommitWriter.class);
+
+    private final CustomerRepository delegate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long maxWaitNanos;
+    private final ConcurrentLinkedQueue<PendingRegistration> queue = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private final DistributionSummary batchSizes;
+    private final Counter failedBatches;
+
+    private volatile boolean running = true;
+
+    public GroupCommitWriter(CustomerRepository delegate, CustomerGroupCommitProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxBatchSize = properties.maxBatchSize();
+        this.maxDelayNanos = properties.maxDelay().toNanos();
+        this.maxWaitNanos = properties.maxWait().toNanos();
+        this.batchSizes = DistributionSummary.builder("customer.group-commit.batch.size")
+            .description("Registrations written per commit")
+            .register(meterRegistry);
+        this.failedBatches = Counter.builder("customer.group-commit.batch.failures")
+            .register(meterRegistry);
+        this.writer = new Thread(this::run, "customer-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues the customer for the next batch and waits for it to be written.
+     *
+     * @return {@code true} if the customer was registered; {@code false} if it was not, either
+     * because one of its unique keys is taken or because the batch failed, in which case the caller
+     * registers it on its own to learn the outcome
+     * @throws QueryTimeoutException if the batch holding the customer was being written but did not
+     * finish within {@code maxWait}, so whether the customer was stored is unknown
+     */
+    public boolean register(Customer customer) {
+        if (!running) {
+            return false;
+        }
+
+        PendingRegistration pending = new PendingRegistration(customer, System.nanoTime());
+        queue.offer(pending);
+        LockSupport.unpark(writer);
+
+        if (!running && queue.remove(pending)) {
+            return false;
+        }
+        return await(pending);
+    }
+
+    private boolean await(PendingRegistration pending) {
+        try {
+            return pending.registered.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                return false;
+            }
+            throw new QueryTimeoutException("Group commit did not finish within " + Duration.ofNanos(maxWaitNanos), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (queue.remove(pending)) {
+                return false;
+            }
+            throw new QueryTimeoutException("Interrupted while waiting for the group commit", e);
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stops taking registrations and waits for the writer thread to finish the ones it holds.
+     * Registrations still queued after that are released to be registered on their own.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        releaseQueued();
+    }
+
+    private void run() {
+        List<PendingRegistration> batch = new ArrayList<>(maxBatchSize);
+        try {
+            collectAndWrite(batch);
+        } finally {
+            running = false;
+            for (PendingRegistration pending : batch) {
+                pending.registered.complete(false);
+            }
+            releaseQueued();
+        }
+    }
+
+    private void releaseQueued() {
+        PendingRegistration pending;
+        while ((pending = queue.poll()) != null) {
+            pending.registered.complete(false);
+        }
+    }
+
+    private void collectAndWrite(List<PendingRegistration> batch) {
+        while (running || !queue.isEmpty()) {
+            PendingRegistration first = queue.poll();
+            if (first == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            batch.add(first);
+            long deadline = first.enqueuedAt + maxDelayNanos;
+            while (batch.size() < maxBatchSize) {
+                PendingRegistration next = queue.poll();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingRegistration> batch) {
+        batchSizes.record(batch.size());
+
+        List<Customer> customers = new ArrayList<>(batch.size());
+        for (PendingRegistration pending : batch) {
+            customers.add(pending.customer);
+        }
+
+        boolean[] registered;
+        try {
+            registered = delegate.registerAll(customers);
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            logger.warn("Group commit of {} registrations failed, callers will register individually", batch.size(), e);
+            registered = new boolean[batch.size()];
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).registered.complete(registered[i]);
+        }
+    }
+
+    private record PendingRegistration(Customer customer, long enqueuedAt, CompletableFuture<Boolean> registered) {
+
+        private PendingRegistration(Customer customer, long enqueuedAt) {
+            this(customer, enqueuedAt, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.postech.soat.customer.infrastructure.persistence.index;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-process CPF to customer id index.
+ * <p>
+ * A normalized CPF has 11 digits, so it is stored as a {@code long} key. Entries live in two
+ * primitive arrays with linear probing: {@code keys[slot]} and the UUID halves at
+ * {@code ids[2 * slot]} and {@code ids[2 * slot + 1]}. Each entry costs 24 bytes of payload,
+ * with no per-entry objects for the collector to trace.
+ * <p>
+ * The table is sized once for {@code capacity} entries and never grows; once full, new CPFs are
+ * rejected and counted. Reads are optimistic and retry under the read lock only when they race with
+ * a write, and putting a CPF already indexed with the same id takes no lock at all.
+ */
+public class CpfIndex implements MeterBinder {
+
+    static final long NO_KEY = -1L;
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 30;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final StampedLock lock = new StampedLock();
+    private final long[] keys;
+    private final long[] ids;
+    private final int capacity;
+    private final LongAdder rejected = new LongAdder();
+    private int size;
+
+    public CpfIndex(int capacity) {
+        int tableSize = tableSizeFor((int) Math.min(MAXIMUM_TABLE_SIZE, (long) (capacity / LOAD_FACTOR) + 1));
+        this.keys = new long[tableSize];
+        this.ids = new long[tableSize << 1];
+        this.capacity = (int) Math.min(capacity, (long) (tableSize * LOAD_FACTOR));
+        Arrays.fill(keys, NO_KEY);
+    }
+
+    /**
+     * Converts a normalized CPF into its index key, or {@link #NO_KEY} if it is not exactly 11 digits.
+     */
+    public static long toKey(String cpf) {
+        if (cpf == null || cpf.length() != 11) {
+            return NO_KEY;
+        }
+
+        long key = 0;
+        for (int i = 0; i < 11; i++) {
+            int digit = cpf.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NO_KEY;
+            }
+            key = key * 10 + digit;
+        }
+        return key;
+    }
+
+    /**
+     * Indexes the CPF, replacing the id it had.
+     *
+     * @return {@code false} if the CPF is malformed or new and the index is full
+     */
+    public boolean put(String cpf, UUID id) {
+        long key = toKey(cpf);
+        if (key == NO_KEY) {
+            return false;
+        }
+        if (id.equals(get(key))) {
+            return true;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = findSlot(key);
+            if (slot < 0) {
+                if (size >= capacity) {
+                    rejected.increment();
+                    return false;
+                }
+                slot = freeSlot(key);
+                keys[slot] = key;
+                size++;
+            }
+            ids[slot << 1] = id.getMostSignificantBits();
+            ids[(slot << 1) + 1] = id.getLeastSignificantBits();
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the id indexed for the CPF, or {@code null} when the CPF has not been indexed.
+     */
+    public UUID get(String cpf) {
+        long key = toKey(cpf);
+        return key == NO_KEY ? null : get(key);
+    }
+
+    /**
+     * Drops the CPF, shifting back the entries probed past it so that lookups still reach them.
+     */
+    public void remove(String cpf) {
+        long key = toKey(cpf);
+        if (key == NO_KEY) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = findSlot(key);
+            if (slot < 0) {
+                return;
+            }
+            int mask = keys.length - 1;
+            int next = (slot + 1) & mask;
+            while (keys[next] != NO_KEY) {
+                int home = slot(keys[next], mask);
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    keys[slot] = keys[next];
+                    ids[slot << 1] = ids[next << 1];
+                    ids[(slot << 1) + 1] = ids[(next << 1) + 1];
+                    slot = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[slot] = NO_KEY;
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long memoryBytes() {
+        return (long) keys.length * Long.BYTES + (long) ids.length * Long.BYTES;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("customer.cpf.index.size", this, CpfIndex::size)
+            .register(registry);
+        Gauge.builder("customer.cpf.index.memory", this, CpfIndex::memoryBytes)
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("customer.cpf.index.capacity", this, index -> index.capacity)
+            .register(registry);
+        FunctionCounter.builder("customer.cpf.index.rejected", rejected, LongAdder::sum)
+            .description("CPFs left out because the index was full")
+            .register(registry);
+    }
+
+    private UUID get(long key) {
+        long stamp = lock.tryOptimisticRead();
+        UUID id = find(key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = find(key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id;
+    }
+
+    private UUID find(long key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : new UUID(ids[slot << 1], ids[(slot << 1) + 1]);
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (int probes = 0; probes < keys.length; probes++) {
+            long candidate = keys[slot];
+            if (candidate == NO_KEY) {
+                return -1;
+            }
+            if (candidate == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int freeSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != NO_KEY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int size) {
+        return Math.max(16, Integer.highestOneBit(size - 1) << 1);
+    }
+}
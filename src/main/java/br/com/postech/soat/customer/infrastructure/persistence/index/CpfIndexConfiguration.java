@@ -0,0 +1,19 @@
+package br.com.postech.soat.customer.infrastructure.persistence.index;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The index is read by {@code CustomerRepositoryImpl} itself, so it is created whatever decorators
+ * are enabled. Its table is allocated up front; the default million entries take about 50 MB.
+ */
+@Configuration
+@EnableConfigurationProperties(CpfIndexProperties.class)
+public class CpfIndexConfiguration {
+
+    @Bean
+    public CpfIndex cpfIndex(CpfIndexProperties properties) {
+        return new CpfIndex(properties.capacity());
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.postech.soat.customer.infrastructure.persistence.index;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer.repository.cpf-index")
+public record CpfIndexProperties(int capacity) {
+}
@@ -0,0 +1,24 @@
+package br.com.postech.soat.customer.infrastructure.persistence.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Publishes the CPFs written through {@code CustomerRepositoryImpl} whatever decorators are enabled
+ * here, since the replicas that cache them may be configured differently. The listener is part of
+ * the decorator chain assembled in {@code CustomerRepositoryConfiguration}.
+ */
+@Configuration
+@EnableConfigurationProperties(CustomerCacheInvalidationProperties.class)
+public class CustomerCacheInvalidationConfiguration {
+
+    @Bean
+    public CustomerInvalidationPublisher customerInvalidationPublisher(JdbcTemplate jdbcTemplate,
+                                                                       CustomerCacheInvalidationProperties properties,
+                                                                       MeterRegistry meterRegistry) {
+        return new CustomerInvalidationPublisher(jdbcTemplate, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.postech.soat.customer.infrastructure.persistence.invalidation;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer.repository.cache.invalidation")
+public record CustomerCacheInvalidationProperties(boolean enabled,
+                                                  String channel,
+                                                  Duration pollInterval,
+                                                  Duration reconnectBackoff,
+                                                  Duration maxReconnectBackoff) {
+}
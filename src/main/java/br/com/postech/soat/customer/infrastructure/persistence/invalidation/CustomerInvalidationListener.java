@@ -0,0 +1,211 @@
+package br.com.postech.soat.customer.infrastructure.persistence.invalidation;
+
+import br.com.postech.soat.customer.infrastructure.persistence.cache.CachingCustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.routing.RecentWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Evicts from the local cache the CPFs that other replicas announce through
+ * {@link CustomerInvalidationPublisher}.
+ * <p>
+ * Listens on a dedicated connection, outside the pool, waiting up to {@code pollInterval} for
+ * notifications and checking the connection whenever none arrive. Once the connection is lost it
+ * reconnects with exponential backoff, from {@code reconnectBackoff} up to {@code maxReconnectBackoff}.
+ * PostgreSQL does not queue notifications for a session that is not listening, so every time
+ * {@code LISTEN} succeeds the whole cache is dropped; until then cached entries are served for at
+ * most their {@code ttl}.
+ * <p>
+ * With read replicas, evicted CPFs are also recorded in {@link RecentWrites}, so the entry is
+ * reloaded from the primary rather than from a replica that may not have replayed the write yet.
+ * A resync after (re)connecting records nothing: entries reloaded then can be as old as the
+ * replication lag that {@code ReadReplicas} tolerates, as any other replica read.
+ */
+public class CustomerInvalidationListener implements SmartLifecycle {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final Logger logger = LoggerFactory.getLogger(CustomerInvalidationListener.class);
+
+    private final DataSource dataSource;
+    private final CachingCustomerRepository cache;
+    private final RecentWrites recentWrites;
+    private final String origin;
+    private final String channel;
+    private final int pollIntervalMillis;
+    private final long reconnectBackoffMillis;
+    private final long maxReconnectBackoffMillis;
+    private final Timer lag;
+    private final Counter received;
+    private final Counter resyncs;
+    private final Counter connectionFailures;
+
+    private volatile boolean connected;
+    private volatile Thread thread;
+
+    public CustomerInvalidationListener(DataSource dataSource,
+                                        CachingCustomerRepository cache,
+                                        RecentWrites recentWrites,
+                                        String origin,
+                                        CustomerCacheInvalidationProperties properties,
+                                        MeterRegistry meterRegistry) {
+        if (!CHANNEL.matcher(properties.channel()).matches()) {
+            throw new IllegalArgumentException("customer.repository.cache.invalidation.channel must be a lower case identifier: "
+                + properties.channel());
+        }
+        this.dataSource = dataSource;
+        this.cache = cache;
+        this.recentWrites = recentWrites;
+        this.origin = origin;
+        this.channel = properties.channel();
+        this.pollIntervalMillis = (int) properties.pollInterval().toMillis();
+        this.reconnectBackoffMillis = properties.reconnectBackoff().toMillis();
+        this.maxReconnectBackoffMillis = properties.maxReconnectBackoff().toMillis();
+        this.lag = Timer.builder("customer.cache.invalidation.lag")
+            .description("Time from a write on another replica to the eviction of its CPFs here")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        this.received = Counter.builder("customer.cache.invalidation.received")
+            .description("CPFs evicted on notice from another replica")
+            .register(meterRegistry);
+        this.resyncs = Counter.builder("customer.cache.invalidation.resyncs")
+            .description("Times the whole cache was dropped after the listener (re)connected")
+            .register(meterRegistry);
+        this.connectionFailures = Counter.builder("customer.cache.invalidation.connection.failures")
+            .description("Listener connections that could not be opened or were lost")
+            .register(meterRegistry);
+        Gauge.builder("customer.cache.invalidation.connected", this, listener -> listener.connected ? 1 : 0)
+            .description("Whether the listener is currently listening for invalidations")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        Thread listener = new Thread(this::run, "customer-cache-invalidation-listener");
+        listener.setDaemon(true);
+        thread = listener;
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread listener = thread;
+        thread = null;
+        if (listener == null) {
+            return;
+        }
+        listener.interrupt();
+        try {
+            listener.join(pollIntervalMillis + 1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    boolean isConnected() {
+        return connected;
+    }
+
+    void run() {
+        long backoffMillis = reconnectBackoffMillis;
+        while (thread != null) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    logger.warn("Database is not PostgreSQL, customer cache invalidations from other replicas are not received");
+                    return;
+                }
+                listen(connection);
+                backoffMillis = reconnectBackoffMillis;
+                receive(connection.unwrap(PGConnection.class), connection);
+            } catch (SQLException e) {
+                connected = false;
+                if (thread == null) {
+                    return;
+                }
+                connectionFailures.increment();
+                logger.warn("Customer cache invalidation listener disconnected, reconnecting in {}ms", backoffMillis, e);
+                if (!sleep(backoffMillis)) {
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, maxReconnectBackoffMillis);
+            } finally {
+                connected = false;
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        connected = true;
+        cache.invalidateAll();
+        resyncs.increment();
+        logger.info("Listening for customer cache invalidations on channel {}", channel);
+    }
+
+    private void receive(PGConnection pgConnection, Connection connection) throws SQLException {
+        while (thread != null) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollIntervalMillis);
+            if (notifications == null || notifications.length == 0) {
+                if (!connection.isValid((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(pollIntervalMillis)))) {
+                    throw new SQLException("Customer cache invalidation connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                evict(notification.getParameter());
+            }
+        }
+    }
+
+    void evict(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.parse(payload);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring customer cache invalidation", e);
+            return;
+        }
+        if (origin.equals(message.origin())) {
+            return;
+        }
+
+        if (recentWrites != null) {
+            message.cpfs().forEach(recentWrites::record);
+        }
+        cache.invalidate(message.cpfs());
+        received.increment(message.cpfs().size());
+        lag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - message.sentAt())));
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
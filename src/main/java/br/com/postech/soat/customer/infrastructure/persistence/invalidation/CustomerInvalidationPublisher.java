@@ -0,0 +1,65 @@
+package br.com.postech.soat.customer.infrastructure.persistence.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.UUID;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Announces the CPFs a write changed to the other replicas, through {@code pg_notify} on the
+ * connection of the current transaction. PostgreSQL delivers the notification only once that
+ * transaction commits, and drops it on rollback, so listeners never evict ahead of the data.
+ * <p>
+ * Does nothing when disabled or when the connection is not PostgreSQL's.
+ */
+public class CustomerInvalidationPublisher {
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final String origin = UUID.randomUUID().toString();
+    private final Counter published;
+
+    public CustomerInvalidationPublisher(JdbcTemplate jdbcTemplate, CustomerCacheInvalidationProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = properties.enabled();
+        this.channel = properties.channel();
+        this.published = Counter.builder("customer.cache.invalidation.published")
+            .description("CPFs announced to the other replicas as changed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Identifies this instance in the messages it sends, so its own listener can skip them.
+     */
+    public String origin() {
+        return origin;
+    }
+
+    public void publish(Collection<String> cpfs) {
+        if (!enabled || cpfs.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return null;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(NOTIFY)) {
+                for (InvalidationMessage message : InvalidationMessage.of(origin, System.currentTimeMillis(), cpfs)) {
+                    statement.setString(1, channel);
+                    statement.setString(2, message.encode());
+                    statement.execute();
+                }
+            }
+            published.increment(cpfs.size());
+            return null;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.postech.soat.customer.infrastructure.persistence.invalidation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Payload of a NOTIFY on the invalidation channel: the instance that wrote, when it wrote, in epoch
+ * milliseconds, and the changed CPFs, encoded as {@code origin;sentAt;cpf,cpf,...}.
+ * <p>
+ * PostgreSQL rejects payloads of 8000 bytes or more, so a write touching many CPFs is sent as
+ * several messages of at most {@link #MAX_CPFS} each.
+ */
+record InvalidationMessage(String origin, long sentAt, List<String> cpfs) {
+
+    static final int MAX_CPFS = 500;
+
+    static List<InvalidationMessage> of(String origin, long sentAt, Collection<String> cpfs) {
+        List<String> all = List.copyOf(cpfs);
+        List<InvalidationMessage> messages = new ArrayList<>(all.size() / MAX_CPFS + 1);
+        for (int from = 0; from < all.size(); from += MAX_CPFS) {
+            messages.add(new InvalidationMessage(origin, sentAt, all.subList(from, Math.min(from + MAX_CPFS, all.size()))));
+        }
+        return messages;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the payload was not written by {@link #encode()}
+     */
+    static InvalidationMessage parse(String payload) {
+        String[] parts = payload.split(";", 3);
+        if (parts.length != 3 || parts[0].isEmpty() || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Malformed invalidation payload: " + payload);
+        }
+        try {
+            return new InvalidationMessage(parts[0], Long.parseLong(parts[1]), Arrays.asList(parts[2].split(",")));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed invalidation payload: " + payload, e);
+        }
+    }
+
+    String encode() {
+        return origin + ';' + sentAt + ';' + String.join(",", cpfs);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.postech.soat.customer.infrastructure.persistence.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Announces the CPFs written through the R2DBC adapter to the replicas that cache them, in the
+ * same messages as {@link CustomerInvalidationPublisher}.
+ * <p>
+ * R2DBC statements commit on their own, so the notification goes out right after the write has
+ * committed, on whatever pooled connection is free. If it cannot be sent the write still stands;
+ * the failure is logged and the other replicas serve their cached entry for at most its
+ * {@code ttl}.
+ * <p>
+ * Does nothing when disabled or when the database is not PostgreSQL.
+ */
+public class R2dbcInvalidationPublisher {
+
+    private static final String NOTIFY = "SELECT pg_notify(:channel, :payload)";
+
+    private final Logger logger = LoggerFactory.getLogger(R2dbcInvalidationPublisher.class);
+
+    private final DatabaseClient databaseClient;
+    private final boolean enabled;
+    private final String channel;
+    private final String origin = UUID.randomUUID().toString();
+    private final Counter published;
+
+    public R2dbcInvalidationPublisher(DatabaseClient databaseClient, CustomerCacheInvalidationProperties properties, MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.enabled = properties.enabled()
+            && "PostgreSQL".equals(databaseClient.getConnectionFactory().getMetadata().getName());
+        this.channel = properties.channel();
+        this.published = Counter.builder("customer.cache.invalidation.published")
+            .description("CPFs announced to the other replicas as changed")
+            .register(meterRegistry);
+    }
+
+    public Mono<Void> publish(Collection<String> cpfs) {
+        if (!enabled || cpfs.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Flux.defer(() -> Flux.fromIterable(InvalidationMessage.of(origin, System.currentTimeMillis(), cpfs)))
+            .concatMap(message -> databaseClient.sql(NOTIFY)
+                .bind("channel", channel)
+                .bind("payload", message.encode())
+                .then())
+            .then(Mono.<Void>fromRunnable(() -> published.increment(cpfs.size())))
+            .onErrorResume(e -> {
+                logger.warn("Could not announce {} written CPFs to the other replicas", cpfs.size(), e);
+                return Mono.empty();
+            });
+    }
+}
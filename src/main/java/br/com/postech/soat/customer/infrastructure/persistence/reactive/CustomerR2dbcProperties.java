@@ -0,0 +1,12 @@
+package br.com.postech.soat.customer.infrastructure.persistence.reactive;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection settings for {@link R2dbcCustomerRepository}. The pool size bounds concurrent
+ * queries, so it plays the part Hikari plays for the servlet stack.
+ */
+@ConfigurationProperties(prefix = "customer.r2dbc")
+public record CustomerR2dbcProperties(String url, String username, String password, int maxSize, Duration maxAcquireTime) {
+}
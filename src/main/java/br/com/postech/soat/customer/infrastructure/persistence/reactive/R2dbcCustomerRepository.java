@@ -0,0 +1,163 @@
+package br.com.postech.soat.customer.infrastructure.persistence.reactive;
+
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.ReactiveCustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import br.com.postech.soat.customer.domain.valueobject.CustomerId;
+import br.com.postech.soat.customer.domain.valueobject.Email;
+import br.com.postech.soat.customer.domain.valueobject.Name;
+import br.com.postech.soat.customer.domain.valueobject.Phone;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.R2dbcInvalidationPublisher;
+import io.r2dbc.spi.Readable;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC adapter for {@link ReactiveCustomerRepository}. Rows are mapped straight to the domain
+ * model, without the JPA entity in between.
+ * <p>
+ * Registration is the same single {@code INSERT ... ON CONFLICT DO NOTHING} as the blocking
+ * adapter, flagged on PostgreSQL so that the email and phone claims of the partitioned schema skip
+ * the row the same way; an insert of no rows is a conflict either way. Registered CPFs are announced to the replicas that
+ * cache customers through {@link R2dbcInvalidationPublisher}.
+ */
+public class R2dbcCustomerRepository implements ReactiveCustomerRepository {
+
+    private static final String INSERT_IF_ABSENT = """
+        INSERT INTO customers (id, name, email, phone, document_identifier)
+        VALUES (:id, :name, :email, :phone, :cpf)
+        ON CONFLICT DO NOTHING
+        """;
+
+    private static final String INSERT_IF_ABSENT_ON_POSTGRESQL = """
+        INSERT INTO customers (id, name, email, phone, document_identifier)
+        SELECT :id, :name, :email, :phone, :cpf
+        WHERE set_config('customers.insert_conflicts', 'skip', true) IS NOT NULL
+        ON CONFLICT DO NOTHING
+        """;
+
+    private static final String FIND_CONFLICTS = """
+        SELECT document_identifier, email, phone
+        FROM customers
+        WHERE document_identifier = :cpf OR email = :email OR phone = :phone
+        """;
+
+    private static final String FIND_BY_CPF = """
+        SELECT id, name, email, phone, document_identifier
+        FROM customers
+        WHERE document_identifier = :cpf
+        """;
+
+    private static final String FIND_VIEWS_BY_CPFS = """
+        SELECT id, name, email, document_identifier, phone, version, updated_at
+        FROM customers
+        WHERE document_identifier = ANY(:cpfs)
+        """;
+
+    private final Logger logger = LoggerFactory.getLogger(R2dbcCustomerRepository.class);
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcInvalidationPublisher invalidationPublisher;
+    private final String insertIfAbsent;
+
+    public R2dbcCustomerRepository(DatabaseClient databaseClient, R2dbcInvalidationPublisher invalidationPublisher) {
+        this.databaseClient = databaseClient;
+        this.invalidationPublisher = invalidationPublisher;
+        this.insertIfAbsent = "PostgreSQL".equals(databaseClient.getConnectionFactory().getMetadata().getName())
+            ? INSERT_IF_ABSENT_ON_POSTGRESQL
+            : INSERT_IF_ABSENT;
+    }
+
+    @Override
+    public Mono<RegistrationResult> register(Customer customer) {
+        return databaseClient.sql(insertIfAbsent)
+            .bind("id", customer.getId().value())
+            .bind("name", customer.getName().value())
+            .bind("email", customer.getEmail().value())
+            .bind("phone", customer.getPhone().value())
+            .bind("cpf", customer.getCpf().value())
+            .fetch()
+            .rowsUpdated()
+            .flatMap(rows -> {
+                if (rows == 0) {
+                    return findConflicts(customer).map(RegistrationResult::conflicted);
+                }
+                logger.info("Customer saved : {}", customer.getId().value());
+                return invalidationPublisher.publish(List.of(customer.getCpf().value()))
+                    .thenReturn(RegistrationResult.registered(customer));
+            });
+    }
+
+    @Override
+    public Mono<Customer> findByCpf(String cpf) {
+        return databaseClient.sql(FIND_BY_CPF)
+            .bind("cpf", cpf)
+            .map(R2dbcCustomerRepository::toModel)
+            .one();
+    }
+
+    @Override
+    public Flux<CustomerView> findAllViewsByCpf(Collection<String> cpfs) {
+        return databaseClient.sql(FIND_VIEWS_BY_CPFS)
+            .bind("cpfs", cpfs.toArray(String[]::new))
+            .map(row -> new CustomerView(
+                row.get("id", UUID.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                row.get("document_identifier", String.class),
+                row.get("phone", String.class),
+                row.get("version", Long.class),
+                row.get("updated_at", OffsetDateTime.class).toInstant()
+            ))
+            .all();
+    }
+
+    private Mono<List<CustomerUniqueKey>> findConflicts(Customer customer) {
+        String cpf = customer.getCpf().value();
+        String email = customer.getEmail().value();
+        String phone = customer.getPhone().value();
+        return databaseClient.sql(FIND_CONFLICTS)
+            .bind("cpf", cpf)
+            .bind("email", email)
+            .bind("phone", phone)
+            .map(row -> new String[] {
+                row.get("document_identifier", String.class),
+                row.get("email", String.class),
+                row.get("phone", String.class)
+            })
+            .all()
+            .collect(() -> new ArrayList<CustomerUniqueKey>(3), (conflicts, row) -> {
+                addIfMatches(conflicts, CustomerUniqueKey.CPF, cpf, row[0]);
+                addIfMatches(conflicts, CustomerUniqueKey.EMAIL, email, row[1]);
+                addIfMatches(conflicts, CustomerUniqueKey.PHONE, phone, row[2]);
+            });
+    }
+
+    private static void addIfMatches(List<CustomerUniqueKey> conflicts, CustomerUniqueKey key, String expected, String actual) {
+        if (expected != null && Objects.equals(expected, actual) && !conflicts.contains(key)) {
+            conflicts.add(key);
+        }
+    }
+
+    private static Customer toModel(Readable row) {
+        return Customer.reconstitute(
+            new CustomerId(row.get("id", UUID.class)),
+            new Name(row.get("name", String.class)),
+            new CPF(row.get("document_identifier", String.class)),
+            new Email(row.get("email", String.class)),
+            new Phone(row.get("phone", String.class))
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.postech.soat.customer.infrastructure.persistence.reactive;
+
+import br.com.postech.soat.customer.application.repositories.ReactiveCustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerCacheInvalidationProperties;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.R2dbcInvalidationPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Wires the R2DBC adapter when the service runs as a reactive web application, which the
+ * {@code reactive} profile selects.
+ * <p>
+ * The connection pool is kept out of the context on purpose: Boot backs off the JDBC
+ * {@code DataSource} as soon as a {@code ConnectionFactory} bean exists, and Flyway still
+ * migrates through it.
+ */
+@Configuration
+@EnableConfigurationProperties(CustomerR2dbcProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerRepositoryConfiguration implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveCustomerRepositoryConfiguration(CustomerR2dbcProperties properties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.url()).mutate()
+            .option(ConnectionFactoryOptions.USER, properties.username())
+            .option(ConnectionFactoryOptions.PASSWORD, properties.password())
+            .build();
+
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+            .maxSize(properties.maxSize())
+            .initialSize(Math.min(properties.maxSize(), 5))
+            .maxAcquireTime(properties.maxAcquireTime())
+            .name("customer-r2dbc")
+            .build());
+    }
+
+    @Bean
+    public ReactiveCustomerRepository reactiveCustomerRepository(CustomerCacheInvalidationProperties invalidationProperties,
+                                                                 MeterRegistry meterRegistry) {
+        DatabaseClient databaseClient = DatabaseClient.create(connectionPool);
+        return new R2dbcCustomerRepository(databaseClient,
+            new R2dbcInvalidationPublisher(databaseClient, invalidationProperties, meterRegistry));
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
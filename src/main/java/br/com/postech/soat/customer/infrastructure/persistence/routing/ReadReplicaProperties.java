@@ -0,0 +1,17 @@
+package br.com.postech.soat.customer.infrastructure.persistence.routing;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "customer.datasource.replicas")
+public record ReadReplicaProperties(boolean enabled,
+                                    List<String> urls,
+                                    String username,
+                                    String password,
+                                    int maximumPoolSize,
+                                    Duration maxLag,
+                                    Duration lagCheckInterval,
+                                    String lagQuery,
+                                    Duration readYourWritesWindow) {
+}
@@ -0,0 +1,164 @@
+package br.com.postech.soat.customer.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The configured read replicas and their last measured replication lag.
+ * <p>
+ * Every {@code lagCheckInterval} the lag query runs on each replica. A replica serves reads only
+ * while its last check succeeded and reported at most {@code maxLag}; until the first check
+ * completes, and whenever no replica qualifies, reads fall back to the primary.
+ */
+public class ReadReplicas implements SmartLifecycle, MeterBinder, AutoCloseable {
+
+    private final Logger logger = LoggerFactory.getLogger(ReadReplicas.class);
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final Duration lagCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile String[] healthy = new String[0];
+    private ScheduledExecutorService executor;
+
+    public ReadReplicas(Map<String, DataSource> dataSources, String lagQuery, Duration maxLag, Duration lagCheckInterval) {
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toNanos() / 1e9;
+        this.lagCheckInterval = lagCheckInterval;
+
+        List<Replica> replicas = new ArrayList<>(dataSources.size());
+        dataSources.forEach((name, dataSource) -> replicas.add(new Replica(name, dataSource)));
+        this.replicas = List.copyOf(replicas);
+    }
+
+    public Map<String, DataSource> dataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            dataSources.put(replica.name, replica.dataSource);
+        }
+        return Collections.unmodifiableMap(dataSources);
+    }
+
+    /**
+     * Returns the name of the next replica fit to serve a read, round robin, or {@code null} when
+     * every replica is lagging or unreachable.
+     */
+    public String nextHealthy() {
+        String[] candidates = healthy;
+        if (candidates.length == 0) {
+            return null;
+        }
+        return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+    }
+
+    void check() {
+        List<String> fit = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            double lag = replica.measureLag();
+            boolean wasHealthy = replica.healthy;
+            replica.healthy = !Double.isNaN(lag) && lag <= maxLagSeconds;
+            if (replica.healthy) {
+                fit.add(replica.name);
+            }
+            if (wasHealthy && !replica.healthy) {
+                logger.warn("Read replica {} excluded from routing, lag: {}s", replica.name, lag);
+            } else if (!wasHealthy && replica.healthy) {
+                logger.info("Read replica {} serving reads, lag: {}s", replica.name, lag);
+            }
+        }
+        healthy = fit.toArray(String[]::new);
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::check, 0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        executor.shutdownNow();
+        executor = null;
+        healthy = new String[0];
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("customer.datasource.replica.lag", replica, r -> r.lagSeconds)
+                .tag("replica", replica.name)
+                .baseUnit("seconds")
+                .description("Replication lag measured on the replica, NaN while unreachable")
+                .register(registry);
+        }
+        Gauge.builder("customer.datasource.replicas.healthy", this, r -> r.healthy.length)
+            .description("Replicas currently serving reads")
+            .register(registry);
+    }
+
+    private final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.jdbcTemplate.setQueryTimeout((int) Math.max(1, lagCheckInterval.toSeconds()));
+        }
+
+        private double measureLag() {
+            try {
+                Double lag = jdbcTemplate.queryForObject(lagQuery, Double.class);
+                lagSeconds = lag == null ? 0 : lag;
+            } catch (DataAccessException e) {
+                if (healthy) {
+                    logger.warn("Read replica {} lag check failed", name, e);
+                }
+                lagSeconds = Double.NaN;
+            }
+            return lagSeconds;
+        }
+    }
+}
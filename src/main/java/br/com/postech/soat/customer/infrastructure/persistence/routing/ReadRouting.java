@@ -0,0 +1,51 @@
+package br.com.postech.soat.customer.infrastructure.persistence.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hint read by {@link ReplicaRoutingDataSource} when a physical connection is
+ * fetched. An explicit hint wins over the read-only flag of the current transaction, so reads that
+ * run outside a transaction can still be sent to a replica and reads that must observe a recent
+ * write can be pinned to the primary.
+ */
+public final class ReadRouting {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Target> CURRENT = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Returns the hint set by the innermost enclosing scope, or {@code null} when there is none.
+     */
+    public static Target current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        return on(Target.PRIMARY, action);
+    }
+
+    public static <T> T onReplica(Supplier<T> action) {
+        return on(Target.REPLICA, action);
+    }
+
+    private static <T> T on(Target target, Supplier<T> action) {
+        Target previous = CURRENT.get();
+        CURRENT.set(target);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.postech.soat.customer.infrastructure.persistence.routing;
+
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Routes the lookups of {@link CustomerRepository} to the read replicas while keeping
+ * read-your-writes for customers that were just registered.
+ * <p>
+ * CPFs written through this instance are read from the primary for the {@link RecentWrites}
+ * window. A CPF the replica does not know is looked up again on the primary, so a customer
+ * registered through another instance is found even before the replica replays the insert; only
+ * changes to an existing customer made elsewhere can be read stale, and by no more than the
+ * replica lag allowed by {@link ReadReplicas}.
+ */
+public class ReadYourWritesCustomerRepository implements CustomerRepository {
+
+    private final CustomerRepository delegate;
+    private final RecentWrites recentWrites;
+    private final Counter replicaReads;
+    private final Counter recentWriteReads;
+    private final Counter replicaMissReads;
+
+    public ReadYourWritesCustomerRepository(CustomerRepository delegate, RecentWrites recentWrites, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.recentWrites = recentWrites;
+        this.replicaReads = Counter.builder("customer.replica.reads")
+            .tag("route", "replica")
+            .register(meterRegistry);
+        this.recentWriteReads = Counter.builder("customer.replica.reads")
+            .tag("route", "recent-write")
+            .register(meterRegistry);
+        this.replicaMissReads = Counter.builder("customer.replica.reads")
+            .tag("route", "replica-miss")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public RegistrationResult register(Customer customer) {
+        RegistrationResult result = delegate.register(customer);
+        if (result.isRegistered()) {
+            recentWrites.record(result.customer().getCpf().value());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean[] registerAll(List<Customer> customers) {
+        boolean[] registered = delegate.registerAll(customers);
+        for (int i = 0; i < registered.length; i++) {
+            if (registered[i]) {
+                recentWrites.record(customers.get(i).getCpf().value());
+            }
+        }
+        return registered;
+    }
+
+    @Override
+    public Optional<CustomerView> findViewByCpf(String cpf) {
+        return read(cpf, delegate::findViewByCpf);
+    }
+
+    @Override
+    public List<CustomerView> findAllViewsByCpf(Collection<String> cpfs) {
+        return readAll(cpfs, delegate::findAllViewsByCpf, CustomerView::cpf);
+    }
+
+    @Override
+    public Optional<CustomerVersion> findVersionByCpf(String cpf) {
+        return read(cpf, delegate::findVersionByCpf);
+    }
+
+    private <T> Optional<T> read(String cpf, Function<String, Optional<T>> lookup) {
+        if (recentWrites.contains(cpf)) {
+            recentWriteReads.increment();
+            return ReadRouting.onPrimary(() -> lookup.apply(cpf));
+        }
+
+        Optional<T> found = ReadRouting.onReplica(() -> lookup.apply(cpf));
+        if (found.isPresent()) {
+            replicaReads.increment();
+            return found;
+        }
+
+        replicaMissReads.increment();
+        return ReadRouting.onPrimary(() -> lookup.apply(cpf));
+    }
+
+    private <T> List<T> readAll(Collection<String> cpfs,
+                                Function<Collection<String>, List<T>> lookup,
+                                Function<T, String> cpfOf) {
+        List<String> replicaCpfs = new ArrayList<>(cpfs.size());
+        List<String> primaryCpfs = new ArrayList<>();
+        for (String cpf : cpfs) {
+            (recentWrites.contains(cpf) ? primaryCpfs : replicaCpfs).add(cpf);
+        }
+        recentWriteReads.increment(primaryCpfs.size());
+
+        List<T> found = new ArrayList<>(cpfs.size());
+        if (!replicaCpfs.isEmpty()) {
+            List<T> fromReplica = ReadRouting.onReplica(() -> lookup.apply(replicaCpfs));
+            found.addAll(fromReplica);
+            replicaReads.increment(fromReplica.size());
+
+            if (fromReplica.size() < replicaCpfs.size()) {
+                Set<String> served = new HashSet<>();
+                for (T item : fromReplica) {
+                    served.add(cpfOf.apply(item));
+                }
+                for (String cpf : replicaCpfs) {
+                    if (!served.contains(cpf)) {
+                        primaryCpfs.add(cpf);
+                        replicaMissReads.increment();
+                    }
+                }
+            }
+        }
+
+        if (!primaryCpfs.isEmpty()) {
+            found.addAll(ReadRouting.onPrimary(() -> lookup.apply(primaryCpfs)));
+        }
+        return found;
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.postech.soat.customer.infrastructure.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+
+/**
+ * CPFs written by this instance, or announced as written by another one, within the last
+ * {@code window}. Reads of these CPFs go to the primary, since a replica may not have replayed the
+ * write yet.
+ */
+public class RecentWrites {
+
+    private static final long MAXIMUM_SIZE = 100_000;
+
+    private final Cache<String, Boolean> cpfs;
+
+    public RecentWrites(Duration window) {
+        this.cpfs = Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+    }
+
+    public void record(String cpf) {
+        cpfs.put(cpf, Boolean.TRUE);
+    }
+
+    public boolean contains(String cpf) {
+        return cpfs.getIfPresent(cpf) != null;
+    }
+}
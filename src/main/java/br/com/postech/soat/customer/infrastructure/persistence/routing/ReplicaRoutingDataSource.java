@@ -0,0 +1,51 @@
+package br.com.postech.soat.customer.infrastructure.persistence.routing;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends reads to a healthy {@link ReadReplicas replica} and everything else to the primary.
+ * <p>
+ * A connection is a read when the enclosing {@link ReadRouting} scope asks for a replica or, with
+ * no scope, when the current transaction is read-only. The transaction flag is only known after
+ * the transaction has begun, so this data source must sit behind a
+ * {@link LazyConnectionDataSourceProxy} that defers fetching the physical connection until the
+ * first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReadReplicas replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas) {
+        Map<Object, Object> targets = new HashMap<>(replicas.dataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.replicas = replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!isRead()) {
+            return PRIMARY;
+        }
+
+        String replica = replicas.nextHealthy();
+        return replica == null ? PRIMARY : replica;
+    }
+
+    private static boolean isRead() {
+        ReadRouting.Target target = ReadRouting.current();
+        if (target != null) {
+            return target == ReadRouting.Target.REPLICA;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
@@ -0,0 +1,4 @@
+-- keyset order used by the customer export. Built concurrently, outside a transaction, so writes to
+-- customers are not blocked while it runs. A failed build leaves an INVALID index behind that
+-- IF NOT EXISTS would skip, so drop it before running the migration again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_created_at_id ON customers (created_at, id);
@@ -0,0 +1,193 @@
+-- customers hash-partitioned by document_identifier. It is filled online next to the current table:
+-- the mirror trigger below copies every write, V202610171301 copies the existing rows and
+-- V202610171302 swaps the tables.
+CREATE TABLE customers_partitioned
+(
+    id                  UUID         NOT NULL,
+    name                VARCHAR(255) NOT NULL,
+    email               VARCHAR(255) NOT NULL,
+    phone               VARCHAR(20),
+    document_identifier VARCHAR(11)  NOT NULL,
+    created_at          TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    CONSTRAINT customers_document_identifier_pkey PRIMARY KEY (document_identifier)
+) PARTITION BY HASH (document_identifier);
+
+DO
+$$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE customers_p%s PARTITION OF customers_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(remainder::text, 2, '0'), remainder);
+    END LOOP;
+END
+$$;
+
+-- unique indexes on a partitioned table must contain the partition key, so these are unique per
+-- partition only; they serve the lookups, global uniqueness comes from the claim tables below
+CREATE INDEX idx_customers_id ON customers_partitioned (id);
+CREATE INDEX idx_customers_email ON customers_partitioned (email);
+CREATE INDEX idx_customers_phone ON customers_partitioned (phone);
+CREATE INDEX idx_customers_partitioned_created_at_id ON customers_partitioned (created_at, id);
+
+-- one row per email and phone in use, naming the customer that holds it
+CREATE TABLE customer_emails
+(
+    email               VARCHAR(255) PRIMARY KEY,
+    document_identifier VARCHAR(11) NOT NULL
+);
+
+CREATE TABLE customer_phones
+(
+    phone               VARCHAR(20) PRIMARY KEY,
+    document_identifier VARCHAR(11) NOT NULL
+);
+
+-- A trigger cannot see the ON CONFLICT clause of the statement that fired it, so the statement
+-- says so itself: the service's inserts with ON CONFLICT DO NOTHING set customers.insert_conflicts
+-- to 'skip' for their transaction with set_config(..., true). Any other insert leaves it unset.
+CREATE FUNCTION customers_insert_skips_conflicts() RETURNS boolean
+    LANGUAGE sql STABLE AS
+$$
+SELECT coalesce(current_setting('customers.insert_conflicts', true), '') = 'skip'
+$$;
+
+-- Claims the email and phone of a new customer. A row whose email or phone is held by another
+-- customer is skipped when customers_insert_skips_conflicts(), as the arbiter index would do for
+-- ON CONFLICT DO NOTHING; any other INSERT fails with unique_violation on customer_emails_pkey or
+-- customer_phones_pkey, as it did against the unpartitioned table. Inserts of the same CPF are serialized, so a row that its
+-- primary key then rejects never claims anything.
+CREATE FUNCTION customers_claim_unique_keys() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('customers.document_identifier'), hashtext(NEW.document_identifier));
+    IF EXISTS (SELECT 1 FROM customers_partitioned WHERE document_identifier = NEW.document_identifier) THEN
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO customer_emails (email, document_identifier)
+    VALUES (NEW.email, NEW.document_identifier)
+    ON CONFLICT (email) DO NOTHING;
+    IF NOT FOUND AND NOT EXISTS (SELECT 1
+                                 FROM customer_emails
+                                 WHERE email = NEW.email
+                                   AND document_identifier = NEW.document_identifier) THEN
+        IF customers_insert_skips_conflicts() THEN
+            RETURN NULL;
+        END IF;
+        RAISE EXCEPTION 'email of customer % is already in use', NEW.id
+            USING ERRCODE = 'unique_violation', CONSTRAINT = 'customer_emails_pkey';
+    END IF;
+
+    IF NEW.phone IS NOT NULL THEN
+        INSERT INTO customer_phones (phone, document_identifier)
+        VALUES (NEW.phone, NEW.document_identifier)
+        ON CONFLICT (phone) DO NOTHING;
+        IF NOT FOUND AND NOT EXISTS (SELECT 1
+                                     FROM customer_phones
+                                     WHERE phone = NEW.phone
+                                       AND document_identifier = NEW.document_identifier) THEN
+            IF customers_insert_skips_conflicts() THEN
+                DELETE FROM customer_emails WHERE email = NEW.email AND document_identifier = NEW.document_identifier;
+                RETURN NULL;
+            END IF;
+            RAISE EXCEPTION 'phone of customer % is already in use', NEW.id
+                USING ERRCODE = 'unique_violation', CONSTRAINT = 'customer_phones_pkey';
+        END IF;
+    END IF;
+
+    RETURN NEW;
+END
+$$;
+
+-- Moves the claims of a customer whose email or phone changes; the CPF is the partition key and
+-- the customer's identity, so it cannot change.
+CREATE FUNCTION customers_reclaim_unique_keys() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF NEW.document_identifier IS DISTINCT FROM OLD.document_identifier THEN
+        RAISE EXCEPTION 'document_identifier of customer % cannot change', OLD.id
+            USING ERRCODE = 'integrity_constraint_violation';
+    END IF;
+
+    IF NEW.email IS DISTINCT FROM OLD.email THEN
+        INSERT INTO customer_emails (email, document_identifier)
+        VALUES (NEW.email, NEW.document_identifier)
+        ON CONFLICT (email) DO NOTHING;
+        IF NOT FOUND THEN
+            RAISE EXCEPTION 'email of customer % is already in use', OLD.id
+                USING ERRCODE = 'unique_violation', CONSTRAINT = 'customer_emails_pkey';
+        END IF;
+        DELETE FROM customer_emails WHERE email = OLD.email AND document_identifier = OLD.document_identifier;
+    END IF;
+
+    IF NEW.phone IS DISTINCT FROM OLD.phone THEN
+        IF NEW.phone IS NOT NULL THEN
+            INSERT INTO customer_phones (phone, document_identifier)
+            VALUES (NEW.phone, NEW.document_identifier)
+            ON CONFLICT (phone) DO NOTHING;
+            IF NOT FOUND THEN
+                RAISE EXCEPTION 'phone of customer % is already in use', OLD.id
+                    USING ERRCODE = 'unique_violation', CONSTRAINT = 'customer_phones_pkey';
+            END IF;
+        END IF;
+        DELETE FROM customer_phones WHERE phone = OLD.phone AND document_identifier = OLD.document_identifier;
+    END IF;
+
+    RETURN NEW;
+END
+$$;
+
+-- TRUNCATE does not fire row triggers; truncate customer_emails and customer_phones with it
+CREATE FUNCTION customers_release_unique_keys() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    DELETE FROM customer_emails WHERE email = OLD.email AND document_identifier = OLD.document_identifier;
+    DELETE FROM customer_phones WHERE phone = OLD.phone AND document_identifier = OLD.document_identifier;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER customers_claim_unique_keys
+    BEFORE INSERT ON customers_partitioned
+    FOR EACH ROW EXECUTE FUNCTION customers_claim_unique_keys();
+
+CREATE TRIGGER customers_reclaim_unique_keys
+    BEFORE UPDATE OF email, phone, document_identifier ON customers_partitioned
+    FOR EACH ROW EXECUTE FUNCTION customers_reclaim_unique_keys();
+
+CREATE TRIGGER customers_release_unique_keys
+    AFTER DELETE ON customers_partitioned
+    FOR EACH ROW EXECUTE FUNCTION customers_release_unique_keys();
+
+-- keeps customers_partitioned in step with customers until the swap; an update of a row not copied
+-- yet matches nothing here and the backfill copies its latest version
+CREATE FUNCTION customers_mirror_to_partitioned() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO customers_partitioned (id, name, email, phone, document_identifier, created_at)
+        VALUES (NEW.id, NEW.name, NEW.email, NEW.phone, NEW.document_identifier, NEW.created_at);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE customers_partitioned
+        SET id                  = NEW.id,
+            name                = NEW.name,
+            email               = NEW.email,
+            phone               = NEW.phone,
+            document_identifier = NEW.document_identifier,
+            created_at          = NEW.created_at
+        WHERE document_identifier = OLD.document_identifier;
+    ELSE
+        DELETE FROM customers_partitioned WHERE document_identifier = OLD.document_identifier;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER customers_mirror_to_partitioned
+    AFTER INSERT OR UPDATE OR DELETE ON customers
+    FOR EACH ROW EXECUTE FUNCTION customers_mirror_to_partitioned();
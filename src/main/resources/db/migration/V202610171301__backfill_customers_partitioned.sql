@@ -0,0 +1,33 @@
+-- copies the existing customers in batches of 500 rows, each in its own transaction, so concurrent
+-- writes only ever wait on the rows of the current batch. Locking the batch copies the latest
+-- version of each row, and rows the mirror trigger already copied are skipped. The claim trigger
+-- takes one advisory lock per copied row and holds it until the batch commits, so the batch is
+-- kept well below the shared lock table (max_locks_per_transaction * max_connections).
+DO
+$$
+DECLARE
+    last_id       UUID := '00000000-0000-0000-0000-000000000000';
+    batch_last_id UUID;
+BEGIN
+    LOOP
+        WITH batch AS (
+            SELECT id, name, email, phone, document_identifier, created_at
+            FROM customers
+            WHERE id > last_id
+            ORDER BY id
+            LIMIT 500
+            FOR SHARE
+        ), copied AS (
+            INSERT INTO customers_partitioned (id, name, email, phone, document_identifier, created_at)
+            SELECT b.id, b.name, b.email, b.phone, b.document_identifier, b.created_at
+            FROM batch b
+            WHERE NOT EXISTS (SELECT 1 FROM customers_partitioned p WHERE p.document_identifier = b.document_identifier)
+        )
+        SELECT id INTO batch_last_id FROM batch ORDER BY id DESC LIMIT 1;
+
+        EXIT WHEN batch_last_id IS NULL;
+        last_id := batch_last_id;
+        COMMIT;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,60 @@
+-- swaps the partitioned table in under a short exclusive lock: every row was copied by
+-- V202610171301 and kept in step by the mirror trigger, so only renames are left. The previous
+-- table stays as customers_unpartitioned until a later migration drops it.
+SET LOCAL lock_timeout = '10s';
+
+LOCK TABLE customers, customers_partitioned IN ACCESS EXCLUSIVE MODE;
+
+DROP TRIGGER customers_mirror_to_partitioned ON customers;
+DROP FUNCTION customers_mirror_to_partitioned();
+
+ALTER TABLE customers RENAME TO customers_unpartitioned;
+ALTER INDEX idx_customers_created_at_id RENAME TO idx_customers_unpartitioned_created_at_id;
+
+ALTER TABLE customers_partitioned RENAME TO customers;
+ALTER INDEX idx_customers_partitioned_created_at_id RENAME TO idx_customers_created_at_id;
+
+-- same body as in V202610171300, reading the table under its new name
+CREATE OR REPLACE FUNCTION customers_claim_unique_keys() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('customers.document_identifier'), hashtext(NEW.document_identifier));
+    IF EXISTS (SELECT 1 FROM customers WHERE document_identifier = NEW.document_identifier) THEN
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO customer_emails (email, document_identifier)
+    VALUES (NEW.email, NEW.document_identifier)
+    ON CONFLICT (email) DO NOTHING;
+    IF NOT FOUND AND NOT EXISTS (SELECT 1
+                                 FROM customer_emails
+                                 WHERE email = NEW.email
+                                   AND document_identifier = NEW.document_identifier) THEN
+        IF customers_insert_skips_conflicts() THEN
+            RETURN NULL;
+        END IF;
+        RAISE EXCEPTION 'email of customer % is already in use', NEW.id
+            USING ERRCODE = 'unique_violation', CONSTRAINT = 'customer_emails_pkey';
+    END IF;
+
+    IF NEW.phone IS NOT NULL THEN
+        INSERT INTO customer_phones (phone, document_identifier)
+        VALUES (NEW.phone, NEW.document_identifier)
+        ON CONFLICT (phone) DO NOTHING;
+        IF NOT FOUND AND NOT EXISTS (SELECT 1
+                                     FROM customer_phones
+                                     WHERE phone = NEW.phone
+                                       AND document_identifier = NEW.document_identifier) THEN
+            IF customers_insert_skips_conflicts() THEN
+                DELETE FROM customer_emails WHERE email = NEW.email AND document_identifier = NEW.document_identifier;
+                RETURN NULL;
+            END IF;
+            RAISE EXCEPTION 'phone of customer % is already in use', NEW.id
+                USING ERRCODE = 'unique_violation', CONSTRAINT = 'customer_phones_pkey';
+        END IF;
+    END IF;
+
+    RETURN NEW;
+END
+$$;
@@ -0,0 +1,22 @@
+-- validators for conditional GETs. Both defaults are constants for the statement, so the columns
+-- are added without rewriting the table; existing rows report the migration time as updated_at.
+ALTER TABLE customers
+    ADD COLUMN version    BIGINT      NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW();
+
+-- bumps both on every update that changes the row, whichever statement issued it
+CREATE FUNCTION customers_touch() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF NEW IS DISTINCT FROM OLD THEN
+        NEW.version := OLD.version + 1;
+        NEW.updated_at := NOW();
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER customers_touch
+    BEFORE UPDATE ON customers
+    FOR EACH ROW EXECUTE FUNCTION customers_touch();
@@ -0,0 +1,95 @@
+package br.com.postech.soat.customer.commons.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    private static int compare(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    @Test
+    void shouldGenerateVersion7WithTimestamp() {
+        UUID uuid = new TimeOrderedUuidGenerator(() -> NOW).generate();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(NOW, TimeOrderedUuidGenerator.timestampOf(uuid));
+    }
+
+    @Test
+    void shouldIncreaseWithinSameMillisecondPastSequenceCapacity() {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(() -> NOW);
+
+        UUID previous = generator.generate();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = generator.generate();
+            assertTrue(compare(previous, next) < 0, previous + " >= " + next);
+            previous = next;
+        }
+        assertEquals(NOW + 2, TimeOrderedUuidGenerator.timestampOf(previous));
+    }
+
+    @Test
+    void shouldKeepIncreasingWhenClockMovesBackwards() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock::get);
+
+        UUID before = generator.generate();
+        clock.set(NOW - 1_000);
+        UUID after = generator.generate();
+
+        assertTrue(compare(before, after) < 0);
+        assertEquals(NOW, TimeOrderedUuidGenerator.timestampOf(after));
+    }
+
+    @Test
+    void shouldGenerateUniqueIncreasingIdsPerThreadUnderConcurrency() throws Exception {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+        Callable<List<UUID>> task = () -> {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                ids.add(generator.generate());
+            }
+            return ids;
+        };
+
+        Set<UUID> all = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<List<UUID>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(task));
+            }
+            for (Future<List<UUID>> result : results) {
+                List<UUID> ids = result.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(compare(ids.get(i - 1), ids.get(i)) < 0);
+                }
+                all.addAll(ids);
+            }
+        }
+
+        assertEquals(80_000, all.size());
+    }
+
+    @Test
+    void shouldRejectTimestampOfRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuidGenerator.timestampOf(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.postech.soat.commons.infrastructure.aop.monitorable;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitorableInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Advisor advisor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        MonitorableProperties properties = new MonitorableProperties(true, true, List.of(Duration.ofMillis(5)), false);
+        advisor = MonitorableConfiguration.monitorableAdvisor(provider(meterRegistry), provider(properties));
+    }
+
+    @Test
+    void shouldTimeSuccessfulCalls() {
+        Lookup lookup = proxy(new NamedLookup());
+
+        lookup.find("a");
+        lookup.find("b");
+
+        Timer timer = meterRegistry.get("lookup")
+                .tag("class", "NamedLookup")
+                .tag("method", "find")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void shouldTagFailuresWithExceptionClass() {
+        Lookup lookup = proxy(new NamedLookup());
+
+        assertThrows(IllegalArgumentException.class, () -> lookup.find(null));
+
+        Timer timer = meterRegistry.get("lookup")
+                .tag("method", "find")
+                .tag("exception", "IllegalArgumentException")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(0, meterRegistry.get("lookup").tag("exception", "none").timer().count());
+    }
+
+    @Test
+    void shouldUseDefaultNameWhenAnnotationHasNoValue() {
+        Lookup lookup = proxy(new UnnamedLookup());
+
+        lookup.find("a");
+
+        assertEquals(1, meterRegistry.get(MonitorableInterceptor.DEFAULT_METRIC_NAME).tag("class", "UnnamedLookup").timer().count());
+    }
+
+    @Test
+    void shouldNotAdviseTypesWithoutAnnotation() {
+        Lookup lookup = proxy(new PlainLookup());
+
+        lookup.find("a");
+
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void shouldRecordCpuTimeWhenEnabled() {
+        advisor = MonitorableConfiguration.monitorableAdvisor(provider(meterRegistry),
+                provider(new MonitorableProperties(true, false, List.of(), true)));
+        Lookup lookup = proxy(new NamedLookup());
+
+        lookup.find("a");
+
+        assertEquals(1, meterRegistry.get("lookup.cpu").tag("method", "find").timer().count());
+    }
+
+    @Test
+    void shouldNotResolvePropertiesUntilFirstCall() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        advisor = MonitorableConfiguration.monitorableAdvisor(provider(meterRegistry),
+                beanFactory.getBeanProvider(MonitorableProperties.class));
+        Lookup lookup = proxy(new NamedLookup());
+
+        beanFactory.registerSingleton("properties", new MonitorableProperties(true, false, List.of(), false));
+        lookup.find("a");
+
+        assertEquals(1, meterRegistry.get("lookup").tag("method", "find").timer().count());
+    }
+
+    private Lookup proxy(Lookup target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(advisor);
+        return (Lookup) factory.getProxy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T instance) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("bean", instance);
+        return (ObjectProvider<T>) beanFactory.getBeanProvider(instance.getClass());
+    }
+
+    interface Lookup {
+        String find(String key);
+    }
+
+    @Monitorable("lookup")
+    static class NamedLookup implements Lookup {
+        @Override
+        public String find(String key) {
+            if (key == null) {
+                throw new IllegalArgumentException("key");
+            }
+            return key;
+        }
+    }
+
+    @Monitorable
+    static class UnnamedLookup implements Lookup {
+        @Override
+        public String find(String key) {
+            return key;
+        }
+    }
+
+    static class PlainLookup implements Lookup {
+        @Override
+        public String find(String key) {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.postech.soat.commons.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogstashJsonFormatterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LoggerContext context;
+    private StructuredLogEncoder encoder;
+
+    @BeforeEach
+    void setup() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat(LogstashJsonFormatter.class.getName());
+        encoder.start();
+    }
+
+    private JsonNode encode(LoggingEvent event) throws Exception {
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+        assertTrue(line.endsWith("}\n"), line);
+        return objectMapper.readTree(line);
+    }
+
+    private LoggingEvent event(String message, Throwable throwable) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("customer.test"), Level.INFO, message, throwable, null);
+    }
+
+    @Test
+    void shouldWriteLogstashFields() throws Exception {
+        JsonNode json = encode(event("Customer \"saved\"\n", null));
+
+        assertTrue(json.hasNonNull("@timestamp"));
+        assertEquals("1", json.get("@version").asText());
+        assertEquals("Customer \"saved\"\n", json.get("message").asText());
+        assertEquals("customer.test", json.get("logger_name").asText());
+        assertEquals("INFO", json.get("level").asText());
+        assertEquals(20000, json.get("level_value").asInt());
+        assertFalse(json.has("tags"));
+        assertFalse(json.has("stack_trace"));
+    }
+
+    @Test
+    void shouldWriteKeyValuesAsJsonValues() throws Exception {
+        LoggingEvent event = event("Customer saved", null);
+        event.setKeyValuePairs(List.of(
+                new KeyValuePair("customer", new Sample("Jo\"ão")),
+                new KeyValuePair("count", 3),
+                new KeyValuePair("conflicts", List.of("EMAIL", "PHONE")),
+                new KeyValuePair("missing", null)));
+
+        JsonNode json = encode(event);
+
+        assertEquals("Jo\"ão", json.get("customer").get("name").asText());
+        assertEquals(3, json.get("count").asInt());
+        assertEquals("PHONE", json.get("conflicts").get(1).asText());
+        assertTrue(json.get("missing").isNull());
+    }
+
+    @Test
+    void shouldWriteMarkersAsTags() throws Exception {
+        LoggingEvent event = event("Customer searched", null);
+        event.addMarker(SamplingTurboFilter.SAMPLED);
+
+        JsonNode json = encode(event);
+
+        assertEquals("SAMPLED", json.get("tags").get(0).asText());
+    }
+
+    @Test
+    void shouldWriteStackTrace() throws Exception {
+        JsonNode json = encode(event("failed", new IllegalStateException("db down")));
+
+        assertTrue(json.get("stack_trace").asText().startsWith("java.lang.IllegalStateException: db down"));
+    }
+
+    private static final class Sample extends StructuredLogValue {
+
+        private final String name;
+
+        private Sample(String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected void appendJson(StringBuilder out) {
+            beginObject(out);
+            field(out, "name", name);
+            endObject(out);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.postech.soat.commons.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private SamplingTurboFilter filter;
+    private Logger logger;
+
+    @BeforeEach
+    void setup() {
+        filter = new SamplingTurboFilter();
+        filter.setOneIn(Integer.MAX_VALUE);
+        logger = new LoggerContext().getLogger("test");
+    }
+
+    @Test
+    void shouldDropSampledEventsOutsideTheSample() {
+        assertEquals(FilterReply.DENY, filter.decide(SamplingTurboFilter.SAMPLED, logger, Level.INFO, "msg", null, null));
+    }
+
+    @Test
+    void shouldKeepEventsWithoutSampledMarker() {
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "msg", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(MarkerFactory.getMarker("OTHER"), logger, Level.INFO, "msg", null, null));
+    }
+
+    @Test
+    void shouldKeepSampledWarnings() {
+        assertEquals(FilterReply.NEUTRAL, filter.decide(SamplingTurboFilter.SAMPLED, logger, Level.WARN, "msg", null, null));
+    }
+
+    @Test
+    void shouldKeepEverythingWhenSamplingOneInOne() {
+        filter.setOneIn(1);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(SamplingTurboFilter.SAMPLED, logger, Level.INFO, "msg", null, null));
+    }
+
+    @Test
+    void shouldBeConsultedByEnabledCheckWithMarker() {
+        LoggerContext context = new LoggerContext();
+        context.addTurboFilter(filter);
+        filter.start();
+        Logger contextLogger = context.getLogger("test");
+
+        assertFalse(contextLogger.isInfoEnabled(SamplingTurboFilter.SAMPLED));
+        assertTrue(contextLogger.isInfoEnabled());
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.postech.soat.commons.infrastructure.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaskUtilTest {
+
+    @Test
+    void shouldMaskCpf() {
+        assertEquals("53*****97", MaskUtil.maskCpf("53731833697"));
+        assertEquals("123", MaskUtil.maskCpf("123"));
+        assertNull(MaskUtil.maskCpf(null));
+    }
+
+    @Test
+    void shouldMaskEmail() {
+        assertEquals("jo**@email.com", MaskUtil.maskEmail("joao@email.com"));
+        assertEquals("**@email.com", MaskUtil.maskEmail("jo@email.com"));
+        assertEquals("@email.com", MaskUtil.maskEmail("@email.com"));
+        assertEquals("jo**@email.com", MaskUtil.maskEmail("joao@email.com@other"));
+        assertEquals("invalid", MaskUtil.maskEmail("invalid"));
+        assertNull(MaskUtil.maskEmail(null));
+    }
+
+    @Test
+    void shouldMaskPhone() {
+        assertEquals("119*****00", MaskUtil.maskPhone("11999990000"));
+        assertEquals("11******00", MaskUtil.maskPhone("1133330000"));
+        assertEquals("*****", MaskUtil.maskPhone("12345"));
+        assertNull(MaskUtil.maskPhone(null));
+    }
+
+    @Test
+    void shouldAppendMaskedValuesToBuffer() {
+        StringBuilder out = new StringBuilder("customer=");
+
+        MaskUtil.appendMaskedCpf(out, "53731833697").append(',');
+        MaskUtil.appendMaskedEmail(out, "joao@email.com").append(',');
+        MaskUtil.appendMaskedPhone(out, "11999990000");
+
+        assertEquals("customer=53*****97,jo**@email.com,119*****00", out.toString());
+    }
+}
@@ -15,7 +15,7 @@ class CustomerTest {
     void givenValidNameEmailCpfPhone_whenCreateCustomer_thenReturnCustomerWithCorrectFields() {
         Name name = new Name("João Silva");
         Email email = new Email("joao@mail.com");
-        CPF cpf = new CPF("12345678901");
+        CPF cpf = new CPF("12345678909");
         Phone phone = new Phone("11999999999");
 
         Customer customer = Customer.create(name, email, cpf, phone);
@@ -23,7 +23,7 @@ class CustomerTest {
         assertNotNull(customer.getId());
         assertEquals("João Silva", customer.getName().value());
         assertEquals("joao@mail.com", customer.getEmail().value());
-        assertEquals("12345678901", customer.getCpf().value());
+        assertEquals("12345678909", customer.getCpf().value());
         assertEquals("11999999999", customer.getPhone().value());
     }
 }
@@ -0,0 +1,82 @@
+package br.com.postech.soat.customer.domain.valueobject;
+
+import br.com.postech.soat.customer.domain.exception.InvalidCpfException;
+import br.com.postech.soat.customer.domain.exception.InvalidEmailException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueObjectValidationTest {
+
+    @Test
+    void shouldAcceptCpfWithValidCheckDigits() {
+        assertEquals("52998224725", new CPF("52998224725").value());
+        assertEquals("52998224725", new CPF("529.982.247-25").value());
+    }
+
+    @Test
+    void shouldReturnSameInstanceForCanonicalInput() {
+        String cpf = "52998224725";
+        String phone = "11999990000";
+
+        assertSame(cpf, ValueObjectValidation.normalizeCpf(cpf));
+        assertSame(phone, ValueObjectValidation.normalizePhone(phone));
+    }
+
+    @Test
+    void shouldRejectCpfWithWrongCheckDigitsOrRepeatedDigits() {
+        assertNull(ValueObjectValidation.normalizeCpf("52998224724"));
+        assertNull(ValueObjectValidation.normalizeCpf("11111111111"));
+        assertNull(ValueObjectValidation.normalizeCpf("5299822472"));
+
+        InvalidCpfException exception = assertThrows(InvalidCpfException.class, () -> new CPF("529.982.247-24"));
+        assertEquals("CPF inválido: 52998224724", exception.getMessage());
+    }
+
+    @Test
+    void shouldExtractPhoneDigits() {
+        assertEquals("11999990000", new Phone("(11) 99999-0000").value());
+        assertNull(ValueObjectValidation.normalizePhone("999990000"));
+        assertNull(ValueObjectValidation.normalizePhone("119999900001"));
+    }
+
+    @Test
+    void shouldValidateEmailGrammar() {
+        assertTrue(ValueObjectValidation.isValidEmail("joao.silva+kiosk@email.com.br"));
+        assertFalse(ValueObjectValidation.isValidEmail(".joao@email.com"));
+        assertFalse(ValueObjectValidation.isValidEmail("joao..silva@email.com"));
+        assertFalse(ValueObjectValidation.isValidEmail("joao@email"));
+        assertFalse(ValueObjectValidation.isValidEmail("joao@email.c0m"));
+        assertFalse(ValueObjectValidation.isValidEmail("joao@email..com"));
+        assertFalse(ValueObjectValidation.isValidEmail("joao@@email.com"));
+        assertThrows(InvalidEmailException.class, () -> new Email(null));
+    }
+
+    @Test
+    void shouldRejectHostileEmailInLinearTime() {
+        String hostile = "a@" + "a-a.".repeat(60) + "-";
+
+        assertTimeoutPreemptively(Duration.ofMillis(100), () -> assertFalse(ValueObjectValidation.isValidEmail(hostile)));
+        assertFalse(ValueObjectValidation.isValidEmail("a@" + "a.".repeat(130) + "com"));
+    }
+
+    @Test
+    void shouldMatchPreviousEmailPattern() {
+        Pattern previous = Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+        char[] alphabet = "ab9_-+.@.@Z".toCharArray();
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int n = 0; n < 20_000; n++) {
+            char[] candidate = new char[1 + random.nextInt(16)];
+            for (int i = 0; i < candidate.length; i++) {
+                candidate[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String email = new String(candidate);
+            assertEquals(previous.matcher(email).matches(), ValueObjectValidation.isValidEmail(email), email);
+        }
+    }
+}
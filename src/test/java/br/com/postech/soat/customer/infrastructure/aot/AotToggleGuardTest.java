@@ -0,0 +1,63 @@
+package br.com.postech.soat.customer.infrastructure.aot;
+
+import br.com.postech.soat.customer.infrastructure.grpc.CustomerGrpcServer;
+import br.com.postech.soat.customer.infrastructure.persistence.groupcommit.GroupCommitWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AotToggleGuardTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(GuardedConfiguration.class)
+            .withPropertyValues("monitorable.enabled=false");
+
+    @Test
+    void shouldFailStartupWhenTheEnvironmentEnablesWhatTheBuildLeftOut() {
+        contextRunner
+                .withPropertyValues("customer.grpc.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .hasMessageContaining("customer.grpc.enabled is on but was off at build time"));
+    }
+
+    @Test
+    void shouldFailStartupWhenTheEnvironmentDisablesWhatTheBuildIncluded() {
+        contextRunner
+                .withPropertyValues("customer.repository.group-commit.enabled=false")
+                .withBean(GroupCommitWriter.class, () -> mock(GroupCommitWriter.class))
+                .run(context -> assertThat(context).getFailure()
+                        .hasMessageContaining("customer.repository.group-commit.enabled is off but was on at build time"));
+    }
+
+    @Test
+    void shouldStartWhenTheEnvironmentMatchesTheBuild() {
+        contextRunner
+                .withPropertyValues("customer.grpc.enabled=true", "customer.repository.group-commit.enabled=true")
+                .withBean(CustomerGrpcServer.class, () -> mock(CustomerGrpcServer.class))
+                .withBean(GroupCommitWriter.class, () -> mock(GroupCommitWriter.class))
+                .run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Test
+    void shouldNotCheckWithoutGeneratedArtifacts() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(AotToggleGuardConfiguration.class)
+                .withPropertyValues("customer.grpc.enabled=true")
+                .run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class GuardedConfiguration {
+
+        @Bean
+        AotToggleGuard aotToggleGuard(ListableBeanFactory beanFactory, Environment environment) {
+            return new AotToggleGuard(beanFactory, environment, true);
+        }
+    }
+}
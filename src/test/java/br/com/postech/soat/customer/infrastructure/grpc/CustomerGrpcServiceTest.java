@@ -0,0 +1,327 @@
+package br.com.postech.soat.customer.infrastructure.grpc;
+
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.infrastructure.persistence.QueryDeadline;
+import br.com.postech.soat.customer.infrastructure.persistence.cache.CachingCustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.cache.CustomerCacheProperties;
+import br.com.postech.soat.grpc.customer.v1.CreateCustomerRequest;
+import br.com.postech.soat.grpc.customer.v1.CustomerServiceGrpc;
+import br.com.postech.soat.grpc.customer.v1.FindCustomerRequest;
+import br.com.postech.soat.grpc.customer.v1.LookupCustomersRequest;
+import br.com.postech.soat.grpc.customer.v1.LookupCustomersResponse;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class CustomerGrpcServiceTest {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    private CustomerRepository repository;
+    private Server server;
+    private ManagedChannel channel;
+    private CustomerServiceGrpc.CustomerServiceBlockingStub blockingStub;
+    private CustomerServiceGrpc.CustomerServiceStub asyncStub;
+
+    @BeforeEach
+    void setup() throws IOException {
+        repository = mock(CustomerRepository.class);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new CustomerGrpcService(repository))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+        blockingStub = CustomerServiceGrpc.newBlockingStub(channel);
+        asyncStub = CustomerServiceGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void teardown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static CustomerView view(String cpf) {
+        return new CustomerView(ID, "João", "joao@email.com", cpf, "11999999999");
+    }
+
+    private static StatusRuntimeException assertStatus(Status.Code code, Runnable call) {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, call::run);
+        assertEquals(code, exception.getStatus().getCode());
+        return exception;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void shouldFindCustomerByCpf() {
+        when(repository.findViewByCpf("12345678909")).thenReturn(Optional.of(view("12345678909")));
+
+        var customer = blockingStub.findCustomer(FindCustomerRequest.newBuilder().setCpf("123.456.789-09").build());
+
+        assertEquals(ID.toString(), customer.getId());
+        assertEquals("João", customer.getName());
+        assertEquals("12345678909", customer.getCpf());
+        assertEquals("11999999999", customer.getPhone());
+    }
+
+    @Test
+    void shouldLeavePhoneUnsetForCustomerStoredWithoutOne() {
+        when(repository.findViewByCpf("12345678909"))
+                .thenReturn(Optional.of(new CustomerView(ID, "João", "joao@email.com", "12345678909", null)));
+
+        var customer = blockingStub.findCustomer(FindCustomerRequest.newBuilder().setCpf("12345678909").build());
+
+        assertEquals("12345678909", customer.getCpf());
+        assertEquals("", customer.getPhone());
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenCustomerDoesNotExist() {
+        when(repository.findViewByCpf("12345678909")).thenReturn(Optional.empty());
+
+        assertStatus(Status.Code.NOT_FOUND,
+                () -> blockingStub.findCustomer(FindCustomerRequest.newBuilder().setCpf("12345678909").build()));
+    }
+
+    @Test
+    void shouldReturnInvalidArgumentForInvalidCpf() {
+        assertStatus(Status.Code.INVALID_ARGUMENT,
+                () -> blockingStub.findCustomer(FindCustomerRequest.newBuilder().setCpf("11111111111").build()));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldCreateCustomer() {
+        when(repository.register(any(Customer.class)))
+                .thenAnswer(invocation -> RegistrationResult.registered(invocation.getArgument(0)));
+
+        var customer = blockingStub.createCustomer(CreateCustomerRequest.newBuilder()
+                .setName("Maria")
+                .setEmail("maria@email.com")
+                .setCpf("53731833697")
+                .setPhone("11988887777")
+                .build());
+
+        assertFalse(customer.getId().isEmpty());
+        assertEquals("53731833697", customer.getCpf());
+        assertEquals("maria@email.com", customer.getEmail());
+    }
+
+    @Test
+    void shouldReturnAlreadyExistsWhenCustomerIsTaken() {
+        when(repository.register(any(Customer.class))).thenReturn(RegistrationResult.conflicted(List.of(CustomerUniqueKey.EMAIL)));
+
+        StatusRuntimeException exception = assertStatus(Status.Code.ALREADY_EXISTS, () -> blockingStub.createCustomer(
+                CreateCustomerRequest.newBuilder()
+                        .setName("Maria")
+                        .setEmail("maria@email.com")
+                        .setCpf("53731833697")
+                        .setPhone("11988887777")
+                        .build()));
+        assertTrue(exception.getStatus().getDescription().endsWith(": email"));
+    }
+
+    @Test
+    void shouldTellPoolTimeoutApartFromUnreachableDatabase() {
+        when(repository.findViewByCpf("12345678909")).thenThrow(new CannotGetJdbcConnectionException(
+                "Failed to obtain JDBC Connection", new SQLTransientConnectionException("request timed out after 1000ms")));
+        StatusRuntimeException exhausted = assertStatus(Status.Code.UNAVAILABLE, () -> blockingStub
+                .findCustomer(FindCustomerRequest.newBuilder().setCpf("12345678909").build()));
+        assertEquals("Database connection pool exhausted", exhausted.getStatus().getDescription());
+
+        when(repository.findViewByCpf("33400276170")).thenThrow(new CannotGetJdbcConnectionException(
+                "Failed to obtain JDBC Connection", new SQLException("Connection refused", "08001")));
+        StatusRuntimeException unreachable = assertStatus(Status.Code.UNAVAILABLE, () -> blockingStub
+                .findCustomer(FindCustomerRequest.newBuilder().setCpf("33400276170").build()));
+        assertEquals("Database unavailable", unreachable.getStatus().getDescription());
+    }
+
+    @Test
+    void shouldAnswerEachLookupRequestOnTheSameCall() throws ExecutionException, InterruptedException {
+        when(repository.findAllViewsByCpf(anyCollection())).thenAnswer(invocation -> {
+            List<CustomerView> found = new ArrayList<>();
+            for (Object cpf : invocation.getArgument(0, java.util.Collection.class)) {
+                if (!"98765432100".equals(cpf)) {
+                    found.add(view((String) cpf));
+                }
+            }
+            return found;
+        });
+
+        Responses responses = new Responses();
+        StreamObserver<LookupCustomersRequest> requests = asyncStub.lookupCustomers(responses);
+        requests.onNext(LookupCustomersRequest.newBuilder().addCpfs("53731833697").addCpfs("98765432100").build());
+        requests.onNext(LookupCustomersRequest.newBuilder().addCpfs("33400276170").build());
+        requests.onCompleted();
+
+        List<LookupCustomersResponse> received = responses.done.get();
+        assertEquals(2, received.size());
+        assertEquals("53731833697", received.get(0).getFound(0).getCpf());
+        assertEquals(List.of("98765432100"), received.get(0).getMissingList());
+        assertEquals("33400276170", received.get(1).getFound(0).getCpf());
+        assertTrue(received.get(1).getMissingList().isEmpty());
+    }
+
+    @Test
+    void shouldEndLookupWithInvalidArgumentForAnOversizedRequest() {
+        LookupCustomersRequest.Builder request = LookupCustomersRequest.newBuilder();
+        for (int i = 0; i <= 500; i++) {
+            request.addCpfs("12345678909");
+        }
+
+        Responses responses = new Responses();
+        StreamObserver<LookupCustomersRequest> requests = asyncStub.lookupCustomers(responses);
+        requests.onNext(request.build());
+
+        ExecutionException exception = assertThrows(ExecutionException.class, responses.done::get);
+        assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(exception.getCause()).getCode());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldFailWithDeadlineExceededWhenLookupOutlivesTheDeadline() {
+        when(repository.findViewByCpf("12345678909")).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return Optional.of(view("12345678909"));
+        });
+
+        assertStatus(Status.Code.DEADLINE_EXCEEDED, () -> blockingStub
+                .withDeadlineAfter(50, TimeUnit.MILLISECONDS)
+                .findCustomer(FindCustomerRequest.newBuilder().setCpf("12345678909").build()));
+    }
+
+    @Test
+    void shouldBoundQueriesByTheTimeLeftUntilTheDeadline() {
+        List<Integer> timeouts = new ArrayList<>();
+        when(repository.findViewByCpf("12345678909")).thenAnswer(invocation -> {
+            timeouts.add(QueryDeadline.timeoutSeconds(0));
+            return Optional.of(view("12345678909"));
+        });
+        FindCustomerRequest request = FindCustomerRequest.newBuilder().setCpf("12345678909").build();
+
+        blockingStub.withDeadlineAfter(5, TimeUnit.SECONDS).findCustomer(request);
+        blockingStub.findCustomer(request);
+
+        assertTrue(timeouts.get(0) >= 1 && timeouts.get(0) <= 5);
+        assertEquals(0, timeouts.get(1));
+    }
+
+    @Test
+    void shouldNotFailSharedLookupWhenTheLeadingCallsDeadlinePasses() throws Exception {
+        CustomerRepository delegate = mock(CustomerRepository.class);
+        CountDownLatch loading = new CountDownLatch(1);
+        when(delegate.findViewByCpf("12345678909")).thenAnswer(invocation -> {
+            loading.countDown();
+            Thread.sleep(300);
+            QueryDeadline.timeoutSeconds(0);
+            return Optional.of(view("12345678909"));
+        });
+        CachingCustomerRepository cache = new CachingCustomerRepository(delegate,
+                new CustomerCacheProperties(true, 100, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofSeconds(5)),
+                new SimpleMeterRegistry());
+        String name = InProcessServerBuilder.generateName();
+        Server cachedServer = InProcessServerBuilder.forName(name)
+                .addService(new CustomerGrpcService(cache))
+                .build()
+                .start();
+        ManagedChannel cachedChannel = InProcessChannelBuilder.forName(name).build();
+        try {
+            CompletableFuture<Optional<CustomerView>> httpLookup = CompletableFuture.supplyAsync(() -> {
+                await(loading);
+                return cache.findViewByCpf("12345678909");
+            });
+
+            assertStatus(Status.Code.DEADLINE_EXCEEDED, () -> CustomerServiceGrpc.newBlockingStub(cachedChannel)
+                    .withDeadlineAfter(50, TimeUnit.MILLISECONDS)
+                    .findCustomer(FindCustomerRequest.newBuilder().setCpf("12345678909").build()));
+
+            assertEquals("12345678909", httpLookup.get(5, TimeUnit.SECONDS).orElseThrow().cpf());
+            verify(delegate, times(1)).findViewByCpf("12345678909");
+        } finally {
+            cachedChannel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            cachedServer.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void shouldNotStartLookupsOnceTheDeadlineHasPassed() throws InterruptedException {
+        when(repository.findAllViewsByCpf(anyCollection())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of();
+        });
+
+        Responses responses = new Responses();
+        StreamObserver<LookupCustomersRequest> requests = asyncStub
+                .withDeadlineAfter(100, TimeUnit.MILLISECONDS)
+                .lookupCustomers(responses);
+        requests.onNext(LookupCustomersRequest.newBuilder().addCpfs("53731833697").build());
+        requests.onNext(LookupCustomersRequest.newBuilder().addCpfs("33400276170").build());
+
+        ExecutionException exception = assertThrows(ExecutionException.class, responses.done::get);
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, Status.fromThrowable(exception.getCause()).getCode());
+
+        Thread.sleep(400);
+        verify(repository, times(1)).findAllViewsByCpf(anyCollection());
+    }
+
+    private static final class Responses implements StreamObserver<LookupCustomersResponse> {
+
+        private final List<LookupCustomersResponse> received = new ArrayList<>();
+        private final CompletableFuture<List<LookupCustomersResponse>> done = new CompletableFuture<>();
+
+        @Override
+        public void onNext(LookupCustomersResponse response) {
+            received.add(response);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            done.complete(received);
+        }
+    }
+}
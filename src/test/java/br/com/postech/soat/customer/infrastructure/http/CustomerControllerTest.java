@@ -1,9 +1,17 @@
 package br.com.postech.soat.customer.infrastructure.http;
 
 import br.com.postech.soat.customer.application.dto.CreateCustomerDto;
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
 import br.com.postech.soat.customer.application.repositories.CustomerRepository;
 import br.com.postech.soat.customer.domain.entity.Customer;
 import br.com.postech.soat.customer.domain.valueobject.CustomerId;
+import br.com.postech.soat.openapi.model.CustomerLookupRequestDto;
+import br.com.postech.soat.openapi.model.CustomerLookupResponseDto;
+import br.com.postech.soat.openapi.model.FindCustomer200ResponseDto;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,9 +20,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.dao.QueryTimeoutException;
 
 import br.com.postech.soat.customer.domain.valueobject.CPF;
 import br.com.postech.soat.customer.domain.valueobject.CustomerId;
@@ -22,19 +34,34 @@ import br.com.postech.soat.customer.domain.valueobject.Email;
 import br.com.postech.soat.customer.domain.valueobject.Name;
 import br.com.postech.soat.customer.domain.valueobject.Phone;
 
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "customer.repository.decorators.enabled=false",
+        "customer.grpc.port=0"
+})
 class CustomerControllerTest {
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final CBORMapper CBOR_MAPPER = new CBORMapper();
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -58,37 +85,146 @@ class CustomerControllerTest {
 
     @Test
     void shouldReturn404Customers() throws Exception {
-        mockMvc.perform(get("/customers").param("cpf", "12345678910"))
+        mockMvc.perform(get("/customers").param("cpf", "12345678909"))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("Entity not found"));
+                .andExpect(jsonPath("$.message").value("Entity not found"))
+                .andExpect(jsonPath("$.conflicts").doesNotExist());
     }
 
     @Test
     void shouldReturn200WhenCustomerExists() throws Exception {
-        Customer customer = Customer.reconstitute(
-                CustomerId.generate(),
-                new Name("João da Silva"),
-                new CPF("12345678910"),
-                new Email("joao@email.com"),
-                new Phone("11999990000")
+        CustomerView customer = new CustomerView(
+                UUID.randomUUID(),
+                "João da Silva",
+                "joao@email.com",
+                "12345678909",
+                "11999990000"
         );
 
-        Mockito.when(customerRepository.findByCpf("12345678910"))
+        Mockito.when(customerRepository.findViewByCpf("12345678909"))
                 .thenReturn(Optional.of(customer));
 
         mockMvc.perform(get("/customers")
-                        .param("cpf", "12345678910"))
+                        .param("cpf", "12345678909"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.cpf").value("12345678910"))
+                .andExpect(jsonPath("$.cpf").value("12345678909"))
                 .andExpect(jsonPath("$.name").value("João da Silva"));
     }
 
+    @Test
+    void shouldReturnValidatorsWithCustomer() throws Exception {
+        UUID id = UUID.randomUUID();
+        CustomerView customer = new CustomerView(id, "João da Silva", "joao@email.com", "12345678909", "11999990000",
+                3, Instant.parse("2026-10-17T12:00:00Z"));
+
+        Mockito.when(customerRepository.findViewByCpf("12345678909"))
+                .thenReturn(Optional.of(customer));
+
+        mockMvc.perform(get("/customers")
+                        .param("cpf", "12345678909"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + id + "-3\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Sat, 17 Oct 2026 12:00:00 GMT"));
+    }
+
+    @Test
+    void shouldReturn304WithoutLoadingCustomerWhenETagMatches() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(customerRepository.findVersionByCpf("52998224725"))
+                .thenReturn(Optional.of(new CustomerVersion(id, 3, Instant.parse("2026-10-17T12:00:00Z"))));
+
+        mockMvc.perform(get("/customers")
+                        .param("cpf", "52998224725")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"" + id + "-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + id + "-3\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(customerRepository, Mockito.never()).findViewByCpf("52998224725");
+    }
+
+    @Test
+    void shouldReturn304WhenNotModifiedSince() throws Exception {
+        Mockito.when(customerRepository.findVersionByCpf("12345678909"))
+                .thenReturn(Optional.of(new CustomerVersion(UUID.randomUUID(), 0, Instant.parse("2026-10-17T12:00:00Z"))));
+
+        mockMvc.perform(get("/customers")
+                        .param("cpf", "12345678909")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 17 Oct 2026 12:00:00 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldReturnCustomerWhenETagIsStale() throws Exception {
+        UUID id = UUID.randomUUID();
+        CustomerView customer = new CustomerView(id, "João da Silva", "joao@email.com", "12345678909", "11999990000",
+                4, Instant.parse("2026-10-17T12:05:00Z"));
+        Mockito.when(customerRepository.findVersionByCpf("12345678909"))
+                .thenReturn(Optional.of(customer.toVersion()));
+        Mockito.when(customerRepository.findViewByCpf("12345678909"))
+                .thenReturn(Optional.of(customer));
+
+        mockMvc.perform(get("/customers")
+                        .param("cpf", "12345678909")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"" + id + "-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + id + "-4\""))
+                .andExpect(jsonPath("$.name").value("João da Silva"));
+    }
+
+    @Test
+    void shouldReturnCustomerAsCborWhenAccepted() throws Exception {
+        CustomerView customer = new CustomerView(UUID.randomUUID(), "João da Silva", "joao@email.com", "39053344705", "11999990000");
+        Mockito.when(customerRepository.findViewByCpf("39053344705"))
+                .thenReturn(Optional.of(customer));
+
+        byte[] body = mockMvc.perform(get("/customers")
+                        .param("cpf", "39053344705")
+                        .accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        FindCustomer200ResponseDto response = CBOR_MAPPER.readValue(body, FindCustomer200ResponseDto.class);
+        assertEquals(customer.id().toString(), response.getId());
+        assertEquals("João da Silva", response.getName());
+        assertEquals("39053344705", response.getCpf());
+    }
+
+    @Test
+    void shouldKeepJsonAsDefaultRepresentation() throws Exception {
+        mockMvc.perform(get("/customers")
+                        .param("cpf", "11144477735")
+                        .accept(MediaType.ALL))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldLookupCustomersWithCborBodies() throws Exception {
+        CustomerView customer = new CustomerView(UUID.randomUUID(), "Ana Souza", "ana@email.com", "98765432100", "11999990002");
+        Mockito.when(customerRepository.findAllViewsByCpf(Mockito.any()))
+                .thenReturn(List.of(customer));
+
+        byte[] body = mockMvc.perform(post("/customers/lookup")
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(CBOR_MAPPER.writeValueAsBytes(new CustomerLookupRequestDto().cpfs(List.of("98765432100", "52998224725")))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CustomerLookupResponseDto response = CBOR_MAPPER.readValue(body, CustomerLookupResponseDto.class);
+        assertEquals("98765432100", response.getFound().get(0).getCpf());
+        assertEquals(List.of("52998224725"), response.getMissing());
+    }
+
     @Test
     void shouldCreateCustomer() throws Exception {
 
         CreateCustomerDto dto = new CreateCustomerDto(
                 "João da Silva",
-                "12345678910",
+                "12345678909",
                 "joao@email.com",
                 "11999990000"
         );
@@ -96,32 +232,26 @@ class CustomerControllerTest {
         Customer saved = Customer.reconstitute(
                 CustomerId.generate(),
                 new Name("João da Silva"),
-                new CPF("12345678910"),
+                new CPF("12345678909"),
                 new Email("joao@email.com"),
                 new Phone("11999990000")
         );
 
-        Mockito.when(customerRepository.exists(
-                "12345678910",
-                "joao@email.com",
-                "11999990000"
-        )).thenReturn(false);
-
-        Mockito.when(customerRepository.save(Mockito.any()))
-                .thenReturn(saved);
+        Mockito.when(customerRepository.register(Mockito.any()))
+                .thenReturn(RegistrationResult.registered(saved));
 
         mockMvc.perform(post("/customers")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("""
             {
               "name": "João da Silva",
-              "cpf": "12345678910",
+              "cpf": "12345678909",
               "email": "joao@email.com",
               "phone": "11999990000"
             }
             """))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.cpf").value("12345678910"))
+                .andExpect(jsonPath("$.cpf").value("12345678909"))
                 .andExpect(jsonPath("$.name").value("João da Silva"));
     }
 
@@ -149,7 +279,7 @@ class CustomerControllerTest {
                         .content("""
             {
               "name": "João da Silva",
-              "cpf": "12345678910",
+              "cpf": "12345678909",
               "email": "joao",
               "phone": "11999990000"
             }
@@ -166,7 +296,7 @@ class CustomerControllerTest {
                         .content("""
             {
               "name": "João da Silva",
-              "cpf": "12345678910",
+              "cpf": "12345678909",
               "email": "joao.cardoso@email.com",
               "phone": "11345"
             }
@@ -178,17 +308,14 @@ class CustomerControllerTest {
 
     @Test
     void shouldReturn409WhenCpfAlreadyExists() throws Exception {
-        Mockito.when(customerRepository.exists(
-                "12345678910",
-                "joao@email.com",
-                "11999990000"
-        )).thenReturn(true);  // <--- CPF já existente
+        Mockito.when(customerRepository.register(Mockito.any()))
+                .thenReturn(RegistrationResult.conflicted(List.of(CustomerUniqueKey.CPF)));  // <--- CPF já existente
         mockMvc.perform(post("/customers")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("""
                 {
                   "name": "João da Silva",
-                  "cpf": "12345678910",
+                  "cpf": "12345678909",
                   "email": "joao@email.com",
                   "phone": "11999990000"
                 }
@@ -197,6 +324,102 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.status").value(409))
                 .andExpect(jsonPath("$.message").value("Resource conflict"))
                 .andExpect(jsonPath("$.error").isArray())
-                .andExpect(jsonPath("$.error[0]").value("Customer registration failed due to business rule violation"));
+                .andExpect(jsonPath("$.error[0]").value("Customer registration failed due to business rule violation"))
+                .andExpect(jsonPath("$.conflicts[0]").value("cpf"));
+    }
+
+    @Test
+    void shouldLookupCustomersInBatch() throws Exception {
+        CustomerView customer = new CustomerView(
+                UUID.randomUUID(),
+                "João da Silva",
+                "joao@email.com",
+                "12345678909",
+                "11999990000"
+        );
+
+        Mockito.when(customerRepository.findAllViewsByCpf(Mockito.anyCollection()))
+                .thenReturn(List.of(customer));
+
+        mockMvc.perform(post("/customers/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                {
+                  "cpfs": ["12345678909", "98765432100", "12345678909"]
+                }
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found[0].cpf").value("12345678909"))
+                .andExpect(jsonPath("$.found.length()").value(1))
+                .andExpect(jsonPath("$.missing[0]").value("98765432100"))
+                .andExpect(jsonPath("$.missing.length()").value(1));
+    }
+
+    @Test
+    void shouldRejectBatchLookupAboveLimit() throws Exception {
+        String cpfs = String.join(",", Collections.nCopies(501, "\"12345678909\""));
+
+        mockMvc.perform(post("/customers/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cpfs\": [" + cpfs + "]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Bad request"))
+                .andExpect(jsonPath("$.error[0]").value("A busca em lote deve conter entre 1 e 500 CPFs"));
+    }
+
+    @Test
+    void shouldReturn503WhenConnectionPoolIsExhausted() throws Exception {
+        Mockito.doThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                        new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 1000ms.")))
+                .when(customerRepository).findViewByCpf("98765432100");
+
+        mockMvc.perform(get("/customers").param("cpf", "98765432100"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Service unavailable"))
+                .andExpect(jsonPath("$.error[0]").value("Database connection pool exhausted"));
+    }
+
+    @Test
+    void shouldReturn503WithoutRetryAfterWhenDatabaseIsUnreachable() throws Exception {
+        Mockito.doThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                        new SQLException("Connection to localhost:5432 refused.", "08001")))
+                .when(customerRepository).findViewByCpf("98765432100");
+
+        mockMvc.perform(get("/customers").param("cpf", "98765432100"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist("Retry-After"))
+                .andExpect(jsonPath("$.error[0]").value("Database unavailable"));
+    }
+
+    @Test
+    void shouldReturn503WhenLookupTimesOut() throws Exception {
+        Mockito.doThrow(new QueryTimeoutException("Timed out waiting for a lookup already in flight"))
+                .when(customerRepository).findViewByCpf("98765432100");
+
+        mockMvc.perform(get("/customers").param("cpf", "98765432100"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error[0]").value("Database did not answer in time"));
+    }
+
+    @Test
+    void shouldReturn503WhenRegistrationTimesOut() throws Exception {
+        Mockito.when(customerRepository.register(Mockito.any()))
+                .thenThrow(new QueryTimeoutException("Group commit did not finish in time"));
+
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+            {
+              "name": "João da Silva",
+              "cpf": "12345678909",
+              "email": "joao@email.com",
+              "phone": "11999990000"
+            }
+            """))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Service unavailable"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package br.com.postech.soat.customer.infrastructure.http;
+
+import br.com.postech.soat.customer.application.dto.ExportCursor;
+import br.com.postech.soat.customer.application.repositories.CustomerExportRepository;
+import br.com.postech.soat.customer.application.repositories.CustomerExportSink;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "customer.repository.decorators.enabled=false",
+        "customer.grpc.port=0",
+        "customer.export.timeout=45m"
+})
+class CustomerExportControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerExportRepository customerExportRepository;
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        CustomerExportRepository customerExportRepository() {
+            return Mockito.mock(CustomerExportRepository.class);
+        }
+    }
+
+    @Test
+    void shouldStreamCustomersAsNdjson() throws Exception {
+        UUID id = UUID.fromString("0b6f9c1e-3c1d-4f7e-9a5b-2d8c6e4f1a20");
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-05-05T22:23:00Z");
+        ExportCursor cursor = new ExportCursor(createdAt, id);
+
+        Mockito.reset(customerExportRepository);
+        Mockito.when(customerExportRepository.exportPage(Mockito.eq(cursor), anyInt(), any())).thenReturn(null);
+        Mockito.when(customerExportRepository.exportPage(isNull(), anyInt(), any())).thenAnswer(invocation -> {
+            CustomerExportSink sink = invocation.getArgument(2);
+            sink.accept(id.toString(), "João da Silva", "joao@email.com", "53731833697", "11999990000", createdAt);
+            return cursor;
+        });
+
+        MvcResult result = mockMvc.perform(get("/customers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofMinutes(45).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().bytes("""
+                {"id":"0b6f9c1e-3c1d-4f7e-9a5b-2d8c6e4f1a20","name":"João da Silva","email":"joao@email.com","cpf":"53731833697","phone":"11999990000","createdAt":"2025-05-05T22:23Z"}
+                """.getBytes(StandardCharsets.UTF_8)));
+    }
+}
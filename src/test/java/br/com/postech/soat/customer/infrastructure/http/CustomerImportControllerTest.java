@@ -0,0 +1,125 @@
+package br.com.postech.soat.customer.infrastructure.http;
+
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "customer.repository.decorators.enabled=false",
+        "customer.grpc.port=0"
+})
+class CustomerImportControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        CustomerRepository customerRepository() {
+            return Mockito.mock(CustomerRepository.class);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldImportNdjsonAndReportRejectedRows() throws Exception {
+        Mockito.reset(customerRepository);
+        Mockito.when(customerRepository.registerAll(Mockito.anyList()))
+                .thenReturn(new boolean[]{true, false});
+
+        mockMvc.perform(post("/customers/import")
+                        .contentType("application/x-ndjson")
+                        .content("""
+                {"name": "João da Silva", "cpf": "53731833697", "email": "joao@email.com", "phone": "11999990000"}
+                {"name": "Maria", "cpf": "123", "email": "maria@email.com", "phone": "11999990001"}
+
+                {"name": "Ana"
+                {"name": "Pedro", "cpf": "33400276170", "email": "pedro@email.com", "phone": "11999990002"}
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].error").value("CPF inválido: 123"))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].error").value("JSON inválido"))
+                .andExpect(jsonPath("$.errors[2].line").value(5))
+                .andExpect(jsonPath("$.errors[2].error").value("Customer already exists"));
+
+        ArgumentCaptor<List<Customer>> batch = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(customerRepository).registerAll(batch.capture());
+        assertEquals(2, batch.getValue().size());
+    }
+
+    @Test
+    void shouldImportCsvWithQuotedFields() throws Exception {
+        Mockito.reset(customerRepository);
+        Mockito.when(customerRepository.registerAll(Mockito.anyList()))
+                .thenReturn(new boolean[]{true});
+
+        mockMvc.perform(post("/customers/import")
+                        .contentType("text/csv")
+                        .content("""
+                cpf,name,email,phone
+                53731833697,"Silva, João",joao@email.com,11999990000
+                33400276170,Maria
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].error").value("CSV inválido: esperadas 4 colunas"));
+    }
+
+    @Test
+    void shouldCountEveryRejectedRowButReportOnlyTheFirst() throws Exception {
+        Mockito.reset(customerRepository);
+        StringBuilder body = new StringBuilder("cpf,name,email,phone\n");
+        for (int i = 0; i < 1005; i++) {
+            body.append("33400276170,Maria\n");
+        }
+
+        mockMvc.perform(post("/customers/import")
+                        .contentType("text/csv")
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.rejected").value(1005))
+                .andExpect(jsonPath("$.errors.length()").value(1000))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[999].line").value(1001));
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredHeader() throws Exception {
+        mockMvc.perform(post("/customers/import")
+                        .contentType("text/csv")
+                        .content("""
+                cpf,name
+                53731833697,João
+                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error[0]").value("CSV inválido: o cabeçalho deve conter name, email, cpf e phone"));
+    }
+}
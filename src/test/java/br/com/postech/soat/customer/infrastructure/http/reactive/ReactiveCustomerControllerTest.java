@@ -0,0 +1,129 @@
+package br.com.postech.soat.customer.infrastructure.http.reactive;
+
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.ReactiveCustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.*;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@TestPropertySource(properties = {
+        "spring.main.web-application-type=reactive",
+        "customer.r2dbc.url=r2dbc:h2:mem:///reactive-controller-test",
+        "customer.r2dbc.username=sa",
+        "customer.r2dbc.password=",
+        "customer.r2dbc.max-size=2",
+        "customer.r2dbc.max-acquire-time=1s",
+        "customer.repository.decorators.enabled=false"
+})
+class ReactiveCustomerControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveCustomerRepository customerRepository;
+
+    @TestConfiguration
+    static class MockConfig {
+        @Bean
+        ReactiveCustomerRepository customerRepository() {
+            return Mockito.mock(ReactiveCustomerRepository.class);
+        }
+    }
+
+    @Test
+    void shouldFindCustomerByCpf() {
+        Customer customer = Customer.reconstitute(
+                new CustomerId(UUID.randomUUID()),
+                new Name("João da Silva"),
+                new CPF("53731833697"),
+                new Email("joao@email.com"),
+                new Phone("11999990000")
+        );
+        Mockito.when(customerRepository.findByCpf("53731833697")).thenReturn(Mono.just(customer));
+
+        webTestClient.get().uri("/customers?cpf=53731833697")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.cpf").isEqualTo("53731833697")
+                .jsonPath("$.name").isEqualTo("João da Silva");
+    }
+
+    @Test
+    void shouldReturn404WhenCustomerIsMissing() {
+        Mockito.when(customerRepository.findByCpf("33400276170")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/customers?cpf=33400276170")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Entity not found");
+    }
+
+    @Test
+    void shouldCreateCustomer() {
+        Mockito.when(customerRepository.register(Mockito.any()))
+                .thenAnswer(invocation -> Mono.just(RegistrationResult.registered(invocation.getArgument(0))));
+
+        webTestClient.post().uri("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                {"name": "João da Silva", "cpf": "53731833697", "email": "joao@email.com", "phone": "11999990000"}
+                """)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.cpf").isEqualTo("53731833697");
+    }
+
+    @Test
+    void shouldReturn409WhenCustomerAlreadyExists() {
+        Mockito.when(customerRepository.register(Mockito.any()))
+                .thenReturn(Mono.just(RegistrationResult.conflicted(List.of(CustomerUniqueKey.CPF))));
+
+        webTestClient.post().uri("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                {"name": "João da Silva", "cpf": "53731833697", "email": "joao@email.com", "phone": "11999990000"}
+                """)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.conflicts[0]").isEqualTo("cpf");
+    }
+
+    @Test
+    void shouldLookUpCustomersInBatch() {
+        Mockito.when(customerRepository.findAllViewsByCpf(Mockito.anyCollection())).thenReturn(Flux.just(
+                new CustomerView(UUID.randomUUID(), "João da Silva", "joao@email.com", "53731833697", "11999990000")));
+
+        webTestClient.post().uri("/customers/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                {"cpfs": ["53731833697", "33400276170"]}
+                """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.found[0].cpf").isEqualTo("53731833697")
+                .jsonPath("$.missing[0]").isEqualTo("33400276170");
+    }
+}
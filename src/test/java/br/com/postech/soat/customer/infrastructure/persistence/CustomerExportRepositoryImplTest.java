@@ -0,0 +1,67 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.customer.application.dto.ExportCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CustomerJdbcRepository.class, CustomerExportRepositoryImpl.class})
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false"
+})
+class CustomerExportRepositoryImplTest {
+
+    @Autowired
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    @Autowired
+    private CustomerExportRepositoryImpl customerExportRepository;
+
+    private void insert(String cpf, String email, String phone) {
+        customerJdbcRepository.insertIfAbsent(CustomerEntity.builder()
+                .id(UUID.randomUUID())
+                .cpf(cpf)
+                .name("João da Silva")
+                .email(email)
+                .phone(phone)
+                .build());
+    }
+
+    @Test
+    void shouldWalkAllRowsByKeysetWithoutRepeats() {
+        insert("53731833697", "joao@email.com", "11999990000");
+        insert("33400276170", "maria@email.com", "11999990001");
+        insert("98765432100", "ana@email.com", "11999990002");
+
+        List<String> exported = new ArrayList<>();
+        ExportCursor first = customerExportRepository.exportPage(null, 2,
+                (id, name, email, cpf, phone, createdAt) -> exported.add(cpf));
+        ExportCursor second = customerExportRepository.exportPage(first, 2,
+                (id, name, email, cpf, phone, createdAt) -> exported.add(cpf));
+        ExportCursor third = customerExportRepository.exportPage(second, 2,
+                (id, name, email, cpf, phone, createdAt) -> exported.add(cpf));
+
+        assertThat(exported).containsExactlyInAnyOrder("53731833697", "33400276170", "98765432100");
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(third).isNull();
+    }
+
+    @Test
+    void shouldReturnNoCursorForEmptyTable() {
+        assertThat(customerExportRepository.exportPage(null, 10,
+                (id, name, email, cpf, phone, createdAt) -> {
+                })).isNull();
+    }
+}
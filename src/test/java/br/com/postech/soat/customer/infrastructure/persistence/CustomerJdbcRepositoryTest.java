@@ -0,0 +1,131 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerVersion;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CustomerJdbcRepository.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false"
+})
+class CustomerJdbcRepositoryTest {
+
+    @Autowired
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private CustomerEntity entity(String cpf, String email, String phone) {
+        return CustomerEntity.builder()
+                .id(UUID.randomUUID())
+                .cpf(cpf)
+                .name("João da Silva")
+                .email(email)
+                .phone(phone)
+                .build();
+    }
+
+    @Test
+    void shouldInsertNewCustomer() {
+        assertThat(customerJdbcRepository.insertIfAbsent(entity("12345678910", "joao@email.com", "11999990000")))
+                .isTrue();
+    }
+
+    @Test
+    void shouldSkipInsertAndReportConflictingKeys() {
+        customerJdbcRepository.insertIfAbsent(entity("12345678910", "joao@email.com", "11999990000"));
+        CustomerEntity duplicate = entity("98765432100", "joao@email.com", "11999990000");
+
+        assertThat(customerJdbcRepository.insertIfAbsent(duplicate)).isFalse();
+        assertThat(customerJdbcRepository.findConflicts(duplicate))
+                .isEqualTo(List.of(CustomerUniqueKey.EMAIL, CustomerUniqueKey.PHONE));
+    }
+
+    @Test
+    void shouldInsertBatchSkippingConflictingRows() {
+        boolean[] inserted = customerJdbcRepository.insertAllIfAbsent(List.of(
+                entity("53731833697", "joao@email.com", "11999990000"),
+                entity("53731833697", "maria@email.com", "11999990001"),
+                entity("33400276170", "ana@email.com", "11999990002")
+        ));
+
+        assertThat(inserted).containsExactly(true, false, true);
+    }
+
+    @Test
+    void shouldLookUpRowsTheDriverReportsWithoutCounts() {
+        NamedParameterJdbcTemplate withoutCounts = spy(namedParameterJdbcTemplate);
+        doAnswer(invocation -> {
+            int[] counts = (int[]) invocation.callRealMethod();
+            Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+            return counts;
+        }).when(withoutCounts).batchUpdate(anyString(), any(SqlParameterSource[].class));
+
+        boolean[] inserted = new CustomerJdbcRepository(withoutCounts).insertAllIfAbsent(List.of(
+                entity("53731833697", "joao@email.com", "11999990000"),
+                entity("53731833697", "maria@email.com", "11999990001"),
+                entity("33400276170", "ana@email.com", "11999990002")
+        ));
+
+        assertThat(inserted).containsExactly(true, false, true);
+    }
+
+    @Test
+    void shouldProjectCustomerViewByCpf() {
+        CustomerEntity stored = entity("53731833697", "joao@email.com", "11999990000");
+        customerJdbcRepository.insertIfAbsent(stored);
+
+        assertThat(customerJdbcRepository.findViewByCpf("53731833697"))
+                .get()
+                .usingRecursiveComparison()
+                .ignoringFields("updatedAt")
+                .isEqualTo(new CustomerView(stored.getId(), "João da Silva", "joao@email.com", "53731833697", "11999990000"));
+        assertThat(customerJdbcRepository.findViewByCpf("53731833697").orElseThrow().updatedAt()).isNotNull();
+        assertThat(customerJdbcRepository.findViewByCpf("33400276170")).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    void shouldReadVersionMatchingCustomerView() {
+        CustomerEntity stored = entity("53731833697", "joao@email.com", "11999990000");
+        customerJdbcRepository.insertIfAbsent(stored);
+
+        CustomerVersion version = customerJdbcRepository.findVersionByCpf("53731833697").orElseThrow();
+
+        assertThat(version.id()).isEqualTo(stored.getId());
+        assertThat(version).isEqualTo(customerJdbcRepository.findViewByCpf("53731833697").orElseThrow().toVersion());
+        assertThat(customerJdbcRepository.findVersionByCpf("33400276170")).isEmpty();
+    }
+
+    @Test
+    void shouldProjectCustomerViewsForCpfBatch() {
+        customerJdbcRepository.insertIfAbsent(entity("53731833697", "joao@email.com", "11999990000"));
+        customerJdbcRepository.insertIfAbsent(entity("33400276170", "ana@email.com", "11999990002"));
+
+        assertThat(customerJdbcRepository.findAllViewsByCpf(List.of("53731833697", "33400276170", "98765432100")))
+                .extracting(CustomerView::cpf)
+                .containsExactlyInAnyOrder("53731833697", "33400276170");
+    }
+}
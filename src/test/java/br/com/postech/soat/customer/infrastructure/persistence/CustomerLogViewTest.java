@@ -0,0 +1,81 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerLogViewTest {
+
+    private static final UUID ID = UUID.fromString("0b4f0b8e-4a5e-4c47-9d07-6f0d6a1b2c3d");
+
+    private CustomerEntity entity(String name) {
+        return CustomerEntity.builder()
+                .id(ID)
+                .cpf("53731833697")
+                .name(name)
+                .email("joao@email.com")
+                .phone("11999990000")
+                .build();
+    }
+
+    @Test
+    void shouldRenderMaskedJson() {
+        String json = CustomerLogView.of(entity("João")).toString();
+
+        assertEquals("{\"id\":\"" + ID + "\",\"cpf\":\"53*****97\",\"name\":\"João\","
+                + "\"email\":\"jo**@email.com\",\"phone\":\"119*****00\"}", json);
+    }
+
+    @Test
+    void shouldEscapeJsonStrings() {
+        String json = CustomerLogView.of(entity("Jo\"ão\\\n")).toString();
+
+        assertTrue(json.contains("\"name\":\"Jo\\\"ão\\\\\\n\""), json);
+    }
+
+    @Test
+    void shouldRenderNullFields() {
+        String json = CustomerLogView.of(CustomerEntity.builder().id(ID).build()).toString();
+
+        assertEquals("{\"id\":\"" + ID + "\",\"cpf\":null,\"name\":null,\"email\":null,\"phone\":null}", json);
+    }
+
+    @Test
+    void shouldCaptureFieldsWhenLogged() {
+        CustomerEntity customerEntity = entity("João");
+        CustomerLogView view = CustomerLogView.of(customerEntity);
+
+        customerEntity.setName("Maria");
+
+        assertTrue(view.toString().contains("\"name\":\"João\""));
+    }
+
+    @Test
+    void shouldBeWrittenAsNestedObjectByBootLogstashFormat() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("logstash");
+        encoder.start();
+
+        LoggingEvent event = new LoggingEvent(getClass().getName(), context.getLogger("test"), Level.INFO, "Customer saved", null, null);
+        event.setKeyValuePairs(List.of(new KeyValuePair("customer", CustomerLogView.of(entity("João")))));
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        assertTrue(line.contains("\"customer\":{\"id\":\"" + ID + "\",\"cpf\":\"53*****97\""), line);
+    }
+}
@@ -1,9 +1,15 @@
 package br.com.postech.soat.customer.infrastructure.persistence;
 
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
 import br.com.postech.soat.customer.domain.entity.Customer;
 import br.com.postech.soat.customer.domain.valueobject.*;
+import br.com.postech.soat.customer.infrastructure.persistence.index.CpfIndex;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerInvalidationPublisher;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,22 +20,26 @@ import org.junit.jupiter.api.Test;
 
 class CustomerRepositoryImplTest {
 
-    private CustomerJpaRepository customerJpaRepository;
+    private CustomerJdbcRepository customerJdbcRepository;
     private CustomerPersistenceMapper mapper;
+    private CustomerInvalidationPublisher invalidationPublisher;
+    private CpfIndex cpfIndex;
     private CustomerRepositoryImpl repository;
 
     @BeforeEach
     void setup() {
-        customerJpaRepository = mock(CustomerJpaRepository.class);
+        customerJdbcRepository = mock(CustomerJdbcRepository.class);
         mapper = mock(CustomerPersistenceMapper.class);
-        repository = new CustomerRepositoryImpl(customerJpaRepository, mapper);
+        invalidationPublisher = mock(CustomerInvalidationPublisher.class);
+        cpfIndex = new CpfIndex(16);
+        repository = new CustomerRepositoryImpl(customerJdbcRepository, mapper, invalidationPublisher, cpfIndex);
     }
 
     private Customer sampleDomain() {
         return Customer.reconstitute(
                 new CustomerId(UUID.randomUUID()),
                 new Name("João"),
-                new CPF("12345678901"),
+                new CPF("12345678909"),
                 new Email("joao@email.com"),
                 new Phone("11999999999")
         );
@@ -39,73 +49,98 @@ class CustomerRepositoryImplTest {
         return CustomerEntity.builder()
                 .id(UUID.randomUUID())
                 .name("João")
-                .cpf("12345678901")
+                .cpf("12345678909")
                 .email("joao@email.com")
                 .phone("11999999999")
                 .build();
     }
 
     @Test
-    void shouldSaveCustomerCorrectly() {
-        Customer domain = sampleDomain();
-        CustomerEntity entity = sampleEntity();
+    void shouldFindViewByCpfWithoutLoadingEntity() {
+        CustomerView view = new CustomerView(UUID.randomUUID(), "João", "joao@email.com", "12345678909", "11999999999");
+        when(customerJdbcRepository.findViewByCpf("12345678909")).thenReturn(Optional.of(view));
 
-        when(mapper.toEntity(domain)).thenReturn(entity);
-        when(customerJpaRepository.save(entity)).thenReturn(entity);
-        when(mapper.toModel(entity)).thenReturn(domain);
+        assertEquals(Optional.of(view), repository.findViewByCpf("12345678909"));
 
-        Customer saved = repository.save(domain);
+        verifyNoInteractions(mapper);
+        assertEquals(view.id(), cpfIndex.get("12345678909"));
+    }
+
+    @Test
+    void shouldFindAllViewsByCpfAndSkipEmptyBatch() {
+        CustomerView view = new CustomerView(UUID.randomUUID(), "João", "joao@email.com", "12345678909", "11999999999");
+        when(customerJdbcRepository.findAllViewsByCpf(List.of("12345678909", "98765432100"))).thenReturn(List.of(view));
 
-        assertEquals(domain, saved);
+        assertEquals(List.of(view), repository.findAllViewsByCpf(List.of("12345678909", "98765432100")));
+        assertTrue(repository.findAllViewsByCpf(List.of()).isEmpty());
 
-        verify(mapper).toEntity(domain);
-        verify(customerJpaRepository).save(entity);
-        verify(mapper).toModel(entity);
+        verify(customerJdbcRepository, times(1)).findAllViewsByCpf(any());
+        verifyNoInteractions(mapper);
     }
 
     @Test
-    void shouldFindCustomerByCpf() {
-        CustomerEntity entity = sampleEntity();
+    void shouldRegisterCustomerWithSingleInsert() {
         Customer domain = sampleDomain();
+        CustomerEntity entity = sampleEntity();
 
-        when(customerJpaRepository.findByCpf("12345678901"))
-                .thenReturn(Optional.of(entity));
+        when(mapper.toEntity(domain)).thenReturn(entity);
+        when(customerJdbcRepository.insertIfAbsent(entity)).thenReturn(true);
 
-        when(mapper.toModel(entity)).thenReturn(domain);
+        RegistrationResult result = repository.register(domain);
 
-        Optional<Customer> result = repository.findByCpf("12345678901");
+        assertTrue(result.isRegistered());
+        assertEquals(domain, result.customer());
+        verify(customerJdbcRepository, never()).findConflicts(any());
+        verify(invalidationPublisher).publish(List.of("12345678909"));
+        assertEquals(entity.getId(), cpfIndex.get("12345678909"));
+    }
 
-        assertTrue(result.isPresent());
-        assertEquals(domain, result.get());
+    @Test
+    void shouldAnswerIndexedCpfWithoutInsert() {
+        Customer domain = sampleDomain();
+        CustomerEntity entity = sampleEntity();
+        cpfIndex.put("12345678909", UUID.randomUUID());
+
+        when(mapper.toEntity(domain)).thenReturn(entity);
+        when(customerJdbcRepository.findConflicts(entity)).thenReturn(List.of(CustomerUniqueKey.CPF, CustomerUniqueKey.EMAIL));
 
-        verify(customerJpaRepository).findByCpf("12345678901");
-        verify(mapper).toModel(entity);
+        RegistrationResult result = repository.register(domain);
+
+        assertFalse(result.isRegistered());
+        assertEquals(List.of(CustomerUniqueKey.CPF, CustomerUniqueKey.EMAIL), result.conflicts());
+        verify(customerJdbcRepository, never()).insertIfAbsent(any());
+        verifyNoInteractions(invalidationPublisher);
     }
 
     @Test
-    void shouldReturnEmptyWhenCpfNotFound() {
-        when(customerJpaRepository.findByCpf("000")).thenReturn(Optional.empty());
+    void shouldDropStaleIndexedCpfAndInsert() {
+        Customer domain = sampleDomain();
+        CustomerEntity entity = sampleEntity();
+        cpfIndex.put("12345678909", UUID.randomUUID());
 
-        Optional<Customer> result = repository.findByCpf("000");
+        when(mapper.toEntity(domain)).thenReturn(entity);
+        when(customerJdbcRepository.findConflicts(entity)).thenReturn(List.of());
+        when(customerJdbcRepository.insertIfAbsent(entity)).thenReturn(true);
 
-        assertTrue(result.isEmpty());
+        RegistrationResult result = repository.register(domain);
 
-        verify(customerJpaRepository).findByCpf("000");
-        verify(mapper, never()).toModel(any());
+        assertTrue(result.isRegistered());
+        assertEquals(entity.getId(), cpfIndex.get("12345678909"));
     }
 
     @Test
-    void shouldReturnExistsCorrectly() {
-        when(customerJpaRepository.existsByCpfOrEmailOrPhone(
-                "111", "a@a.com", "9999"))
-                .thenReturn(true);
+    void shouldReportConflictingKeysWhenRegistrationCollides() {
+        Customer domain = sampleDomain();
+        CustomerEntity entity = sampleEntity();
 
-        boolean exists = repository.exists("111", "a@a.com", "9999");
+        when(mapper.toEntity(domain)).thenReturn(entity);
+        when(customerJdbcRepository.insertIfAbsent(entity)).thenReturn(false);
+        when(customerJdbcRepository.findConflicts(entity)).thenReturn(List.of(CustomerUniqueKey.EMAIL));
 
-        assertTrue(exists);
+        RegistrationResult result = repository.register(domain);
 
-        verify(customerJpaRepository)
-                .existsByCpfOrEmailOrPhone("111", "a@a.com", "9999");
+        assertFalse(result.isRegistered());
+        assertEquals(List.of(CustomerUniqueKey.EMAIL), result.conflicts());
+        verifyNoInteractions(invalidationPublisher);
     }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineAwareJdbcTemplateTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = new DeadlineAwareJdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("SELECT 1");
+    }
+
+    private int queryTimeout() {
+        return jdbcTemplate.execute((StatementCallback<Integer>) Statement::getQueryTimeout);
+    }
+
+    @Test
+    void shouldLeaveTimeoutUnsetWithoutDeadline() {
+        assertEquals(0, queryTimeout());
+    }
+
+    @Test
+    void shouldRoundTimeLeftUntilTheDeadlineUpToWholeSeconds() {
+        assertEquals(3, QueryDeadline.within(Duration.ofMillis(2900), this::queryTimeout));
+    }
+
+    @Test
+    void shouldKeepConfiguredTimeoutWhenShorter() {
+        jdbcTemplate.setQueryTimeout(1);
+
+        assertEquals(1, QueryDeadline.within(Duration.ofSeconds(10), this::queryTimeout));
+    }
+
+    @Test
+    void shouldKeepEarlierDeadlineOfEnclosingScope() {
+        int timeout = QueryDeadline.within(Duration.ofSeconds(2),
+                () -> QueryDeadline.within(Duration.ofSeconds(30), this::queryTimeout));
+
+        assertEquals(2, timeout);
+        assertEquals(0, queryTimeout());
+    }
+
+    @Test
+    void shouldNotSendStatementOnceTheDeadlineHasPassed() {
+        assertThrows(QueryTimeoutException.class, () -> QueryDeadline.within(Duration.ZERO, this::queryTimeout));
+    }
+}
@@ -0,0 +1,299 @@
+package br.com.postech.soat.customer.infrastructure.persistence;
+
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.CPF;
+import br.com.postech.soat.customer.domain.valueobject.Email;
+import br.com.postech.soat.customer.domain.valueobject.Name;
+import br.com.postech.soat.customer.domain.valueobject.Phone;
+import br.com.postech.soat.customer.infrastructure.persistence.index.CpfIndex;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerCacheInvalidationProperties;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerInvalidationPublisher;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the migrations that move {@code customers} to the partitioned table against PostgreSQL,
+ * with rows written before and during the move, then exercises the repository on the result.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PartitionedCustomersMigrationTest {
+
+    private static final int EXISTING_CUSTOMERS = 1200;
+    private static final int CONCURRENT_REGISTRATIONS = 8;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17");
+
+    private static final AtomicLong NEXT_BASE = new AtomicLong(200_000_000L);
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static CustomerRepositoryImpl customerRepository;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(POSTGRES.getJdbcUrl());
+        dataSource.setUsername(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        dataSource.setMaximumPoolSize(CONCURRENT_REGISTRATIONS + 2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        migrateTo("202610171200");
+        for (int i = 0; i < EXISTING_CUSTOMERS; i++) {
+            insertIntoCurrentTable(nextCpf());
+        }
+
+        // writes between the mirror trigger and the swap reach both tables
+        migrateTo("202610171300");
+        insertIntoCurrentTable("52998224725");
+        jdbcTemplate.update("UPDATE customers SET email = 'renamed@example.com' WHERE document_identifier = '52998224725'");
+        String deletedCpf = jdbcTemplate.queryForObject("SELECT document_identifier FROM customers ORDER BY id LIMIT 1", String.class);
+        jdbcTemplate.update("DELETE FROM customers WHERE document_identifier = ?", deletedCpf);
+
+        migrateTo("latest");
+
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        CustomerInvalidationPublisher invalidationPublisher = new CustomerInvalidationPublisher(
+            jdbcTemplate,
+            new CustomerCacheInvalidationProperties(false, "customer_invalidation", null, null, null),
+            new SimpleMeterRegistry());
+        customerRepository = new CustomerRepositoryImpl(
+            new CustomerJdbcRepository(namedParameterJdbcTemplate), new CustomerPersistenceMapper(), invalidationPublisher, new CpfIndex(1024));
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.close();
+    }
+
+    private static void migrateTo(String target) {
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .target(target)
+            .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+            .load()
+            .migrate();
+    }
+
+    private static void insertIntoCurrentTable(String cpf) {
+        jdbcTemplate.update(
+            "INSERT INTO customers (id, name, email, phone, document_identifier) VALUES (?, ?, ?, ?, ?)",
+            UUID.randomUUID(), "Cliente " + cpf, cpf + "@example.com", "11" + cpf.substring(2), cpf);
+    }
+
+    @Test
+    void shouldMoveEveryCustomerAndClaimItsKeys() {
+        assertThat(jdbcTemplate.queryForObject("SELECT max(version) FROM flyway_schema_history WHERE success", String.class))
+            .isEqualTo("202610171400");
+        assertThat(count("SELECT count(*) FROM customers_unpartitioned"))
+            .isEqualTo(EXISTING_CUSTOMERS);
+        assertThat(count("""
+            SELECT count(*) FROM customers_unpartitioned u
+            WHERE NOT EXISTS (SELECT 1 FROM customers c
+                              WHERE c.document_identifier = u.document_identifier
+                                AND c.id = u.id AND c.email = u.email AND c.phone = u.phone)
+            """))
+            .isZero();
+        assertThat(count("""
+            SELECT count(*) FROM customer_emails e
+            WHERE NOT EXISTS (SELECT 1 FROM customers c WHERE c.email = e.email AND c.document_identifier = e.document_identifier)
+            """))
+            .isZero();
+        assertThat(count("""
+            SELECT count(*) FROM customers c
+            WHERE NOT EXISTS (SELECT 1 FROM customer_emails e WHERE e.email = c.email AND e.document_identifier = c.document_identifier)
+               OR NOT EXISTS (SELECT 1 FROM customer_phones p WHERE p.phone = c.phone AND p.document_identifier = c.document_identifier)
+            """))
+            .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT document_identifier FROM customer_emails WHERE email = 'renamed@example.com'", String.class))
+            .isEqualTo("52998224725");
+        assertThat(count("SELECT count(*) FROM customer_emails WHERE email = '52998224725@example.com'"))
+            .isZero();
+    }
+
+    @Test
+    void shouldRegisterAndReportEveryTakenKey() {
+        Customer customer = customer(nextCpf(), "registered@example.com", "11987650001");
+
+        assertThat(customerRepository.register(customer).isRegistered()).isTrue();
+
+        RegistrationResult sameCpf = customerRepository.register(customer(customer.getCpf().value(), "other@example.com", "11987650002"));
+        RegistrationResult sameEmailAndPhone = customerRepository.register(customer(nextCpf(), "registered@example.com", "11987650001"));
+
+        assertThat(sameCpf.conflicts()).containsExactly(CustomerUniqueKey.CPF);
+        assertThat(sameEmailAndPhone.conflicts()).containsExactlyInAnyOrder(CustomerUniqueKey.EMAIL, CustomerUniqueKey.PHONE);
+        assertThat(count("SELECT count(*) FROM customer_emails WHERE email = 'other@example.com'")).isZero();
+        assertThat(count("SELECT count(*) FROM customer_phones WHERE phone = '11987650002'")).isZero();
+    }
+
+    @Test
+    void shouldRegisterAllSkippingTakenKeys() {
+        Customer first = customer(nextCpf(), "batch-first@example.com", "11987651001");
+        Customer second = customer(nextCpf(), "batch-second@example.com", "11987651002");
+        Customer sameEmail = customer(nextCpf(), "batch-first@example.com", "11987651003");
+        Customer samePhone = customer(nextCpf(), "batch-fourth@example.com", "11987651002");
+
+        boolean[] registered = customerRepository.registerAll(List.of(first, second, sameEmail, samePhone));
+
+        assertThat(registered).containsExactly(true, true, false, false);
+        assertThat(count("SELECT count(*) FROM customer_emails WHERE email = 'batch-fourth@example.com'")).isZero();
+        assertThat(count("SELECT count(*) FROM customer_phones WHERE phone = '11987651003'")).isZero();
+    }
+
+    @Test
+    void shouldLetOnlyOneConcurrentRegistrationOfAnEmailWin() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REGISTRATIONS; i++) {
+            customers.add(customer(nextCpf(), "contended@example.com", "1198765200" + i));
+        }
+
+        List<RegistrationResult> results = registerConcurrently(customers);
+
+        assertThat(results).filteredOn(RegistrationResult::isRegistered).hasSize(1);
+        assertThat(results).filteredOn(result -> !result.isRegistered())
+            .allSatisfy(result -> assertThat(result.conflicts()).containsExactly(CustomerUniqueKey.EMAIL));
+        assertThat(count("SELECT count(*) FROM customers WHERE email = 'contended@example.com'")).isEqualTo(1);
+        assertThat(count("SELECT count(*) FROM customer_phones WHERE phone LIKE '1198765200%'")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLetOnlyOneConcurrentRegistrationOfACpfWin() throws Exception {
+        String cpf = nextCpf();
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REGISTRATIONS; i++) {
+            customers.add(customer(cpf, "same-cpf-" + i + "@example.com", "1198765300" + i));
+        }
+
+        List<RegistrationResult> results = registerConcurrently(customers);
+
+        assertThat(results).filteredOn(RegistrationResult::isRegistered).hasSize(1);
+        assertThat(results).filteredOn(result -> !result.isRegistered())
+            .allSatisfy(result -> assertThat(result.conflicts()).containsExactly(CustomerUniqueKey.CPF));
+        assertThat(count("SELECT count(*) FROM customer_emails WHERE document_identifier = '" + cpf + "'")).isEqualTo(1);
+        assertThat(count("SELECT count(*) FROM customer_phones WHERE document_identifier = '" + cpf + "'")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailPlainInsertOfTakenEmailOrPhoneWithUniqueViolation() {
+        Customer holder = customer(nextCpf(), "holder@example.com", "11987654001");
+        customerRepository.register(holder);
+
+        assertThatThrownBy(() -> insertIntoCustomers(nextCpf(), "holder@example.com", "11987654002"))
+            .isInstanceOf(DuplicateKeyException.class)
+            .satisfies(exception -> assertThat(violatedConstraint(exception)).isEqualTo("customer_emails_pkey"));
+        assertThatThrownBy(() -> insertIntoCustomers(nextCpf(), "holder-phone@example.com", "11987654001"))
+            .isInstanceOf(DuplicateKeyException.class)
+            .satisfies(exception -> assertThat(violatedConstraint(exception)).isEqualTo("customer_phones_pkey"));
+        assertThat(count("SELECT count(*) FROM customer_emails WHERE email = 'holder-phone@example.com'")).isZero();
+    }
+
+    @Test
+    void shouldDecideOnTheSettingRatherThanTheStatementText() {
+        Customer holder = customer(nextCpf(), "text-holder@example.com", "11987655001");
+        customerRepository.register(holder);
+
+        assertThatThrownBy(() -> jdbcTemplate.update(
+            "/* ON CONFLICT DO NOTHING */ INSERT INTO customers (id, name, email, phone, document_identifier) VALUES (?, ?, ?, ?, ?)",
+            UUID.randomUUID(), "Cliente", "text-holder@example.com", "11987655002", nextCpf()))
+            .isInstanceOf(DuplicateKeyException.class);
+        assertThat(jdbcTemplate.update("""
+            INSERT INTO customers (id, name, email, phone, document_identifier)
+            SELECT ?, ?, ?, ?, ?
+            WHERE set_config('customers.insert_conflicts', 'skip', true) IS NOT NULL
+            ON CONFLICT (document_identifier) DO NOTHING
+            """, UUID.randomUUID(), "Cliente", "text-holder@example.com", "11987655003", nextCpf()))
+            .isZero();
+        assertThat(count("SELECT count(*) FROM customer_phones WHERE phone IN ('11987655002', '11987655003')")).isZero();
+    }
+
+    private void insertIntoCustomers(String cpf, String email, String phone) {
+        jdbcTemplate.update(
+            "INSERT INTO customers (id, name, email, phone, document_identifier) VALUES (?, ?, ?, ?, ?)",
+            UUID.randomUUID(), "Cliente " + cpf, email, phone, cpf);
+    }
+
+    private static String violatedConstraint(Throwable exception) {
+        PSQLException cause = (PSQLException) exception.getCause();
+        assertThat(cause.getSQLState()).isEqualTo("23505");
+        return cause.getServerErrorMessage().getConstraint();
+    }
+
+    private List<RegistrationResult> registerConcurrently(List<Customer> customers) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(customers.size());
+        try {
+            List<Future<RegistrationResult>> futures = new ArrayList<>();
+            for (Customer customer : customers) {
+                Callable<RegistrationResult> registration = () -> {
+                    start.await();
+                    return customerRepository.register(customer);
+                };
+                futures.add(executor.submit(registration));
+            }
+            start.countDown();
+
+            List<RegistrationResult> results = new ArrayList<>();
+            for (Future<RegistrationResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static Customer customer(String cpf, String email, String phone) {
+        return Customer.create(new Name("Cliente " + cpf), new Email(email), new CPF(cpf), new Phone(phone));
+    }
+
+    /**
+     * Next valid CPF: a nine-digit base followed by its two mod-11 check digits.
+     */
+    private static String nextCpf() {
+        String digits = Long.toString(NEXT_BASE.getAndIncrement());
+        int first = checkDigit(digits, 10);
+        return digits + first + checkDigit(digits + first, 11);
+    }
+
+    private static int checkDigit(String digits, int weight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (weight - i);
+        }
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+}
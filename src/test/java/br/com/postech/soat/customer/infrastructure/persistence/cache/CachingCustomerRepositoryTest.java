@@ -0,0 +1,213 @@
+package br.com.postech.soat.customer.infrastructure.persistence.cache;
+
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingCustomerRepositoryTest {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    private CustomerRepository delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingCustomerRepository repository;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(CustomerRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CachingCustomerRepository(
+                delegate,
+                new CustomerCacheProperties(true, 100, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofSeconds(5)),
+                meterRegistry
+        );
+    }
+
+    private Customer sampleDomain() {
+        return Customer.reconstitute(
+                new CustomerId(ID),
+                new Name("João"),
+                new CPF("12345678909"),
+                new Email("joao@email.com"),
+                new Phone("11999999999")
+        );
+    }
+
+    private CustomerView sampleView() {
+        return new CustomerView(ID, "João", "joao@email.com", "12345678909", "11999999999");
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        CustomerView customer = sampleView();
+        when(delegate.findViewByCpf("12345678909")).thenReturn(Optional.of(customer));
+
+        assertEquals(customer, repository.findViewByCpf("12345678909").orElseThrow());
+        assertEquals(customer, repository.findViewByCpf("12345678909").orElseThrow());
+
+        verify(delegate, times(1)).findViewByCpf("12345678909");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldAnswerVersionFromCachedView() {
+        CustomerView customer = new CustomerView(ID, "João", "joao@email.com", "12345678909", "11999999999",
+                2, Instant.parse("2026-10-17T12:00:00Z"));
+        when(delegate.findViewByCpf("12345678909")).thenReturn(Optional.of(customer));
+        repository.findViewByCpf("12345678909");
+
+        assertEquals(customer.toVersion(), repository.findVersionByCpf("12345678909").orElseThrow());
+
+        verify(delegate, never()).findVersionByCpf("12345678909");
+    }
+
+    @Test
+    void shouldCacheMisses() {
+        when(delegate.findViewByCpf("00000000000")).thenReturn(Optional.empty());
+
+        assertTrue(repository.findViewByCpf("00000000000").isEmpty());
+        assertTrue(repository.findViewByCpf("00000000000").isEmpty());
+
+        verify(delegate, times(1)).findViewByCpf("00000000000");
+        assertEquals(1.0, meterRegistry.get("cache.negative.hits").counter().count());
+    }
+
+    @Test
+    void shouldNotCacheFailedLookups() {
+        when(delegate.findViewByCpf("12345678909"))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> repository.findViewByCpf("12345678909"));
+        assertTrue(repository.findViewByCpf("12345678909").isEmpty());
+
+        verify(delegate, times(2)).findViewByCpf("12345678909");
+    }
+
+    @Test
+    void shouldLoadOnlyUncachedCpfsInBatch() {
+        CustomerView customer = sampleView();
+        when(delegate.findViewByCpf("12345678909")).thenReturn(Optional.of(customer));
+        when(delegate.findAllViewsByCpf(List.of("98765432100"))).thenReturn(List.of());
+        repository.findViewByCpf("12345678909");
+
+        List<CustomerView> found = repository.findAllViewsByCpf(List.of("12345678909", "98765432100"));
+
+        assertEquals(List.of(customer), found);
+        verify(delegate).findAllViewsByCpf(List.of("98765432100"));
+
+        assertTrue(repository.findViewByCpf("98765432100").isEmpty());
+        verify(delegate, never()).findViewByCpf("98765432100");
+    }
+
+    @Test
+    void shouldInvalidateCachedMissOnRegistration() {
+        Customer customer = sampleDomain();
+        when(delegate.findViewByCpf("12345678909")).thenReturn(Optional.empty(), Optional.of(sampleView()));
+        when(delegate.register(customer)).thenReturn(RegistrationResult.registered(customer));
+
+        assertTrue(repository.findViewByCpf("12345678909").isEmpty());
+        repository.register(customer);
+
+        assertTrue(repository.findViewByCpf("12345678909").isPresent());
+    }
+
+    @Test
+    void shouldNotCacheLoadInvalidatedWhileInFlight() {
+        Customer customer = sampleDomain();
+        when(delegate.register(customer)).thenReturn(RegistrationResult.registered(customer));
+        when(delegate.findViewByCpf("12345678909"))
+                .thenAnswer(invocation -> {
+                    repository.register(customer);
+                    return Optional.empty();
+                })
+                .thenReturn(Optional.of(sampleView()));
+
+        assertTrue(repository.findViewByCpf("12345678909").isEmpty());
+
+        assertTrue(repository.findViewByCpf("12345678909").isPresent());
+        verify(delegate, times(2)).findViewByCpf("12345678909");
+    }
+
+    @Test
+    void shouldNotCacheBatchLoadInvalidatedWhileInFlight() {
+        Customer customer = sampleDomain();
+        when(delegate.register(customer)).thenReturn(RegistrationResult.registered(customer));
+        when(delegate.findAllViewsByCpf(List.of("12345678909", "98765432100")))
+                .thenAnswer(invocation -> {
+                    repository.register(customer);
+                    return List.of();
+                });
+        when(delegate.findViewByCpf("12345678909")).thenReturn(Optional.of(sampleView()));
+
+        assertTrue(repository.findAllViewsByCpf(List.of("12345678909", "98765432100")).isEmpty());
+
+        assertTrue(repository.findViewByCpf("12345678909").isPresent());
+        assertTrue(repository.findViewByCpf("98765432100").isEmpty());
+        verify(delegate, never()).findViewByCpf("98765432100");
+    }
+
+    @Test
+    void shouldFailEveryWaiterWhenBatchLoadFails() {
+        when(delegate.findAllViewsByCpf(List.of("12345678909"))).thenThrow(new IllegalStateException("down"));
+        when(delegate.findViewByCpf("12345678909")).thenReturn(Optional.of(sampleView()));
+
+        assertThrows(IllegalStateException.class, () -> repository.findAllViewsByCpf(List.of("12345678909")));
+
+        assertTrue(repository.findViewByCpf("12345678909").isPresent());
+    }
+
+    @Test
+    void shouldNotLeaveLookupPendingWhenLoadFailsWithError() {
+        when(delegate.findViewByCpf("12345678909"))
+                .thenThrow(new AssertionError("driver bug"))
+                .thenReturn(Optional.of(sampleView()));
+
+        assertThrows(AssertionError.class, () -> repository.findViewByCpf("12345678909"));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> assertTrue(repository.findViewByCpf("12345678909").isPresent()));
+    }
+
+    @Test
+    void shouldStopWaitingForLoadInFlightAfterLoadTimeout() throws InterruptedException {
+        CachingCustomerRepository repository = new CachingCustomerRepository(
+                delegate,
+                new CustomerCacheProperties(true, 100, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofMillis(50)),
+                meterRegistry
+        );
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findViewByCpf("12345678909")).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(sampleView());
+        });
+        CompletableFuture<Optional<CustomerView>> leader =
+                CompletableFuture.supplyAsync(() -> repository.findViewByCpf("12345678909"));
+        loading.await();
+
+        assertThrows(QueryTimeoutException.class, () -> repository.findViewByCpf("12345678909"));
+
+        release.countDown();
+        assertTrue(leader.join().isPresent());
+        verify(delegate, times(1)).findViewByCpf("12345678909");
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.postech.soat.customer.infrastructure.persistence.coalescing;
+
+import br.com.postech.soat.customer.infrastructure.persistence.QueryDeadline;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final long TIMEOUT = Duration.ofSeconds(5).toNanos();
+
+    private final List<SingleFlight.Role> roles = Collections.synchronizedList(new ArrayList<>());
+
+    private <V> CompletableFuture<V> callAsync(SingleFlight<String, V> flight, Supplier<V> loader) {
+        return CompletableFuture.supplyAsync(() -> flight.call("12345678909", loader, roles::add));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitInFlight(SingleFlight<?, ?> flight, int count) throws InterruptedException {
+        while (flight.inFlight() != count) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void shouldShareLoadWithConcurrentCallers() throws InterruptedException {
+        SingleFlight<String, String> flight = new SingleFlight<>(10, TIMEOUT);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "João";
+        };
+
+        CompletableFuture<String> leader = callAsync(flight, loader);
+        awaitInFlight(flight, 1);
+        CompletableFuture<String> follower = callAsync(flight, loader);
+        while (roles.size() < 2) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertEquals("João", leader.join());
+        assertEquals("João", follower.join());
+        assertEquals(1, loads.get());
+        assertEquals(List.of(SingleFlight.Role.LEADER, SingleFlight.Role.SHARED), roles);
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void shouldPropagateFailureToEveryCaller() throws InterruptedException {
+        SingleFlight<String, String> flight = new SingleFlight<>(10, TIMEOUT);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> loader = () -> {
+            await(release);
+            throw new IllegalStateException("connection lost");
+        };
+
+        CompletableFuture<String> leader = callAsync(flight, loader);
+        awaitInFlight(flight, 1);
+        CompletableFuture<String> follower = callAsync(flight, loader);
+        while (roles.size() < 2) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        CompletionException leaderError = assertThrows(CompletionException.class, leader::join);
+        CompletionException followerError = assertThrows(CompletionException.class, follower::join);
+        assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+        assertSame(leaderError.getCause(), followerError.getCause());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void shouldLoadAgainOnceLoadEnded() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(10, TIMEOUT);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.call("12345678909", loads::incrementAndGet, roles::add);
+        flight.call("12345678909", loads::incrementAndGet, roles::add);
+
+        assertEquals(2, loads.get());
+        assertEquals(List.of(SingleFlight.Role.LEADER, SingleFlight.Role.LEADER), roles);
+    }
+
+    @Test
+    void shouldLoadDirectlyWhenTooManyKeysAreInFlight() throws InterruptedException {
+        SingleFlight<String, String> flight = new SingleFlight<>(1, TIMEOUT);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> blocked = CompletableFuture.supplyAsync(() -> flight.call("11144477735", () -> {
+            await(release);
+            return "Maria";
+        }, roles::add));
+        awaitInFlight(flight, 1);
+
+        assertEquals("João", flight.call("12345678909", () -> "João", roles::add));
+        assertEquals(List.of(SingleFlight.Role.LEADER, SingleFlight.Role.OVERFLOW), roles);
+
+        release.countDown();
+        assertEquals("Maria", blocked.join());
+    }
+
+    @Test
+    void shouldTimeOutWaiterWithoutAffectingLoad() throws InterruptedException {
+        SingleFlight<String, String> flight = new SingleFlight<>(10, Duration.ofMillis(20).toNanos());
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> loader = () -> {
+            await(release);
+            return "João";
+        };
+
+        CompletableFuture<String> leader = callAsync(flight, loader);
+        awaitInFlight(flight, 1);
+
+        assertThrows(QueryTimeoutException.class, () -> flight.call("12345678909", loader, roles::add));
+
+        release.countDown();
+        assertEquals("João", leader.join());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void shouldStartNewLoadAfterForget() throws InterruptedException {
+        SingleFlight<String, String> flight = new SingleFlight<>(10, TIMEOUT);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = callAsync(flight, () -> {
+            await(release);
+            return "João";
+        });
+        awaitInFlight(flight, 1);
+
+        flight.forget("12345678909");
+
+        assertEquals("João Silva", flight.call("12345678909", () -> "João Silva", roles::add));
+        release.countDown();
+        assertEquals("João", stale.join());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void shouldLoadWithoutTheDeadlineOfTheLeader() {
+        SingleFlight<String, Integer> overflowing = new SingleFlight<>(0, TIMEOUT);
+        SingleFlight<String, Integer> shared = new SingleFlight<>(10, TIMEOUT);
+
+        assertEquals(1, QueryDeadline.within(Duration.ofMillis(900),
+                () -> overflowing.call("12345678909", () -> QueryDeadline.timeoutSeconds(0), roles::add)));
+        assertEquals(0, QueryDeadline.within(Duration.ofMillis(900),
+                () -> shared.call("12345678909", () -> QueryDeadline.timeoutSeconds(0), roles::add)));
+        assertEquals(List.of(SingleFlight.Role.OVERFLOW, SingleFlight.Role.LEADER), roles);
+        assertEquals(0, shared.inFlight());
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.postech.soat.customer.infrastructure.persistence.groupcommit;
+
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class GroupCommitCustomerRepositoryTest {
+
+    private CustomerRepository delegate;
+    private GroupCommitWriter writer;
+    private GroupCommitCustomerRepository repository;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(CustomerRepository.class);
+        writer = new GroupCommitWriter(delegate,
+                new CustomerGroupCommitProperties(true, 2, Duration.ofSeconds(5), Duration.ofSeconds(10)), new SimpleMeterRegistry());
+        repository = new GroupCommitCustomerRepository(delegate, writer);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.close();
+    }
+
+    private Customer customer(String cpf, String email) {
+        return Customer.create(new Name("João"), new Email(email), new CPF(cpf), new Phone("11999999999"));
+    }
+
+    @Test
+    void shouldWriteConcurrentRegistrationsInOneBatch() {
+        Customer first = customer("12345678909", "joao@email.com");
+        Customer second = customer("11144477735", "maria@email.com");
+        when(delegate.registerAll(anyList())).thenReturn(new boolean[]{true, true});
+
+        CompletableFuture<RegistrationResult> firstResult = CompletableFuture.supplyAsync(() -> repository.register(first));
+        CompletableFuture<RegistrationResult> secondResult = CompletableFuture.supplyAsync(() -> repository.register(second));
+
+        assertTrue(firstResult.join().isRegistered());
+        assertTrue(secondResult.join().isRegistered());
+        verify(delegate).registerAll(argThat(batch -> batch.size() == 2 && batch.containsAll(List.of(first, second))));
+        verify(delegate, never()).register(any());
+    }
+
+    @Test
+    void shouldRegisterSkippedCustomerAlone() {
+        Customer first = customer("12345678909", "joao@email.com");
+        Customer second = customer("11144477735", "maria@email.com");
+        RegistrationResult conflict = RegistrationResult.conflicted(List.of(CustomerUniqueKey.EMAIL));
+        when(delegate.registerAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> batch = invocation.getArgument(0);
+            return new boolean[]{batch.get(0) == first, batch.get(1) == first};
+        });
+        when(delegate.register(second)).thenReturn(conflict);
+
+        CompletableFuture<RegistrationResult> firstResult = CompletableFuture.supplyAsync(() -> repository.register(first));
+        CompletableFuture<RegistrationResult> secondResult = CompletableFuture.supplyAsync(() -> repository.register(second));
+
+        assertTrue(firstResult.join().isRegistered());
+        assertSame(conflict, secondResult.join());
+        verify(delegate, never()).register(first);
+    }
+
+    @Test
+    void shouldRegisterEachCustomerAloneWhenBatchFails() {
+        Customer first = customer("12345678909", "joao@email.com");
+        Customer second = customer("11144477735", "maria@email.com");
+        when(delegate.registerAll(anyList())).thenThrow(new IllegalStateException("connection lost"));
+        when(delegate.register(any())).thenAnswer(invocation -> RegistrationResult.registered(invocation.getArgument(0)));
+
+        CompletableFuture<RegistrationResult> firstResult = CompletableFuture.supplyAsync(() -> repository.register(first));
+        CompletableFuture<RegistrationResult> secondResult = CompletableFuture.supplyAsync(() -> repository.register(second));
+
+        assertTrue(firstResult.join().isRegistered());
+        assertTrue(secondResult.join().isRegistered());
+        verify(delegate).register(first);
+        verify(delegate).register(second);
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterMaxDelay() throws InterruptedException {
+        writer.close();
+        writer = new GroupCommitWriter(delegate,
+                new CustomerGroupCommitProperties(true, 64, Duration.ofMillis(20), Duration.ofSeconds(10)), new SimpleMeterRegistry());
+        repository = new GroupCommitCustomerRepository(delegate, writer);
+        Customer customer = customer("12345678909", "joao@email.com");
+        when(delegate.registerAll(List.of(customer))).thenReturn(new boolean[]{true});
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertTrue(repository.register(customer).isRegistered()));
+    }
+
+    @Test
+    void shouldRegisterDirectlyAfterClose() throws InterruptedException {
+        Customer customer = customer("12345678909", "joao@email.com");
+        when(delegate.register(customer)).thenReturn(RegistrationResult.registered(customer));
+
+        writer.close();
+
+        assertTrue(repository.register(customer).isRegistered());
+        verify(delegate, never()).registerAll(anyList());
+    }
+
+    @Test
+    void shouldReleaseQueuedCallersWhenWriterThreadDies() {
+        Customer first = customer("12345678909", "joao@email.com");
+        Customer second = customer("11144477735", "maria@email.com");
+        Customer third = customer("52998224725", "ana@email.com");
+        when(delegate.registerAll(anyList())).thenThrow(new StackOverflowError());
+        when(delegate.register(any())).thenAnswer(invocation -> RegistrationResult.registered(invocation.getArgument(0)));
+
+        CompletableFuture<RegistrationResult> firstResult = CompletableFuture.supplyAsync(() -> repository.register(first));
+        CompletableFuture<RegistrationResult> secondResult = CompletableFuture.supplyAsync(() -> repository.register(second));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            assertTrue(firstResult.join().isRegistered());
+            assertTrue(secondResult.join().isRegistered());
+            assertTrue(repository.register(third).isRegistered());
+        });
+        verify(delegate).registerAll(anyList());
+        verify(delegate).register(third);
+    }
+
+    @Test
+    void shouldStopWaitingForStuckBatchAfterMaxWait() throws InterruptedException {
+        writer.close();
+        writer = new GroupCommitWriter(delegate,
+                new CustomerGroupCommitProperties(true, 1, Duration.ZERO, Duration.ofMillis(200)), new SimpleMeterRegistry());
+        repository = new GroupCommitCustomerRepository(delegate, writer);
+        Customer first = customer("12345678909", "joao@email.com");
+        Customer second = customer("11144477735", "maria@email.com");
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.registerAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return new boolean[]{true};
+        });
+        when(delegate.register(second)).thenReturn(RegistrationResult.registered(second));
+
+        try {
+            CompletableFuture<RegistrationResult> firstResult = CompletableFuture.supplyAsync(() -> repository.register(first));
+            assertTrue(writing.await(2, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+                assertTrue(repository.register(second).isRegistered());
+                CompletionException thrown = assertThrows(CompletionException.class, firstResult::join);
+                assertInstanceOf(QueryTimeoutException.class, thrown.getCause());
+            });
+            verify(delegate).register(second);
+            verify(delegate, never()).register(first);
+        } finally {
+            release.countDown();
+        }
+    }
+}
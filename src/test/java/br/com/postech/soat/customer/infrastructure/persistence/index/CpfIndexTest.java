@@ -0,0 +1,92 @@
+package br.com.postech.soat.customer.infrastructure.persistence.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfIndexTest {
+
+    @Test
+    void shouldConvertOnlyElevenDigitCpfsToKeys() {
+        assertEquals(12345678901L, CpfIndex.toKey("12345678901"));
+        assertEquals(0L, CpfIndex.toKey("00000000000"));
+        assertEquals(CpfIndex.NO_KEY, CpfIndex.toKey("123.456.789-01"));
+        assertEquals(CpfIndex.NO_KEY, CpfIndex.toKey("1234567890"));
+        assertEquals(CpfIndex.NO_KEY, CpfIndex.toKey(null));
+    }
+
+    @Test
+    void shouldResolveIndexedCpf() {
+        CpfIndex index = new CpfIndex(16);
+        UUID id = UUID.randomUUID();
+
+        assertTrue(index.put("12345678901", id));
+
+        assertEquals(id, index.get("12345678901"));
+        assertNull(index.get("12345678902"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldReplaceIdForSameCpf() {
+        CpfIndex index = new CpfIndex(16);
+        UUID id = UUID.randomUUID();
+
+        index.put("12345678901", UUID.randomUUID());
+        index.put("12345678901", id);
+
+        assertEquals(id, index.get("12345678901"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldKeepProbedEntriesReachableAfterRemoval() {
+        CpfIndex index = new CpfIndex(10_000);
+        UUID[] ids = new UUID[10_000];
+
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID();
+            index.put(String.format("%011d", i * 7919L), ids[i]);
+        }
+        for (int i = 0; i < ids.length; i += 2) {
+            index.remove(String.format("%011d", i * 7919L));
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i % 2 == 0 ? null : ids[i], index.get(String.format("%011d", i * 7919L)));
+        }
+        assertEquals(ids.length / 2, index.size());
+    }
+
+    @Test
+    void shouldRejectNewCpfsOnceFull() {
+        CpfIndex index = new CpfIndex(2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        index.bindTo(registry);
+        UUID id = UUID.randomUUID();
+
+        assertTrue(index.put("00000000001", UUID.randomUUID()));
+        assertTrue(index.put("00000000002", UUID.randomUUID()));
+        assertFalse(index.put("00000000003", UUID.randomUUID()));
+        assertTrue(index.put("00000000002", id));
+
+        assertNull(index.get("00000000003"));
+        assertEquals(id, index.get("00000000002"));
+        assertEquals(2, index.size());
+        assertEquals(1.0, registry.get("customer.cpf.index.rejected").functionCounter().count());
+    }
+
+    @Test
+    void shouldIgnoreMalformedCpf() {
+        CpfIndex index = new CpfIndex(16);
+
+        assertFalse(index.put("abc", UUID.randomUUID()));
+        index.remove("abc");
+
+        assertEquals(0, index.size());
+        assertNull(index.get("abc"));
+    }
+}
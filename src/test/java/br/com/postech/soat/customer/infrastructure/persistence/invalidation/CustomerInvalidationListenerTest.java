@@ -0,0 +1,158 @@
+package br.com.postech.soat.customer.infrastructure.persistence.invalidation;
+
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.cache.CachingCustomerRepository;
+import br.com.postech.soat.customer.infrastructure.persistence.cache.CustomerCacheProperties;
+import br.com.postech.soat.customer.infrastructure.persistence.routing.RecentWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerInvalidationListenerTest {
+
+    private static final String CPF = "12345678909";
+
+    private CustomerRepository delegate;
+    private CachingCustomerRepository cache;
+    private RecentWrites recentWrites;
+    private DataSource dataSource;
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerInvalidationListener listener;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(CustomerRepository.class);
+        when(delegate.findViewByCpf(CPF)).thenReturn(Optional.of(
+                new CustomerView(UUID.randomUUID(), "João", "joao@email.com", CPF, "11999999999")));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CachingCustomerRepository(
+                delegate,
+                new CustomerCacheProperties(true, 100, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofSeconds(5)),
+                meterRegistry
+        );
+        recentWrites = new RecentWrites(Duration.ofSeconds(5));
+        dataSource = mock(DataSource.class);
+        listener = new CustomerInvalidationListener(
+                dataSource,
+                cache,
+                recentWrites,
+                "this-replica",
+                new CustomerCacheInvalidationProperties(true, "customer_cache_invalidation",
+                        Duration.ofMillis(50), Duration.ofMillis(10), Duration.ofMillis(40)),
+                meterRegistry
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void shouldEvictCpfsWrittenByAnotherReplica() {
+        cache.findViewByCpf(CPF);
+
+        listener.evict(new InvalidationMessage("other-replica", System.currentTimeMillis(), List.of(CPF)).encode());
+        cache.findViewByCpf(CPF);
+
+        verify(delegate, times(2)).findViewByCpf(CPF);
+        assertEquals(1.0, meterRegistry.get("customer.cache.invalidation.received").counter().count());
+        assertEquals(1, meterRegistry.get("customer.cache.invalidation.lag").timer().count());
+    }
+
+    @Test
+    void shouldReloadEvictedCpfsFromThePrimary() {
+        listener.evict(new InvalidationMessage("other-replica", System.currentTimeMillis(), List.of(CPF)).encode());
+
+        assertTrue(recentWrites.contains(CPF));
+    }
+
+    @Test
+    void shouldSkipItsOwnWritesAndMalformedPayloads() {
+        cache.findViewByCpf(CPF);
+
+        listener.evict(new InvalidationMessage("this-replica", System.currentTimeMillis(), List.of(CPF)).encode());
+        listener.evict("not an invalidation");
+        cache.findViewByCpf(CPF);
+
+        verify(delegate, times(1)).findViewByCpf(CPF);
+        assertFalse(recentWrites.contains(CPF));
+        assertEquals(0.0, meterRegistry.get("customer.cache.invalidation.received").counter().count());
+    }
+
+    @Test
+    void shouldSplitLargeWritesToFitTheNotifyPayload() {
+        List<String> cpfs = IntStream.range(0, 1200).mapToObj(i -> String.format("%011d", i)).toList();
+
+        List<InvalidationMessage> messages = InvalidationMessage.of("this-replica", 1L, cpfs);
+
+        assertEquals(3, messages.size());
+        assertTrue(messages.stream().allMatch(message -> message.encode().length() < 8000));
+        assertEquals(cpfs, messages.stream().flatMap(message -> InvalidationMessage.parse(message.encode()).cpfs().stream()).toList());
+    }
+
+    @Test
+    void shouldResyncTheWholeCacheAfterReconnecting() throws SQLException {
+        Connection lost = listeningConnection();
+        when(lost.unwrap(PGConnection.class).getNotifications(anyInt())).thenThrow(new SQLException("connection reset"));
+        Connection restored = listeningConnection();
+        when(restored.unwrap(PGConnection.class).getNotifications(anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(invocation.<Integer>getArgument(0));
+            return new PGNotification[0];
+        });
+        when(restored.isValid(anyInt())).thenReturn(true);
+        when(dataSource.getConnection())
+                .thenThrow(new SQLException("connection refused"))
+                .thenReturn(lost, restored);
+        cache.findViewByCpf(CPF);
+
+        listener.start();
+
+        verify(restored, timeout(2000).atLeastOnce()).isValid(anyInt());
+        assertTrue(listener.isConnected());
+        assertEquals(2.0, meterRegistry.get("customer.cache.invalidation.connection.failures").counter().count());
+        assertEquals(2.0, meterRegistry.get("customer.cache.invalidation.resyncs").counter().count());
+        assertEquals(1.0, meterRegistry.get("customer.cache.invalidation.connected").gauge().value());
+        cache.findViewByCpf(CPF);
+        verify(delegate, times(2)).findViewByCpf(CPF);
+        verify(lost).close();
+    }
+
+    @Test
+    void shouldStopWhenTheDatabaseIsNotPostgres() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+
+        listener.start();
+
+        verify(connection, timeout(2000)).close();
+        verify(connection, never()).createStatement();
+        assertFalse(listener.isConnected());
+    }
+
+    private static Connection listeningConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        return connection;
+    }
+}
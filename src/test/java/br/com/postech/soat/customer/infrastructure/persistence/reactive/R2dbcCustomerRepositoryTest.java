@@ -0,0 +1,111 @@
+package br.com.postech.soat.customer.infrastructure.persistence.reactive;
+
+import br.com.postech.soat.customer.application.dto.CustomerUniqueKey;
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.*;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.CustomerCacheInvalidationProperties;
+import br.com.postech.soat.customer.infrastructure.persistence.invalidation.R2dbcInvalidationPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class R2dbcCustomerRepositoryTest {
+
+    private R2dbcCustomerRepository repository;
+
+    @BeforeEach
+    void setup() {
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        databaseClient.sql("""
+                CREATE TABLE customers (
+                    id UUID PRIMARY KEY,
+                    name VARCHAR(255) NOT NULL,
+                    email VARCHAR(255) UNIQUE NOT NULL,
+                    phone VARCHAR(20) UNIQUE,
+                    document_identifier VARCHAR(11) UNIQUE NOT NULL,
+                    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+                    version BIGINT DEFAULT 0 NOT NULL,
+                    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+                )
+                """).then().block();
+        repository = new R2dbcCustomerRepository(databaseClient, new R2dbcInvalidationPublisher(databaseClient,
+                new CustomerCacheInvalidationProperties(true, "customer_cache_invalidation", null, null, null),
+                new SimpleMeterRegistry()));
+    }
+
+    private Customer customer(String cpf, String email, String phone) {
+        return Customer.reconstitute(
+                new CustomerId(UUID.randomUUID()),
+                new Name("João da Silva"),
+                new CPF(cpf),
+                new Email(email),
+                new Phone(phone)
+        );
+    }
+
+    @Test
+    void shouldRegisterAndFindByCpf() {
+        Customer customer = customer("53731833697", "joao@email.com", "11999990000");
+
+        StepVerifier.create(repository.register(customer).then(repository.findByCpf("53731833697")))
+                .assertNext(found -> {
+                    assertEquals(customer.getId(), found.getId());
+                    assertEquals("joao@email.com", found.getEmail().value());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldCompleteEmptyWhenCpfIsUnknown() {
+        StepVerifier.create(repository.findByCpf("33400276170"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSkipInsertAndReportConflictingKeys() {
+        repository.register(customer("53731833697", "joao@email.com", "11999990000")).block();
+
+        StepVerifier.create(repository.register(customer("33400276170", "joao@email.com", "11999990000")))
+                .assertNext(result -> {
+                    assertFalse(result.isRegistered());
+                    assertEquals(List.of(CustomerUniqueKey.EMAIL, CustomerUniqueKey.PHONE), result.conflicts());
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.findByCpf("33400276170"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRegisterCustomerWithFreeKeys() {
+        repository.register(customer("53731833697", "joao@email.com", "11999990000")).block();
+
+        StepVerifier.create(repository.register(customer("33400276170", "maria@email.com", "11999990001")))
+                .assertNext(result -> assertTrue(result.isRegistered()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFindViewsForCpfBatch() {
+        repository.register(customer("53731833697", "joao@email.com", "11999990000")).block();
+        repository.register(customer("33400276170", "maria@email.com", "11999990001")).block();
+
+        List<CustomerView> found = repository.findAllViewsByCpf(List.of("53731833697", "33400276170", "98765432100"))
+                .collectList()
+                .block();
+
+        assertThat(found).extracting(CustomerView::cpf).containsExactlyInAnyOrder("53731833697", "33400276170");
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.postech.soat.customer.infrastructure.persistence.routing;
+
+import br.com.postech.soat.customer.application.dto.CustomerView;
+import br.com.postech.soat.customer.application.dto.RegistrationResult;
+import br.com.postech.soat.customer.application.repositories.CustomerRepository;
+import br.com.postech.soat.customer.domain.entity.Customer;
+import br.com.postech.soat.customer.domain.valueobject.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadYourWritesCustomerRepositoryTest {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    private CustomerRepository delegate;
+    private ReadYourWritesCustomerRepository repository;
+    private List<ReadRouting.Target> routes;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(CustomerRepository.class);
+        repository = new ReadYourWritesCustomerRepository(delegate, new RecentWrites(Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        routes = new ArrayList<>();
+    }
+
+    private Customer sampleDomain() {
+        return Customer.reconstitute(
+                new CustomerId(ID),
+                new Name("João"),
+                new CPF("12345678909"),
+                new Email("joao@email.com"),
+                new Phone("11999999999")
+        );
+    }
+
+    private CustomerView sampleView() {
+        return new CustomerView(ID, "João", "joao@email.com", "12345678909", "11999999999");
+    }
+
+    private <T> T routed(T result) {
+        routes.add(ReadRouting.current());
+        return result;
+    }
+
+    @Test
+    void shouldReadFromReplica() {
+        when(delegate.findViewByCpf("12345678909")).thenAnswer(invocation -> routed(Optional.of(sampleView())));
+
+        assertTrue(repository.findViewByCpf("12345678909").isPresent());
+
+        assertEquals(List.of(ReadRouting.Target.REPLICA), routes);
+    }
+
+    @Test
+    void shouldConfirmReplicaMissOnPrimary() {
+        when(delegate.findViewByCpf("12345678909"))
+                .thenAnswer(invocation -> routed(Optional.empty()))
+                .thenAnswer(invocation -> routed(Optional.of(sampleView())));
+
+        assertTrue(repository.findViewByCpf("12345678909").isPresent());
+
+        assertEquals(List.of(ReadRouting.Target.REPLICA, ReadRouting.Target.PRIMARY), routes);
+    }
+
+    @Test
+    void shouldReadRecentlyRegisteredCustomerFromPrimary() {
+        Customer customer = sampleDomain();
+        when(delegate.register(customer)).thenReturn(RegistrationResult.registered(customer));
+        when(delegate.findViewByCpf("12345678909")).thenAnswer(invocation -> routed(Optional.of(sampleView())));
+
+        repository.register(customer);
+
+        assertTrue(repository.findViewByCpf("12345678909").isPresent());
+        assertEquals(List.of(ReadRouting.Target.PRIMARY), routes);
+    }
+
+    @Test
+    void shouldSplitBatchBetweenReplicaAndPrimary() {
+        Customer customer = sampleDomain();
+        CustomerView other = new CustomerView(UUID.randomUUID(), "Maria", "maria@email.com", "98765432100", "11988888888");
+        when(delegate.register(customer)).thenReturn(RegistrationResult.registered(customer));
+        when(delegate.findAllViewsByCpf(List.of("98765432100", "11144477735")))
+                .thenAnswer(invocation -> routed(List.of(other)));
+        when(delegate.findAllViewsByCpf(List.of("12345678909", "11144477735")))
+                .thenAnswer(invocation -> routed(List.of(sampleView())));
+
+        repository.register(customer);
+        List<CustomerView> found = repository.findAllViewsByCpf(List.of("12345678909", "98765432100", "11144477735"));
+
+        assertEquals(List.of(other, sampleView()), found);
+        assertEquals(List.of(ReadRouting.Target.REPLICA, ReadRouting.Target.PRIMARY), routes);
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.postech.soat.customer.infrastructure.persistence.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replicaAdmin;
+    private ReadReplicas replicas;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setup() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        replicaAdmin.update("INSERT INTO replica_lag VALUES (0)");
+
+        replicas = new ReadReplicas(Map.of("replica-0", replica), "SELECT seconds FROM replica_lag",
+                Duration.ofSeconds(1), Duration.ofSeconds(1));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DataSource database(String node) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + node + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("CREATE TABLE node (name VARCHAR(16))");
+        admin.update("INSERT INTO node VALUES (?)", node);
+        return dataSource;
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        replicas.check();
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void shouldRouteWritesAndUnscopedReadsToPrimary() {
+        replicas.check();
+
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void shouldRouteReplicaScopeOutsideTransaction() {
+        replicas.check();
+
+        assertEquals("replica", ReadRouting.onReplica(this::node));
+    }
+
+    @Test
+    void shouldPinPrimaryScopeInsideReadOnlyTransaction() {
+        replicas.check();
+
+        assertEquals("primary", ReadRouting.onPrimary(() -> readOnly.execute(status -> node())));
+    }
+
+    @Test
+    void shouldReadFromPrimaryBeforeFirstLagCheck() {
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void shouldExcludeReplicaWhileLagExceedsMaximum() {
+        replicas.check();
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 5");
+        replicas.check();
+
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 0.2");
+        replicas.check();
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void shouldExcludeReplicaWhenLagCheckFails() {
+        replicas.check();
+        replicaAdmin.execute("DROP TABLE replica_lag");
+        replicas.check();
+
+        assertNull(replicas.nextHealthy());
+        assertEquals("primary", ReadRouting.onReplica(this::node));
+    }
+}